@@ -0,0 +1,108 @@
+package battleship.bench;
+
+import battleship.ArenaBattleshipModel;
+import battleship.BattleshipModel;
+import battleship.BattleshipModelInterface;
+import battleship.GameArena;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * ArenaDriver class for comparing idle games held as BattleshipModel
+ * objects with idle games held in a GameArena. Each run places both
+ * fleets in every game and fires the same opening shots, then reports the
+ * heap each store keeps alive after a full collection, the off-heap bytes
+ * the arena reserved, and how long a full collection takes with the
+ * games still live. Every arena game is checked against its model's grids.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar battleship.bench.ArenaDriver [games]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class ArenaDriver {
+	// Private class constant values
+	private static final int OPENING_SHOTS = 20;
+
+	/**
+	 * Runs the driver
+	 * @param args Optional number of games in each store
+	 */
+	public static void main(String[] args) {
+		int games = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+		long baseline = heapAfterGc();
+
+		// object graphs on the heap
+		long start = System.nanoTime();
+		BattleshipModel[] models = new BattleshipModel[games];
+		for (int i = 0; i < games; i++) {
+			models[i] = new BattleshipModel("Player One", "Player Two");
+			play(models[i], i);
+		}
+		long modelNanos = System.nanoTime() - start;
+		long modelHeap = heapAfterGc() - baseline;
+		long modelGc = timeGc();
+
+		// one arena, played through a single view
+		start = System.nanoTime();
+		GameArena arena = new GameArena();
+		ArenaBattleshipModel view = arena.view();
+		int[] slots = new int[games];
+		for (int i = 0; i < games; i++) {
+			slots[i] = arena.allocate("Player One", "Player Two");
+			play(view.moveTo(slots[i]), i);
+		}
+		long arenaNanos = System.nanoTime() - start;
+		for (int i = 0; i < games; i++) {
+			view.moveTo(slots[i]);
+			if (!Arrays.equals(models[i].getOffensiveGrid(true), view.getOffensiveGrid(true))
+					|| !Arrays.equals(models[i].getDefensiveGrid(false), view.getDefensiveGrid(false))) {
+				throw new IllegalStateException("Arena game " + i + " differs from its model");
+			}
+		}
+		models = null;
+		long arenaHeap = heapAfterGc() - baseline;
+		long arenaGc = timeGc();
+
+		System.out.printf("Games:              %d%n", games);
+		System.out.printf("BattleshipModel:    %d heap bytes per game, set up in %.0f ns, full GC %.1f ms%n",
+				modelHeap / games, (double) modelNanos / games, modelGc / 1e6);
+		System.out.printf("GameArena:          %d heap bytes per game, set up in %.0f ns, full GC %.1f ms%n",
+				arenaHeap / games, (double) arenaNanos / games, arenaGc / 1e6);
+		System.out.printf("Arena off-heap:     %d bytes per game slot, %d MB reserved%n", arena.getSlotBytes(),
+				arena.getReservedBytes() >> 20);
+		System.out.println("Every arena game matched its model.");
+	}
+
+	/**
+	 * Private helper that places both fleets and fires the opening shots
+	 */
+	private static void play(BattleshipModelInterface game, int seed) {
+		Scripts.placeFleets(game);
+		for (int shot = 0; shot < OPENING_SHOTS; shot++) {
+			int cell = (seed + shot * 37) % 100;
+			game.makeShot(true, cell);
+			game.makeShot(false, 99 - cell);
+		}
+	}
+
+	/**
+	 * Private helper returning the heap in use after a full collection
+	 */
+	private static long heapAfterGc() {
+		System.gc();
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	/**
+	 * Private helper timing one full collection
+	 */
+	private static long timeGc() {
+		long start = System.nanoTime();
+		System.gc();
+		return System.nanoTime() - start;
+	}
+}
@@ -0,0 +1,122 @@
+package battleship.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BenchmarkComparison class for catching regressions against a baseline.
+ * Reads two JMH CSV result files (written with -rf csv), matches rows by
+ * benchmark name and parameters, and fails when a score got worse by more
+ * than the allowed percentage. Time scores and the gc profiler's
+ * normalized allocation rate are both compared, lower being better.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar battleship.bench.BenchmarkComparison
+ *            baseline.csv current.csv [allowedPercent]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class BenchmarkComparison {
+	// Secondary metrics compared besides the primary score
+	private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+	/**
+	 * Compares the result files and exits with status 1 on any regression
+	 * @param args Baseline CSV, current CSV, and optional allowed percentage (default 10)
+	 * @throws IOException If a result file cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("Usage: BenchmarkComparison <baseline.csv> <current.csv> [allowedPercent]");
+			System.exit(2);
+		}
+		double allowed = (args.length > 2) ? Double.parseDouble(args[2]) : 10.0;
+		Map<String, Double> baseline = readScores(Paths.get(args[0]));
+		Map<String, Double> current = readScores(Paths.get(args[1]));
+
+		int regressions = 0;
+		for (Map.Entry<String, Double> entry : current.entrySet()) {
+			Double before = baseline.get(entry.getKey());
+			if (before == null) {
+				System.out.printf("NEW   %-80s %12.3f%n", entry.getKey(), entry.getValue());
+				continue;
+			}
+
+			double after = entry.getValue();
+			double change = (before == 0) ? (after == 0 ? 0 : 100) : (after - before) * 100.0 / before;
+			String verdict = change > allowed ? "WORSE" : "ok";
+			if (change > allowed) {
+				regressions++;
+			}
+			System.out.printf("%-5s %-80s %12.3f -> %12.3f (%+.1f%%)%n", verdict, entry.getKey(), before, after, change);
+		}
+
+		System.out.println(regressions + " regression(s) beyond " + allowed + "%");
+		if (regressions > 0) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Private helper to read the comparable scores of a JMH CSV file
+	 * @param file The CSV file
+	 * @return Scores keyed by benchmark name, metric and parameters
+	 * @throws IOException If the file cannot be read
+	 */
+	private static Map<String, Double> readScores(Path file) throws IOException {
+		Map<String, Double> scores = new LinkedHashMap<>();
+		List<String> lines = Files.readAllLines(file);
+		for (int i = 1; i < lines.size(); i++) {
+			List<String> fields = splitCsv(lines.get(i));
+			if (fields.size() < 7) {
+				continue;
+			}
+
+			String benchmark = fields.get(0);
+			int metric = benchmark.indexOf(":");
+			if (metric >= 0 && !benchmark.endsWith(ALLOCATION_METRIC)) {
+				continue;
+			}
+
+			StringBuilder key = new StringBuilder(benchmark);
+			for (int p = 7; p < fields.size(); p++) {
+				if (!fields.get(p).isEmpty()) {
+					key.append(' ').append(fields.get(p));
+				}
+			}
+			scores.put(key.toString(), Double.parseDouble(fields.get(4)));
+		}
+		return scores;
+	}
+
+	/**
+	 * Private helper to split one CSV line, honoring double quotes
+	 * @param line The CSV line
+	 * @return The unquoted fields
+	 */
+	private static List<String> splitCsv(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '"') {
+				quoted = !quoted;
+			} else if (c == ',' && !quoted) {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+}
@@ -0,0 +1,226 @@
+package battleship.bench;
+
+import battleship.ConcurrentBattleshipModel;
+import battleship.FleetGenerator;
+import battleship.GridView;
+import battleship.ShotResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * ConcurrentModelStress class for checking ConcurrentBattleshipModel under contention.
+ * Every round places two random fleets, then has several threads per player
+ * fire at all 100 squares in their own random order while spectator threads
+ * read both players' grids in a loop. Throws if any invariant breaks:
+ * each square is shot exactly once per player, each player gets exactly 16
+ * hits and 5 sinks, spectators only see grids that are consistent with the
+ * fleets and never go backwards, grid views kept up to date from the change
+ * log end up identical to the full grids, and isGameOver never goes back
+ * to false.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar battleship.bench.ConcurrentModelStress [rounds] [shooters per player] [spectators]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class ConcurrentModelStress {
+	// Private class constant values
+	private static final int SQUARES = 100;
+	private static final int FLEET_CELLS = 16;
+	private static final int FLEET_SIZE = 5;
+
+	/**
+	 * Runs the stress test
+	 * @param args Optional rounds, shooter threads per player and spectator threads
+	 */
+	public static void main(String[] args) throws InterruptedException, ExecutionException {
+		int rounds = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+		int shooters = (args.length > 1) ? Integer.parseInt(args[1]) : 2;
+		int spectators = (args.length > 2) ? Integer.parseInt(args[2]) : 2;
+
+		ExecutorService pool = Executors.newFixedThreadPool(2 * shooters + spectators);
+		SplittableRandom random = new SplittableRandom(42);
+		FleetGenerator fleets = new FleetGenerator();
+		long reads = 0;
+		long start = System.nanoTime();
+		try {
+			for (int round = 0; round < rounds; round++) {
+				ConcurrentBattleshipModel game = new ConcurrentBattleshipModel("P1", "P2");
+				fleets.placeFleet(game, true, random);
+				fleets.placeFleet(game, false, random);
+				char[][] fleet = {game.getDefensiveGrid(true), game.getDefensiveGrid(false)};
+
+				int[][] counts = new int[2 * shooters][];
+				AtomicIntegerArray shotsPerSquare = new AtomicIntegerArray(2 * SQUARES);
+				CountDownLatch startGate = new CountDownLatch(1);
+				CountDownLatch shootersDone = new CountDownLatch(2 * shooters);
+				List<Future<int[]>> shooterResults = new ArrayList<>();
+				List<Future<Long>> spectatorResults = new ArrayList<>();
+				for (int i = 0; i < 2 * shooters; i++) {
+					boolean isPlayer1 = i % 2 == 0;
+					shooterResults.add(pool.submit(shooter(game, isPlayer1, random.split(), shotsPerSquare, startGate, shootersDone)));
+				}
+				for (int i = 0; i < spectators; i++) {
+					spectatorResults.add(pool.submit(spectator(game, fleet, startGate, shootersDone)));
+				}
+				startGate.countDown();
+
+				for (int i = 0; i < counts.length; i++) {
+					counts[i] = shooterResults.get(i).get();
+				}
+				for (Future<Long> spectator : spectatorResults) {
+					reads += spectator.get();
+				}
+				checkRound(game, fleet, counts, shotsPerSquare);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println("Rounds:          " + rounds);
+		System.out.println("Shooter threads: " + 2 * shooters);
+		System.out.println("Spectators:      " + spectators);
+		System.out.println("Shots:           " + (long) rounds * 2 * shooters * SQUARES);
+		System.out.println("Grid reads:      " + reads);
+		System.out.printf("Elapsed:         %.1f ms%n", elapsed / 1e6);
+		System.out.println("All invariants held.");
+	}
+
+	/**
+	 * Private helper for a thread that fires at every square once in a random order
+	 * @return Task returning counts of MISS, HIT, SUNK and REPEAT results
+	 */
+	private static Callable<int[]> shooter(ConcurrentBattleshipModel game, boolean isPlayer1, SplittableRandom random,
+			AtomicIntegerArray shotsPerSquare, CountDownLatch startGate, CountDownLatch done) {
+		return () -> {
+			int[] order = new int[SQUARES];
+			for (int i = 0; i < SQUARES; i++) {
+				int j = random.nextInt(i + 1);
+				order[i] = order[j];
+				order[j] = i;
+			}
+			int[] counts = new int[4];
+			startGate.await();
+			try {
+				for (int cell : order) {
+					int result = game.makeShot(isPlayer1, cell);
+					counts[ShotResult.outcome(result)]++;
+					if (ShotResult.outcome(result) != ShotResult.REPEAT) {
+						shotsPerSquare.incrementAndGet((isPlayer1 ? 0 : SQUARES) + cell);
+					}
+					if (ShotResult.isGameOver(result) && !game.isGameOver()) {
+						throw new IllegalStateException("Shot reported game over before isGameOver did");
+					}
+				}
+			} finally {
+				done.countDown();
+			}
+			return counts;
+		};
+	}
+
+	/**
+	 * Private helper for a thread that reads grids until every shooter is done
+	 * @return Task returning the number of grids read
+	 */
+	private static Callable<Long> spectator(ConcurrentBattleshipModel game, char[][] fleet,
+			CountDownLatch startGate, CountDownLatch shootersDone) {
+		return () -> {
+			char[][] previous = {new char[SQUARES], new char[SQUARES]};
+			GridView[] views = {new GridView(true, true), new GridView(false, true)};
+			boolean sawGameOver = false;
+			long reads = 0;
+			startGate.await();
+			do {
+				for (int player = 0; player < 2; player++) {
+					boolean isPlayer1 = player == 0;
+					char[] offense = game.getOffensiveGrid(isPlayer1);
+					char[] defense = game.getDefensiveGrid(isPlayer1);
+					reads += 2;
+
+					int hits = 0;
+					for (int cell = 0; cell < SQUARES; cell++) {
+						char target = fleet[1 - player][cell];
+						char seen = offense[cell];
+						if (seen == 'H' && target == ' ' || seen == 'M' && target != ' ') {
+							throw new IllegalStateException("Offensive grid disagrees with the fleet at " + Scripts.SQUARES[cell]);
+						}
+						if (previous[player][cell] != ' ' && previous[player][cell] != 0 && seen == ' ') {
+							throw new IllegalStateException("Shot at " + Scripts.SQUARES[cell] + " disappeared");
+						}
+						if (defense[cell] != fleet[player][cell]) {
+							throw new IllegalStateException("Defensive grid changed at " + Scripts.SQUARES[cell]);
+						}
+						hits += (seen == 'H') ? 1 : 0;
+					}
+					previous[player] = offense;
+					game.refresh(views[player]);
+
+					boolean gameOver = game.isGameOver();
+					if (sawGameOver && !gameOver) {
+						throw new IllegalStateException("isGameOver went back to false");
+					}
+					if (hits == FLEET_CELLS && !gameOver) {
+						throw new IllegalStateException("Fleet fully hit but the game isn't over");
+					}
+					sawGameOver = gameOver;
+				}
+			} while (shootersDone.getCount() > 0);
+
+			for (int player = 0; player < 2; player++) {
+				game.refresh(views[player]);
+				if (!Arrays.equals(views[player].getGrid(), game.getOffensiveGrid(player == 0))) {
+					throw new IllegalStateException("Grid view drifted from the offensive grid");
+				}
+			}
+			return reads;
+		};
+	}
+
+	/**
+	 * Private helper that checks a finished round
+	 */
+	private static void checkRound(ConcurrentBattleshipModel game, char[][] fleet, int[][] counts,
+			AtomicIntegerArray shotsPerSquare) {
+		for (int i = 0; i < shotsPerSquare.length(); i++) {
+			if (shotsPerSquare.get(i) != 1) {
+				throw new IllegalStateException("Square shot " + shotsPerSquare.get(i) + " times: " + i);
+			}
+		}
+		int[][] totals = new int[2][4];
+		for (int i = 0; i < counts.length; i++) {
+			for (int outcome = 0; outcome < 4; outcome++) {
+				totals[i % 2][outcome] += counts[i][outcome];
+			}
+		}
+		for (int player = 0; player < 2; player++) {
+			int[] total = totals[player];
+			if (total[ShotResult.HIT] + total[ShotResult.SUNK] != FLEET_CELLS || total[ShotResult.SUNK] != FLEET_SIZE
+					|| total[ShotResult.MISS] != SQUARES - FLEET_CELLS) {
+				throw new IllegalStateException("Wrong shot results for player " + (player + 1));
+			}
+			char[] offense = game.getOffensiveGrid(player == 0);
+			for (int cell = 0; cell < SQUARES; cell++) {
+				char expected = (fleet[1 - player][cell] == ' ') ? 'M' : 'H';
+				if (offense[cell] != expected) {
+					throw new IllegalStateException("Final offensive grid wrong at " + Scripts.SQUARES[cell]);
+				}
+			}
+		}
+		if (!game.isGameOver()) {
+			throw new IllegalStateException("Game not over after every square was shot");
+		}
+	}
+}
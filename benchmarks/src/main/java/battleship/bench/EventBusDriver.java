@@ -0,0 +1,198 @@
+package battleship.bench;
+
+import battleship.BitboardBattleshipModel;
+import battleship.EventBus;
+import battleship.FleetGenerator;
+import battleship.FleetSpec;
+import battleship.GameEvent;
+import battleship.PublishingBattleshipModel;
+import battleship.ShotResult;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * EventBusDriver class for checking spectator fan-out through an EventBus.
+ * Each match is a random game played through a PublishingBattleshipModel
+ * while consumer threads poll thousands of subscribers, some of them only
+ * now and then so they get lapped and resync. Once the game is over every
+ * subscriber must have rebuilt both offensive grids exactly, and each
+ * player's subscriber must have seen only their own placements. Reports
+ * the game thread's cost per event with and without subscribers.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar battleship.bench.EventBusDriver [subscribers] [matches]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class EventBusDriver {
+	// Private class constant values
+	private static final int CONSUMERS = 4;
+	private static final int RING_CAPACITY = 64;
+	private static final int BATCH = 32;
+	private static final int SLOW_EVERY = 10;
+
+	// Set by the game thread once the current match is over
+	private static volatile boolean matchOver;
+
+	/**
+	 * Runs the driver
+	 * @param args Optional number of subscribers per match and number of matches
+	 */
+	public static void main(String[] args) throws Exception {
+		int subscribers = (args.length > 0) ? Integer.parseInt(args[0]) : 4000;
+		int matches = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+		ExecutorService pool = Executors.newFixedThreadPool(CONSUMERS);
+
+		long quietNanos = 0;
+		long watchedNanos = 0;
+		long events = 0;
+		int laps = 0;
+		try {
+			for (int match = 0; match < matches; match++) {
+				quietNanos += playMatch(match, new EventBus(RING_CAPACITY)).nanos;
+
+				EventBus bus = new EventBus(RING_CAPACITY);
+				Viewer[] viewers = new Viewer[subscribers];
+				for (int i = 0; i < subscribers; i++) {
+					int viewer = (i < 2) ? i : EventBus.SPECTATOR;
+					viewers[i] = new Viewer(bus.subscribe(viewer), viewer, i % SLOW_EVERY == SLOW_EVERY - 1);
+				}
+				matchOver = false;
+				Future<?>[] consumers = new Future<?>[CONSUMERS];
+				for (int c = 0; c < CONSUMERS; c++) {
+					int first = c;
+					consumers[c] = pool.submit(() -> {
+						for (int round = 0; !matchOver; round++) {
+							for (int i = first; i < viewers.length; i += CONSUMERS) {
+								viewers[i].poll(round);
+							}
+							Thread.yield();
+						}
+					});
+				}
+				Match played = playMatch(match, bus);
+				matchOver = true;
+				for (Future<?> consumer : consumers) {
+					consumer.get();
+				}
+				watchedNanos += played.nanos;
+				events += bus.getPublished();
+
+				// drain what is left and compare every viewer with the game
+				for (Viewer viewer : viewers) {
+					viewer.drain();
+					viewer.check(played.game);
+					laps += viewer.subscriber.getLaps();
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		System.out.printf("Matches:             %d, %d subscribers each%n", matches, subscribers);
+		System.out.printf("Game thread alone:   %.0f ns per event%n", (double) quietNanos / events);
+		System.out.printf("Game thread watched: %.0f ns per event%n", (double) watchedNanos / events);
+		System.out.printf("Laps and resyncs:    %d%n", laps);
+		System.out.println("Every subscriber rebuilt both grids.");
+	}
+
+	/**
+	 * Match class for a finished game and the time its thread spent playing
+	 */
+	private static final class Match {
+		private PublishingBattleshipModel game;
+		private long nanos;
+	}
+
+	/**
+	 * Private helper that plays a random game through a publishing model,
+	 * yielding between turns as a paced match would and timing only the model calls
+	 */
+	private static Match playMatch(int seed, EventBus bus) {
+		SplittableRandom random = new SplittableRandom(seed);
+		Match match = new Match();
+		match.game = new PublishingBattleshipModel(new BitboardBattleshipModel("P1", "P2"), bus);
+		long start = System.nanoTime();
+		new FleetGenerator().placeFleet(match.game, true, random);
+		new FleetGenerator().placeFleet(match.game, false, random);
+		match.nanos = System.nanoTime() - start;
+		boolean isPlayer1 = true;
+		while (!match.game.isGameOver()) {
+			int cell = random.nextInt(100);
+			start = System.nanoTime();
+			int result = match.game.makeShot(isPlayer1, cell);
+			match.nanos += System.nanoTime() - start;
+			if (!ShotResult.isHit(result)) {
+				isPlayer1 = !isPlayer1;
+				Thread.yield();
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * Viewer class for one subscriber rebuilding the grids from its events
+	 */
+	private static final class Viewer {
+		private final EventBus.Subscriber subscriber;
+		private final int viewer;
+		private final boolean slow;
+		private final long[] batch = new long[BATCH];
+		private final char[][] grids = new char[2][100];
+		private int ownPlacements;
+
+		private Viewer(EventBus.Subscriber subscriber, int viewer, boolean slow) {
+			this.subscriber = subscriber;
+			this.viewer = viewer;
+			this.slow = slow;
+			Arrays.fill(grids[0], ' ');
+			Arrays.fill(grids[1], ' ');
+		}
+
+		private void poll(int round) {
+			if (!slow || round % 50 == 0) {
+				apply(subscriber.poll(batch));
+			}
+		}
+
+		private void drain() {
+			int count;
+			while ((count = subscriber.poll(batch)) != 0) {
+				apply(count);
+			}
+		}
+
+		private void apply(int count) {
+			if (count == EventBus.LAPPED) {
+				subscriber.resync(grids[0], grids[1]);
+				return;
+			}
+			for (int i = 0; i < count; i++) {
+				long event = batch[i];
+				int player = GameEvent.isPlayer1(event) ? 0 : 1;
+				if (GameEvent.type(event) == GameEvent.PLACEMENT) {
+					if (player != viewer) {
+						throw new IllegalStateException("Viewer " + viewer + " saw the other player's placement");
+					}
+					ownPlacements++;
+				} else {
+					grids[player][GameEvent.cell(event)] = ShotResult.isHit(GameEvent.result(event)) ? 'H' : 'M';
+				}
+			}
+		}
+
+		private void check(PublishingBattleshipModel game) {
+			if (!Arrays.equals(grids[0], game.getOffensiveGrid(true)) || !Arrays.equals(grids[1], game.getOffensiveGrid(false))) {
+				throw new IllegalStateException("Viewer " + viewer + " rebuilt different grids");
+			}
+			if (viewer != EventBus.SPECTATOR && subscriber.getLaps() == 0 && ownPlacements != FleetSpec.STANDARD.getShipCount()) {
+				throw new IllegalStateException("Player " + viewer + " saw " + ownPlacements + " placements");
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package battleship.bench;
+
+import battleship.BattleshipModelInterface;
+import battleship.PlayGame;
+import battleship.ShotResult;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GameBenchmarks class for full scripted games, end to end
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmarks {
+	@Param({"BattleshipModel", "BitboardBattleshipModel"})
+	public String model;
+
+	private final PlayGame playGame = new PlayGame();
+
+	/**
+	 * Plays a game the way a headless engine does: integer cells and result codes,
+	 * with the shooter keeping its turn after a hit
+	 * @return Total shots fired
+	 */
+	@Benchmark
+	public int headlessGame() {
+		BattleshipModelInterface game = Scripts.newModel(model);
+		Scripts.placeFleets(game);
+
+		int[] next = {0, 99};
+		boolean isPlayer1 = true;
+		int shots = 0;
+		while (!game.isGameOver()) {
+			int player = isPlayer1 ? 0 : 1;
+			int cell = next[player];
+			next[player] += isPlayer1 ? 1 : -1;
+			int result = game.makeShot(isPlayer1, cell);
+			shots++;
+			if (!ShotResult.isHit(result)) {
+				isPlayer1 = !isPlayer1;
+			}
+		}
+		return shots;
+	}
+
+	/**
+	 * Plays a game the way the console does: validated square input, the
+	 * String API, and a look at the offensive board after every turn
+	 * @return Total length of the shot responses
+	 */
+	@Benchmark
+	public int consoleGame() {
+		BattleshipModelInterface game = Scripts.newModel(model);
+		Scripts.placeFleets(game);
+
+		int[] next = {0, 99};
+		boolean isPlayer1 = true;
+		int checksum = 0;
+		while (!game.isGameOver()) {
+			int player = isPlayer1 ? 0 : 1;
+			String square = Scripts.SQUARES[next[player]];
+			next[player] += isPlayer1 ? 1 : -1;
+			if (playGame.validateSquare(square)) {
+				String response = game.makeShot(isPlayer1, square);
+				checksum += response.length();
+				if (response.charAt(0) == 'M') {
+					checksum += game.getOffensiveGrid(isPlayer1).length;
+					isPlayer1 = !isPlayer1;
+				}
+			}
+		}
+		return checksum;
+	}
+}
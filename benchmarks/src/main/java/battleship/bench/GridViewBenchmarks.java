@@ -0,0 +1,108 @@
+package battleship.bench;
+
+import battleship.BattleshipModel;
+import battleship.GridView;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * GridViewBenchmarks class for a spectator feed that looks at all four grids
+ * after every shot, either rebuilding each grid or refreshing a GridView
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridViewBenchmarks {
+	@Param({"1", "16"})
+	public int viewers;
+
+	// The game being watched, the next shot to fire, and each viewer's four views
+	private BattleshipModel game;
+	private int shot;
+	private GridView[][] views;
+
+	/**
+	 * Creates the viewers' grid views
+	 */
+	@Setup(Level.Trial)
+	public void setUpViews() {
+		views = new GridView[viewers][];
+		for (int i = 0; i < viewers; i++) {
+			views[i] = new GridView[] {
+				new GridView(true, true), new GridView(true, false), new GridView(false, true), new GridView(false, false)
+			};
+		}
+		newGame();
+	}
+
+	/**
+	 * Fires the next shot of the script, starting a new game when every square is shot
+	 */
+	private void nextShot() {
+		if (shot == 200) {
+			newGame();
+		}
+		game.makeShot(shot % 2 == 0, Scripts.SQUARES[shot / 2]);
+		shot++;
+	}
+
+	/**
+	 * Private helper that starts a new game with both fleets placed
+	 */
+	private void newGame() {
+		game = new BattleshipModel("P1", "P2");
+		Scripts.placeFleets(game);
+		shot = 0;
+	}
+
+	/**
+	 * Fires a shot, then every viewer rebuilds all four grids
+	 * @param blackhole Consumes the grids
+	 */
+	@Benchmark
+	public void rebuildGrids(Blackhole blackhole) {
+		nextShot();
+		for (int i = 0; i < viewers; i++) {
+			blackhole.consume(game.getOffensiveGrid(true));
+			blackhole.consume(game.getDefensiveGrid(true));
+			blackhole.consume(game.getOffensiveGrid(false));
+			blackhole.consume(game.getDefensiveGrid(false));
+		}
+	}
+
+	/**
+	 * Fires a shot, then every viewer refreshes its four views
+	 * @param blackhole Consumes the change counts
+	 */
+	@Benchmark
+	public void refreshViews(Blackhole blackhole) {
+		nextShot();
+		for (GridView[] viewer : views) {
+			for (GridView view : viewer) {
+				game.refresh(view);
+				blackhole.consume(view.getChangeCount());
+			}
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package battleship.bench;
+
+import battleship.BattleshipModel;
+import battleship.BattleshipModelInterface;
+import battleship.FleetGenerator;
+import battleship.GameJournal;
+import battleship.JournalReader;
+import battleship.JournaledBattleshipModel;
+import battleship.ShotResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * JournalDriver class for checking GameJournal and measuring what it costs a turn.
+ * Plays the same random games on a BattleshipModel and a JournaledBattleshipModel,
+ * timing every shot, then replays each journal in full and to its midpoint and
+ * checks the grids, and finally abandons a journal mid-game without closing it
+ * and recovers the game from the file. Throws if any check fails.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar battleship.bench.JournalDriver [games]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class JournalDriver {
+	// Private class constant values
+	private static final int MAX_SHOTS_PER_GAME = 200;
+
+	/**
+	 * Runs the driver
+	 * @param args Optional number of games
+	 */
+	public static void main(String[] args) throws IOException {
+		int games = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+		Path dir = Files.createTempDirectory("battleship-journal");
+		try {
+			// warm up both paths before timing
+			timeGames(dir, games, new long[games * MAX_SHOTS_PER_GAME], new long[games * MAX_SHOTS_PER_GAME]);
+
+			long[] plain = new long[games * MAX_SHOTS_PER_GAME];
+			long[] journaled = new long[games * MAX_SHOTS_PER_GAME];
+			int shots = timeGames(dir, games, plain, journaled);
+			plain = Arrays.copyOf(plain, shots);
+			journaled = Arrays.copyOf(journaled, shots);
+			Arrays.sort(plain);
+			Arrays.sort(journaled);
+
+			long start = System.nanoTime();
+			for (int i = 0; i < games; i++) {
+				checkReplay(dir.resolve("game-" + i + ".journal"), i);
+			}
+			long replayNanos = System.nanoTime() - start;
+
+			checkRecovery(dir.resolve("crash.journal"));
+
+			System.out.println("Games:                 " + games);
+			System.out.println("Shots timed:           " + shots);
+			System.out.printf("makeShot p50/p99:      %d / %d ns%n", percentile(plain, 0.50), percentile(plain, 0.99));
+			System.out.printf("journaled p50/p99:     %d / %d ns%n", percentile(journaled, 0.50), percentile(journaled, 0.99));
+			System.out.printf("Replay and check:      %.1f us per game%n", replayNanos / 1e3 / games);
+			System.out.println("Replays and crash recovery matched the live games.");
+		} finally {
+			try (var files = Files.list(dir)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(dir);
+		}
+	}
+
+	/**
+	 * Private helper that plays each game on both models, timing every shot
+	 * @return Number of shots timed
+	 */
+	private static int timeGames(Path dir, int games, long[] plain, long[] journaled) throws IOException {
+		int[] plainCount = new int[1];
+		int[] journaledCount = new int[1];
+		for (int i = 0; i < games; i++) {
+			BattleshipModel game = new BattleshipModel("P1", "P2");
+			playGame(game, new SplittableRandom(i), MAX_SHOTS_PER_GAME, plain, plainCount);
+
+			GameJournal journal = GameJournal.create(dir.resolve("game-" + i + ".journal"), "P1", "P2");
+			JournaledBattleshipModel recorded = new JournaledBattleshipModel(journal);
+			playGame(recorded, new SplittableRandom(i), MAX_SHOTS_PER_GAME, journaled, journaledCount);
+			journal.close();
+			checkGrids(game, recorded, "live game " + i);
+		}
+		return Math.min(plainCount[0], journaledCount[0]);
+	}
+
+	/**
+	 * Private helper that places random fleets and fires at random until the game ends
+	 * or maxShots shots have been fired, optionally timing each shot
+	 */
+	private static void playGame(BattleshipModelInterface game, SplittableRandom random, int maxShots,
+			long[] latencies, int[] count) {
+		FleetGenerator fleets = new FleetGenerator();
+		fleets.placeFleet(game, true, random);
+		fleets.placeFleet(game, false, random);
+		continueGame(game, random, maxShots, latencies, count);
+	}
+
+	/**
+	 * Private helper that fires at random squares, changing turns on a miss
+	 */
+	private static void continueGame(BattleshipModelInterface game, SplittableRandom random, int maxShots,
+			long[] latencies, int[] count) {
+		boolean isPlayer1 = true;
+		for (int shot = 0; shot < maxShots && !game.isGameOver(); shot++) {
+			int cell = random.nextInt(100);
+			long start = System.nanoTime();
+			int result = game.makeShot(isPlayer1, cell);
+			long elapsed = System.nanoTime() - start;
+			if (latencies != null) {
+				latencies[count[0]++] = elapsed;
+			}
+			if (ShotResult.outcome(result) == ShotResult.MISS) {
+				isPlayer1 = !isPlayer1;
+			}
+		}
+	}
+
+	/**
+	 * Private helper that replays a journal in full and to its midpoint
+	 */
+	private static void checkReplay(Path path, int seed) throws IOException {
+		BattleshipModel live = new BattleshipModel("P1", "P2");
+		playGame(live, new SplittableRandom(seed), MAX_SHOTS_PER_GAME, null, null);
+		checkGrids(live, JournalReader.replay(path, Long.MAX_VALUE), "full replay of " + path.getFileName());
+
+		// replaying to the midpoint must show exactly the new shots in the first half
+		long events;
+		int[] newShots = new int[2];
+		try (JournalReader reader = new JournalReader(path)) {
+			while (reader.next()) {
+				// count the events
+			}
+			events = reader.getEventCount();
+		}
+		try (JournalReader reader = new JournalReader(path)) {
+			for (long i = 0; i < events / 2 && reader.next(); i++) {
+				if (reader.getType() == GameJournal.SHOT && ShotResult.outcome(reader.getResult()) != ShotResult.REPEAT) {
+					newShots[reader.isPlayer1() ? 0 : 1]++;
+				}
+			}
+		}
+		BattleshipModel half = JournalReader.replay(path, events / 2);
+		if (countShots(half.getOffensiveGrid(true)) != newShots[0] || countShots(half.getOffensiveGrid(false)) != newShots[1]) {
+			throw new IllegalStateException("Midpoint replay of " + path.getFileName() + " has the wrong shots");
+		}
+	}
+
+	/**
+	 * Private helper that abandons a journal mid-game and recovers the game from its file
+	 */
+	private static void checkRecovery(Path path) throws IOException {
+		SplittableRandom liveRandom = new SplittableRandom(7);
+		SplittableRandom crashRandom = new SplittableRandom(7);
+		BattleshipModel live = new BattleshipModel("P1", "P2");
+		playGame(live, liveRandom, 40, null, null);
+		JournaledBattleshipModel crashed = new JournaledBattleshipModel(GameJournal.create(path, "P1", "P2"));
+		playGame(crashed, crashRandom, 40, null, null);
+		// no close and no sync: the process "dies" here
+
+		JournaledBattleshipModel recovered = JournaledBattleshipModel.recover(path);
+		checkGrids(live, recovered, "recovered game");
+
+		continueGame(live, liveRandom, MAX_SHOTS_PER_GAME, null, null);
+		continueGame(recovered, crashRandom, MAX_SHOTS_PER_GAME, null, null);
+		GameJournal journal = recovered.getJournal();
+		journal.sync();
+		if (journal.getDurableEventCount() != journal.getEventCount()) {
+			throw new IllegalStateException("sync returned before every event was on disk");
+		}
+		journal.close();
+		checkGrids(live, JournalReader.replay(path, Long.MAX_VALUE), "replay after recovery");
+	}
+
+	/**
+	 * Private helper that checks two games have the same grids
+	 */
+	private static void checkGrids(BattleshipModelInterface expected, BattleshipModelInterface actual, String what) {
+		for (boolean isPlayer1 : new boolean[] {true, false}) {
+			if (!Arrays.equals(expected.getOffensiveGrid(isPlayer1), actual.getOffensiveGrid(isPlayer1))
+					|| !Arrays.equals(expected.getDefensiveGrid(isPlayer1), actual.getDefensiveGrid(isPlayer1))) {
+				throw new IllegalStateException("Grids differ in " + what);
+			}
+		}
+		if (expected.isGameOver() != actual.isGameOver()) {
+			throw new IllegalStateException("isGameOver differs in " + what);
+		}
+	}
+
+	/**
+	 * Private helper counting the squares shot on an offensive grid
+	 */
+	private static int countShots(char[] offense) {
+		int shots = 0;
+		for (char square : offense) {
+			shots += (square == ' ') ? 0 : 1;
+		}
+		return shots;
+	}
+
+	/**
+	 * Private helper returning a percentile of sorted values
+	 */
+	private static long percentile(long[] sorted, double p) {
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+	}
+}
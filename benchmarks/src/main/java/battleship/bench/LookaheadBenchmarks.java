@@ -0,0 +1,106 @@
+package battleship.bench;
+
+import battleship.BattleshipModel;
+import battleship.GameSnapshot;
+import battleship.ShotResult;
+import battleship.UndoToken;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LookaheadBenchmarks class for trying every shot on a mid-game board and
+ * taking it back, with make/unmake against restoring a GameSnapshot
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookaheadBenchmarks {
+	// A game half way through, and its snapshot to restore from
+	private BattleshipModel midGame;
+	private byte[] snapshot;
+
+	/**
+	 * Builds the mid-game model and its snapshot
+	 */
+	@Setup(Level.Trial)
+	public void setUpMidGame() {
+		midGame = new BattleshipModel("P1", "P2");
+		Scripts.placeFleets(midGame);
+		for (int cell = 0; cell < 100; cell += 2) {
+			midGame.makeShot(true, cell);
+			midGame.makeShot(false, 99 - cell);
+		}
+		snapshot = GameSnapshot.write(midGame);
+	}
+
+	/**
+	 * Tries each of Player 1's shots and unmakes it
+	 * @return Number of shots that would hit
+	 */
+	@Benchmark
+	@OperationsPerInvocation(100)
+	public int makeUnmake() {
+		int hits = 0;
+		for (int cell = 0; cell < 100; cell++) {
+			long token = midGame.makeShotUndoable(true, cell);
+			hits += ShotResult.isHit(UndoToken.result(token)) ? 1 : 0;
+			midGame.unmake(token);
+		}
+		return hits;
+	}
+
+	/**
+	 * Tries each of Player 1's shots and restores the snapshot after it
+	 * @return Number of shots that would hit
+	 */
+	@Benchmark
+	@OperationsPerInvocation(100)
+	public int makeRestore() {
+		int hits = 0;
+		for (int cell = 0; cell < 100; cell++) {
+			hits += ShotResult.isHit(midGame.makeShot(true, cell)) ? 1 : 0;
+			GameSnapshot.read(snapshot, 0, midGame);
+		}
+		return hits;
+	}
+
+	/**
+	 * Tries every pair of shots, one by each player, two plies deep
+	 * @return Number of lines where both shots hit
+	 */
+	@Benchmark
+	@OperationsPerInvocation(10000)
+	public int twoPlies() {
+		int lines = 0;
+		for (int first = 0; first < 100; first++) {
+			long outer = midGame.makeShotUndoable(true, first);
+			for (int second = 0; second < 100; second++) {
+				long inner = midGame.makeShotUndoable(false, second);
+				lines += (ShotResult.isHit(UndoToken.result(outer)) && ShotResult.isHit(UndoToken.result(inner))) ? 1 : 0;
+				midGame.unmake(inner);
+			}
+			midGame.unmake(outer);
+		}
+		return lines;
+	}
+}
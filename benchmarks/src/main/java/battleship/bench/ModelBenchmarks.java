@@ -0,0 +1,162 @@
+package battleship.bench;
+
+import battleship.BattleshipModelInterface;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ModelBenchmarks class for the placeShip, makeShot, makeSalvo and grid hot paths
+ * of every BattleshipModelInterface implementation
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmarks {
+	@Param({"BattleshipModel", "BitboardBattleshipModel"})
+	public String model;
+
+	// A model with both fleets placed and nothing shot yet, rebuilt per invocation
+	private BattleshipModelInterface placed;
+
+	// A model half way through a game, shared by the grid benchmarks
+	private BattleshipModelInterface midGame;
+
+	// Every cell for each player, split into five-shot salvos
+	private int[][] player1Salvos;
+	private int[][] player2Salvos;
+	private int[] salvoResults = new int[5];
+
+	/**
+	 * Builds the mid-game model used by the grid benchmarks
+	 */
+	@Setup(Level.Trial)
+	public void setUpMidGame() {
+		midGame = Scripts.newModel(model);
+		Scripts.placeFleets(midGame);
+		for (int cell = 0; cell < 100; cell += 2) {
+			midGame.makeShot(true, cell);
+			midGame.makeShot(false, 99 - cell);
+		}
+
+		player1Salvos = new int[20][5];
+		player2Salvos = new int[20][5];
+		for (int cell = 0; cell < 100; cell++) {
+			player1Salvos[cell / 5][cell % 5] = cell;
+			player2Salvos[cell / 5][cell % 5] = 99 - cell;
+		}
+	}
+
+	/**
+	 * Builds a freshly placed model for the shot benchmarks
+	 */
+	@Setup(Level.Invocation)
+	public void setUpPlaced() {
+		placed = Scripts.newModel(model);
+		Scripts.placeFleets(placed);
+	}
+
+	/**
+	 * Creates a model and places both fleets through the String API
+	 * @return Number of successful placements
+	 */
+	@Benchmark
+	@OperationsPerInvocation(10)
+	public int placeShip() {
+		return Scripts.placeFleets(Scripts.newModel(model));
+	}
+
+	/**
+	 * Creates a model and places both fleets through the cell index API
+	 * @return Number of successful placements
+	 */
+	@Benchmark
+	@OperationsPerInvocation(10)
+	public int placeShipByCell() {
+		BattleshipModelInterface game = Scripts.newModel(model);
+		int placed = 0;
+		for (int i = 0; i < Scripts.SHIPS.length; i++) {
+			placed += game.placeShip(true, Scripts.SHIPS[i], Scripts.PLAYER1_CELLS[i], Scripts.PLAYER1_ORIENTATIONS[i]) ? 1 : 0;
+			placed += game.placeShip(false, Scripts.SHIPS[i], Scripts.PLAYER2_CELLS[i], Scripts.PLAYER2_ORIENTATIONS[i]) ? 1 : 0;
+		}
+		return placed;
+	}
+
+	/**
+	 * Fires every cell for both players through the cell index API
+	 * @param bh Blackhole consuming each result code
+	 */
+	@Benchmark
+	@OperationsPerInvocation(200)
+	public void makeShot(Blackhole bh) {
+		for (int cell = 0; cell < 100; cell++) {
+			bh.consume(placed.makeShot(true, cell));
+			bh.consume(placed.makeShot(false, 99 - cell));
+		}
+	}
+
+	/**
+	 * Fires every cell for both players in five-shot salvos
+	 * @param bh Blackhole consuming each hit count
+	 */
+	@Benchmark
+	@OperationsPerInvocation(200)
+	public void makeSalvo(Blackhole bh) {
+		for (int salvo = 0; salvo < 20; salvo++) {
+			bh.consume(placed.makeSalvo(true, player1Salvos[salvo], 5, salvoResults));
+			bh.consume(placed.makeSalvo(false, player2Salvos[salvo], 5, salvoResults));
+		}
+	}
+
+	/**
+	 * Fires every square for both players through the String API
+	 * @param bh Blackhole consuming each result
+	 */
+	@Benchmark
+	@OperationsPerInvocation(200)
+	public void makeShotBySquare(Blackhole bh) {
+		for (int cell = 0; cell < 100; cell++) {
+			bh.consume(placed.makeShot(true, Scripts.SQUARES[cell]));
+			bh.consume(placed.makeShot(false, Scripts.SQUARES[99 - cell]));
+		}
+	}
+
+	/**
+	 * Builds Player 1's offensive grid on a mid-game board
+	 * @return Offensive grid values
+	 */
+	@Benchmark
+	public char[] getOffensiveGrid() {
+		return midGame.getOffensiveGrid(true);
+	}
+
+	/**
+	 * Builds Player 1's defensive grid on a mid-game board
+	 * @return Defensive grid values
+	 */
+	@Benchmark
+	public char[] getDefensiveGrid() {
+		return midGame.getDefensiveGrid(true);
+	}
+}
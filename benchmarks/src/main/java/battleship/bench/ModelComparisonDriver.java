@@ -0,0 +1,183 @@
+package battleship.bench;
+
+import battleship.ArenaBattleshipModel;
+import battleship.BattleshipModel;
+import battleship.BattleshipModelInterface;
+import battleship.BitboardBattleshipModel;
+import battleship.ConcurrentBattleshipModel;
+import battleship.FleetSpec;
+import battleship.GameArena;
+import battleship.Orientation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * ModelComparisonDriver class for checking that every BattleshipModelInterface
+ * implementation gives the same answers as BattleshipModel. Plays random games
+ * on BattleshipModel, BitboardBattleshipModel, ConcurrentBattleshipModel and an
+ * ArenaBattleshipModel side by side: random placements, legal or not, until
+ * each player has placed a full fleet, then random shots, repeats included,
+ * through every makeShot overload and makeSalvo, carrying on past game over.
+ * After every call it compares the answer, both players' grids, ship counts,
+ * salvo sizes and isGameOver, and throws on the first difference. An arena
+ * slot only holds a full fleet per player, so no game places more ships.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar battleship.bench.ModelComparisonDriver [games] [seed]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class ModelComparisonDriver {
+	// Private class constant values
+	private static final String SHIP_REFERENCES = "ABCDZ"; // Z is not in the fleet
+	private static final Orientation[] ORIENTATIONS = Orientation.values();
+	private static final int SHOTS_PER_GAME = 260;
+	private static final int MAX_SALVO = 5;
+
+	/**
+	 * Runs the driver
+	 * @param args Optional number of games and seed
+	 */
+	public static void main(String[] args) {
+		int games = (args.length > 0) ? Integer.parseInt(args[0]) : 5000;
+		long seed = (args.length > 1) ? Long.parseLong(args[1]) : 42;
+
+		GameArena arena = new GameArena();
+		ArenaBattleshipModel view = arena.view();
+		long calls = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < games; i++) {
+			int slot = arena.allocate("P1", "P2");
+			BattleshipModelInterface[] models = {
+				new BattleshipModel("P1", "P2"),
+				new BitboardBattleshipModel("P1", "P2"),
+				new ConcurrentBattleshipModel("P1", "P2"),
+				view.moveTo(slot)
+			};
+			calls += playGame(models, new SplittableRandom(seed + i), "game " + i);
+			arena.free(slot);
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println("Games:             " + games);
+		System.out.println("Calls compared:    " + calls);
+		System.out.printf("Elapsed:           %.1f ms%n", elapsed / 1e6);
+		System.out.println("Every model matched BattleshipModel.");
+	}
+
+	/**
+	 * Private helper that plays one random game on every model at once
+	 * @return Number of calls compared
+	 */
+	private static int playGame(BattleshipModelInterface[] models, SplittableRandom random, String game) {
+		int calls = 0;
+		int ships = FleetSpec.STANDARD.getShipCount();
+		for (int player = 0; player < 2; player++) {
+			boolean isPlayer1 = player == 0;
+			int placed = 0;
+			while (placed < ships) {
+				char ship = SHIP_REFERENCES.charAt(random.nextInt(SHIP_REFERENCES.length()));
+				int cell = random.nextInt(100);
+				Orientation o = ORIENTATIONS[random.nextInt(ORIENTATIONS.length)];
+				int overload = random.nextInt(3);
+				boolean expected = place(models[0], isPlayer1, ship, cell, o, overload);
+				for (int m = 1; m < models.length; m++) {
+					check(expected, place(models[m], isPlayer1, ship, cell, o, overload), models[m], game, "placeShip");
+				}
+				placed += expected ? 1 : 0;
+				checkState(models, game);
+				calls++;
+			}
+		}
+
+		boolean isPlayer1 = true;
+		int[] cells = new int[MAX_SALVO];
+		int[] expectedResults = new int[MAX_SALVO];
+		int[] results = new int[MAX_SALVO];
+		for (int shot = 0; shot < SHOTS_PER_GAME; shot++) {
+			int overload = random.nextInt(4);
+			if (overload == 3) {
+				int count = 1 + random.nextInt(MAX_SALVO);
+				for (int i = 0; i < count; i++) {
+					cells[i] = random.nextInt(100);
+				}
+				int expected = models[0].makeSalvo(isPlayer1, cells, count, expectedResults);
+				for (int m = 1; m < models.length; m++) {
+					check(expected, models[m].makeSalvo(isPlayer1, cells, count, results), models[m], game, "makeSalvo");
+					check(Arrays.toString(expectedResults), Arrays.toString(results), models[m], game, "makeSalvo results");
+				}
+			} else {
+				int cell = random.nextInt(100);
+				Object expected = shoot(models[0], isPlayer1, cell, overload);
+				for (int m = 1; m < models.length; m++) {
+					check(expected, shoot(models[m], isPlayer1, cell, overload), models[m], game, "makeShot");
+				}
+			}
+			checkState(models, game);
+			calls++;
+			if (random.nextInt(3) == 0) {
+				isPlayer1 = !isPlayer1;
+			}
+		}
+		return calls;
+	}
+
+	/**
+	 * Private helper that places a ship through one of the placeShip overloads
+	 */
+	private static boolean place(BattleshipModelInterface model, boolean isPlayer1, char ship, int cell, Orientation o,
+			int overload) {
+		if (overload == 0) {
+			return model.placeShip(isPlayer1, ship, cell, o);
+		}
+		if (overload == 1) {
+			return model.placeShip(isPlayer1, ship, cell / 10, cell % 10, o);
+		}
+		return model.placeShip(isPlayer1, ship, Scripts.SQUARES[cell], o);
+	}
+
+	/**
+	 * Private helper that fires a shot through one of the makeShot overloads
+	 */
+	private static Object shoot(BattleshipModelInterface model, boolean isPlayer1, int cell, int overload) {
+		if (overload == 0) {
+			return model.makeShot(isPlayer1, cell);
+		}
+		if (overload == 1) {
+			return model.makeShot(isPlayer1, cell / 10, cell % 10);
+		}
+		return model.makeShot(isPlayer1, Scripts.SQUARES[cell]);
+	}
+
+	/**
+	 * Private helper that compares everything a model reports about the game with BattleshipModel
+	 */
+	private static void checkState(BattleshipModelInterface[] models, String game) {
+		BattleshipModelInterface reference = models[0];
+		for (int m = 1; m < models.length; m++) {
+			BattleshipModelInterface model = models[m];
+			for (int player = 0; player < 2; player++) {
+				boolean isPlayer1 = player == 0;
+				check(new String(reference.getOffensiveGrid(isPlayer1)), new String(model.getOffensiveGrid(isPlayer1)),
+						model, game, "getOffensiveGrid");
+				check(new String(reference.getDefensiveGrid(isPlayer1)), new String(model.getDefensiveGrid(isPlayer1)),
+						model, game, "getDefensiveGrid");
+				check(reference.getShipCount(isPlayer1), model.getShipCount(isPlayer1), model, game, "getShipCount");
+				check(reference.getSalvoSize(isPlayer1), model.getSalvoSize(isPlayer1), model, game, "getSalvoSize");
+			}
+			check(reference.isGameOver(), model.isGameOver(), model, game, "isGameOver");
+		}
+	}
+
+	/**
+	 * Private helper that throws if a model's answer differs from BattleshipModel's
+	 */
+	private static void check(Object expected, Object actual, BattleshipModelInterface model, String game, String call) {
+		if (!expected.equals(actual)) {
+			throw new IllegalStateException(model.getClass().getSimpleName() + " disagrees with BattleshipModel on "
+					+ call + " in " + game + ": expected " + expected + ", was " + actual);
+		}
+	}
+}
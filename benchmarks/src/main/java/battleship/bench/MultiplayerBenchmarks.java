@@ -0,0 +1,104 @@
+package battleship.bench;
+
+import battleship.MultiplayerBattleshipModel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * MultiplayerBenchmarks class for the MultiplayerBattleshipModel hot paths,
+ * showing that shots and grids cost the same in small and large lobbies
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiplayerBenchmarks {
+	@Param({"2", "8"})
+	public int players;
+
+	// A game with every fleet placed and nothing shot yet, rebuilt per invocation
+	private MultiplayerBattleshipModel placed;
+
+	/**
+	 * Builds a freshly placed game for the shot benchmarks
+	 */
+	@Setup(Level.Invocation)
+	public void setUpPlaced() {
+		placed = newGame(players);
+	}
+
+	/**
+	 * Creates a game and places every fleet
+	 * @return The game
+	 */
+	@Benchmark
+	public MultiplayerBattleshipModel placeFleets() {
+		return newGame(players);
+	}
+
+	/**
+	 * Fires at the top half of the next player's board, each player in turn.
+	 * No fleet sinks there, so no one is knocked out and the game goes on.
+	 * @param bh Blackhole consuming each result code
+	 */
+	@Benchmark
+	@OperationsPerInvocation(100)
+	public void makeShot(Blackhole bh) {
+		for (int shot = 0; shot < 100; shot++) {
+			int shooter = shot % players;
+			bh.consume(placed.makeShot(shooter, (shooter + 1) % players, shot / players));
+		}
+	}
+
+	/**
+	 * Builds the grid opponents see of the last player's board
+	 * @return Offensive grid values
+	 */
+	@Benchmark
+	public char[] getOffensiveGrid() {
+		return placed.getOffensiveGrid(players - 1);
+	}
+
+	/**
+	 * Private helper that creates a game where even players use Player 1's
+	 * placements from Scripts and odd players use Player 2's
+	 */
+	private static MultiplayerBattleshipModel newGame(int players) {
+		String[] names = new String[players];
+		for (int player = 0; player < players; player++) {
+			names[player] = "Player " + (player + 1);
+		}
+		MultiplayerBattleshipModel game = new MultiplayerBattleshipModel(names);
+		for (int player = 0; player < players; player++) {
+			for (int i = 0; i < Scripts.SHIPS.length; i++) {
+				if (player % 2 == 0) {
+					game.placeShip(player, Scripts.SHIPS[i], Scripts.PLAYER1_CELLS[i], Scripts.PLAYER1_ORIENTATIONS[i]);
+				} else {
+					game.placeShip(player, Scripts.SHIPS[i], Scripts.PLAYER2_CELLS[i], Scripts.PLAYER2_ORIENTATIONS[i]);
+				}
+			}
+		}
+		return game;
+	}
+}
@@ -0,0 +1,97 @@
+package battleship.bench;
+
+import battleship.CommandParser;
+import battleship.PlayGame;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ParserBenchmarks class for the PlayGame input validation hot paths, and for
+ * CommandParser against the split and compare it replaced. Run with -prof gc
+ * to see that parseLine allocates nothing.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmarks {
+	// Typical user input, valid and invalid mixed
+	private static final String[] SQUARES = {"A1", "J10", "E5", "K1", "A11", "a1", "B0", "C7", "H10", "Z"};
+	private static final String[] ORIENTATIONS = {"H", "V", "DD", "DU", "h", "D", "UD", "VV"};
+	private static final String[] LINES = {"t", "A1 H", "J10 DD", " B2 V", "S A1 B2 C3 D4 E5", "K1 H", "o", "E5  dd"};
+
+	private final PlayGame playGame = new PlayGame();
+	private final CommandParser parser = new CommandParser();
+
+	/**
+	 * Validates a batch of squares
+	 * @param bh Blackhole consuming each answer
+	 */
+	@Benchmark
+	@OperationsPerInvocation(10)
+	public void validateSquare(Blackhole bh) {
+		for (String square : SQUARES) {
+			bh.consume(playGame.validateSquare(square));
+		}
+	}
+
+	/**
+	 * Validates a batch of orientations
+	 * @param bh Blackhole consuming each answer
+	 */
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void validateOrientation(Blackhole bh) {
+		for (String orientation : ORIENTATIONS) {
+			bh.consume(playGame.validateOrientation(orientation));
+		}
+	}
+
+	/**
+	 * Parses a batch of lines into a command, a cell and an orientation with CommandParser
+	 * @param bh Blackhole consuming each answer
+	 */
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void parseLine(Blackhole bh) {
+		for (String line : LINES) {
+			parser.parse(line);
+			bh.consume(parser.getCommand(0));
+			bh.consume(parser.getCell(0));
+			bh.consume(parser.getOrientation(1));
+		}
+	}
+
+	/**
+	 * Reads the same batch the way PlayGame did before CommandParser, for comparison
+	 * @param bh Blackhole consuming each answer
+	 */
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void splitLine(Blackhole bh) {
+		for (String line : LINES) {
+			String[] tokens = line.split("\\s+");
+			bh.consume(tokens[0].toUpperCase());
+			bh.consume(!tokens[0].isEmpty() && playGame.validateSquare(tokens[0]));
+			bh.consume(tokens.length > 1 && playGame.validateOrientation(tokens[1]));
+		}
+	}
+}
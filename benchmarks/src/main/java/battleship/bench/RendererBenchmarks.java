@@ -0,0 +1,95 @@
+package battleship.bench;
+
+import battleship.BattleshipModelInterface;
+import battleship.BoardRenderer;
+import battleship.PlayGame;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RendererBenchmarks class for PlayGame.printBoard and BoardRenderer, with
+ * System.out redirected to a stream that discards everything. renderChanges
+ * toggles one square of a pinned board between draws, as a shot would.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RendererBenchmarks {
+	private static final String TITLE = "Player 1's defensive board.";
+
+	private PrintStream originalOut;
+	private char[] defensiveGrid;
+	private BoardRenderer renderer;
+	private BoardRenderer ansiRenderer;
+
+	/**
+	 * Redirects System.out to a null stream and builds a board to print
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		BattleshipModelInterface game = Scripts.newModel("BattleshipModel");
+		Scripts.placeFleets(game);
+		defensiveGrid = game.getDefensiveGrid(true);
+
+		originalOut = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		renderer = new BoardRenderer(System.out, false);
+		ansiRenderer = new BoardRenderer(System.out, true);
+		ansiRenderer.renderChanges(TITLE, defensiveGrid);
+	}
+
+	/**
+	 * Restores System.out
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		System.setOut(originalOut);
+	}
+
+	/**
+	 * Prints one board
+	 */
+	@Benchmark
+	public void printBoard() {
+		PlayGame.printBoard(defensiveGrid);
+	}
+
+	/**
+	 * Draws one board with a reused renderer
+	 */
+	@Benchmark
+	public void render() {
+		renderer.render(defensiveGrid);
+	}
+
+	/**
+	 * Redraws the one square that changed since the last draw
+	 */
+	@Benchmark
+	public void renderChanges() {
+		defensiveGrid[55] = (defensiveGrid[55] == 'H') ? 'M' : 'H';
+		ansiRenderer.renderChanges(TITLE, defensiveGrid);
+	}
+}
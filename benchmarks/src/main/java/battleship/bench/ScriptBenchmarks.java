@@ -0,0 +1,80 @@
+package battleship.bench;
+
+import battleship.ScriptRunner;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ScriptBenchmarks class for replaying a generated script of complete
+ * console games through PlayGame, with output discarded. Each invocation
+ * plays every game in the script and fails if the output changes.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScriptBenchmarks {
+	// Private class constant values
+	private static final int GAMES = 20;
+
+	private String script;
+	private long digest;
+
+	/**
+	 * Generates the script and records the output digest of a first replay
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+		ScriptRunner.generate(out, GAMES, 42);
+		script = buffer.toString(StandardCharsets.UTF_8);
+		digest = replay().getOutputDigest();
+	}
+
+	/**
+	 * Replays every game in the script
+	 * @return Output digest
+	 */
+	@Benchmark
+	public long replayGames() {
+		long replayed = replay().getOutputDigest();
+		if (replayed != digest) {
+			throw new IllegalStateException("Replay printed different output");
+		}
+		return replayed;
+	}
+
+	/**
+	 * Private helper that plays the script once
+	 */
+	private ScriptRunner replay() {
+		ScriptRunner runner = new ScriptRunner(new BufferedReader(new StringReader(script)), OutputStream.nullOutputStream());
+		runner.run();
+		return runner;
+	}
+}
@@ -0,0 +1,77 @@
+package battleship.bench;
+
+import battleship.BattleshipModel;
+import battleship.BattleshipModelInterface;
+import battleship.BitboardBattleshipModel;
+import battleship.Orientation;
+
+/**
+ * Scripts class holds the scripted fleets and shot orders shared by the benchmarks
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+final class Scripts {
+	// Scripted fleets, one placement per index: ship, square, orientation
+	static final char[] SHIPS = {'A', 'B', 'C', 'D', 'D'};
+	static final String[] PLAYER1_SQUARES = {"A1", "C3", "F5", "J1", "E10"};
+	static final Orientation[] PLAYER1_ORIENTATIONS = {Orientation.H, Orientation.V, Orientation.DD, Orientation.DU, Orientation.V};
+	static final String[] PLAYER2_SQUARES = {"B2", "J7", "H1", "A9", "D8"};
+	static final Orientation[] PLAYER2_ORIENTATIONS = {Orientation.DD, Orientation.H, Orientation.DU, Orientation.V, Orientation.H};
+
+	// The same starting squares as cell indexes (row * 10 + col)
+	static final int[] PLAYER1_CELLS = {0, 22, 54, 90, 49};
+	static final int[] PLAYER2_CELLS = {11, 96, 70, 8, 37};
+
+	// Every square from A1 to J10, in cell index order
+	static final String[] SQUARES = buildSquares();
+
+	/**
+	 * Private constructor, Scripts only has static helpers
+	 */
+	private Scripts() {
+	}
+
+	/**
+	 * Creates a new empty model
+	 * @param model Simple class name of the BattleshipModelInterface implementation
+	 * @return New model
+	 */
+	static BattleshipModelInterface newModel(String model) {
+		switch (model) {
+			case "BattleshipModel":
+				return new BattleshipModel("P1", "P2");
+			case "BitboardBattleshipModel":
+				return new BitboardBattleshipModel("P1", "P2");
+			default:
+				throw new IllegalArgumentException("Unknown model: " + model);
+		}
+	}
+
+	/**
+	 * Places both scripted fleets through the String API
+	 * @param game The model to place on
+	 * @return Number of successful placements
+	 */
+	static int placeFleets(BattleshipModelInterface game) {
+		int placed = 0;
+		for (int i = 0; i < SHIPS.length; i++) {
+			placed += game.placeShip(true, SHIPS[i], PLAYER1_SQUARES[i], PLAYER1_ORIENTATIONS[i]) ? 1 : 0;
+			placed += game.placeShip(false, SHIPS[i], PLAYER2_SQUARES[i], PLAYER2_ORIENTATIONS[i]) ? 1 : 0;
+		}
+		return placed;
+	}
+
+	/**
+	 * Private helper to list every square from A1 to J10
+	 * @return Array of square names
+	 */
+	private static String[] buildSquares() {
+		String[] squares = new String[100];
+		for (int i = 0; i < squares.length; i++) {
+			squares[i] = (char) ('A' + i / 10) + Integer.toString(i % 10 + 1);
+		}
+		return squares;
+	}
+}
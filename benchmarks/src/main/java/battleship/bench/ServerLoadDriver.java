@@ -0,0 +1,171 @@
+package battleship.bench;
+
+import battleship.GameServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * ServerLoadDriver class for checking GameServer under load.
+ * Starts a server on the loopback address, connects many clients at once
+ * and has each one play a complete scripted game, sending a command only
+ * after the server has prompted for it. Fails if any game doesn't reach
+ * "Thanks for playing.", and reports the peak number of open sessions and
+ * the round trip latency per command.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar battleship.bench.ServerLoadDriver [clients]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class ServerLoadDriver {
+	// Prompts the server ends a reply with when it is waiting for input
+	private static final String NAME_PROMPT = "name: ";
+	private static final String SETUP_PROMPT = "Enter command. \n";
+	private static final String PLACE_PROMPT = "\uF0D8 ";
+	private static final String PLAY_PROMPT = "command.. \n";
+	private static final String SHOT_PROMPT = "fired on.\n";
+	private static final String GOODBYE = "Thanks for playing.\n";
+
+	// Private class constant values
+	private static final int MAX_COMMANDS_PER_GAME = 400;
+
+	/**
+	 * Client class for one scripted player pair sharing a connection
+	 */
+	private static class Client {
+		private SocketChannel channel;
+		private ByteArrayOutputStream reply = new ByteArrayOutputStream(2048);
+		private int[] nextShot = new int[2]; // next square for north and south
+		private int placed;
+		private int commands;
+		private long sentAt;
+		private boolean finished;
+	}
+
+	/**
+	 * Runs the driver
+	 * @param args Optional number of concurrent clients
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int clientCount = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+
+		GameServer gameServer = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		Thread serverThread = new Thread(gameServer, "game-server");
+		serverThread.start();
+
+		Selector selector = Selector.open();
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), gameServer.getPort());
+		for (int i = 0; i < clientCount; i++) {
+			Client client = new Client();
+			client.channel = SocketChannel.open(address);
+			client.channel.socket().setTcpNoDelay(true);
+			client.channel.configureBlocking(false);
+			client.channel.register(selector, SelectionKey.OP_READ, client);
+			client.sentAt = System.nanoTime();
+		}
+
+		long[] latencies = new long[clientCount * MAX_COMMANDS_PER_GAME];
+		int latencyCount = 0;
+		int finished = 0;
+		int peakSessions = 0;
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		long start = System.nanoTime();
+		while (finished < clientCount) {
+			selector.select();
+			peakSessions = Math.max(peakSessions, gameServer.getSessionCount());
+			Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+			while (keys.hasNext()) {
+				SelectionKey key = keys.next();
+				keys.remove();
+				Client client = (Client) key.attachment();
+				buffer.clear();
+				int read = client.channel.read(buffer);
+				if (read < 0) {
+					throw new IllegalStateException("Server closed a game early after " + client.commands + " commands");
+				}
+				client.reply.write(buffer.array(), 0, read);
+
+				String reply = client.reply.toString(StandardCharsets.UTF_8);
+				String command = nextCommand(client, reply);
+				if (command == null && !client.finished) {
+					continue; // the reply isn't complete yet
+				}
+				latencies[latencyCount++] = System.nanoTime() - client.sentAt;
+				client.reply.reset();
+				if (client.finished) {
+					key.cancel();
+					client.channel.close();
+					finished++;
+				}
+				else if (++client.commands > MAX_COMMANDS_PER_GAME) {
+					throw new IllegalStateException("Game did not finish, last reply: " + reply);
+				}
+				else {
+					client.sentAt = System.nanoTime();
+					client.channel.write(ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.UTF_8)));
+				}
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		gameServer.close();
+		serverThread.join();
+
+		long[] sorted = Arrays.copyOf(latencies, latencyCount);
+		Arrays.sort(sorted);
+		System.out.println("Games finished:      " + finished);
+		System.out.println("Peak open sessions:  " + peakSessions);
+		System.out.println("Commands:            " + latencyCount);
+		System.out.printf("Commands per second: %.0f%n", latencyCount / (elapsed / 1e9));
+		System.out.printf("Latency p50:         %.3f ms%n", percentile(sorted, 0.50) / 1e6);
+		System.out.printf("Latency p99:         %.3f ms%n", percentile(sorted, 0.99) / 1e6);
+		System.out.printf("Latency max:         %.3f ms%n", sorted[sorted.length - 1] / 1e6);
+	}
+
+	/**
+	 * Private helper that picks the reply to a complete prompt
+	 * @return Next line to send, or null if the prompt hasn't fully arrived or the game is over
+	 */
+	private static String nextCommand(Client client, String reply) {
+		if (reply.endsWith(GOODBYE)) {
+			client.finished = true;
+			return null;
+		}
+		if (reply.endsWith(NAME_PROMPT)) {
+			return (reply.contains("Player 1")) ? "north" : "south";
+		}
+		if (reply.endsWith(SETUP_PROMPT)) {
+			// look at the menu once before setting up each board
+			return reply.startsWith("Hi ") ? "S" : "M";
+		}
+		if (reply.endsWith(PLACE_PROMPT)) {
+			int ship = client.placed++ % Scripts.SHIPS.length;
+			return Scripts.PLAYER1_SQUARES[ship] + " " + Scripts.PLAYER1_ORIENTATIONS[ship];
+		}
+		if (reply.endsWith(PLAY_PROMPT)) {
+			return "T";
+		}
+		if (reply.endsWith(SHOT_PROMPT)) {
+			int shooter = reply.substring(reply.lastIndexOf('\n', reply.length() - 2) + 1).startsWith("north") ? 0 : 1;
+			return Scripts.SQUARES[client.nextShot[shooter]++];
+		}
+		return null;
+	}
+
+	/**
+	 * Private helper returning a percentile of sorted values
+	 */
+	private static long percentile(long[] sorted, double p) {
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+	}
+}
@@ -0,0 +1,83 @@
+package battleship.bench;
+
+import battleship.BattleshipModel;
+import battleship.GameSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SnapshotBenchmarks class for checkpointing and restoring a game with GameSnapshot
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmarks {
+	// A game half way through, its snapshot, a buffer to write into and a game to restore into
+	private BattleshipModel midGame;
+	private BattleshipModel restored;
+	private byte[] snapshot;
+	private byte[] buffer;
+
+	/**
+	 * Builds the mid-game model and its snapshot
+	 */
+	@Setup(Level.Trial)
+	public void setUpMidGame() {
+		midGame = new BattleshipModel("P1", "P2");
+		Scripts.placeFleets(midGame);
+		for (int cell = 0; cell < 100; cell += 2) {
+			midGame.makeShot(true, cell);
+			midGame.makeShot(false, 99 - cell);
+		}
+		snapshot = GameSnapshot.write(midGame);
+		buffer = new byte[GameSnapshot.STANDARD_SIZE];
+		restored = new BattleshipModel("P1", "P2");
+	}
+
+	/**
+	 * Writes a snapshot of the mid-game model into a reused buffer
+	 * @return Snapshot size
+	 */
+	@Benchmark
+	public int write() {
+		return GameSnapshot.write(midGame, buffer, 0);
+	}
+
+	/**
+	 * Restores the mid-game model from its snapshot
+	 * @return Restored model
+	 */
+	@Benchmark
+	public BattleshipModel read() {
+		return GameSnapshot.read(snapshot, 0, "P1", "P2");
+	}
+
+	/**
+	 * Restores the mid-game model from its snapshot into a reused model
+	 * @return Restored model
+	 */
+	@Benchmark
+	public BattleshipModel readInto() {
+		GameSnapshot.read(snapshot, 0, restored);
+		return restored;
+	}
+}
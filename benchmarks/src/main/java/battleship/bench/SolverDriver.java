@@ -0,0 +1,168 @@
+package battleship.bench;
+
+import battleship.AircraftCarrier;
+import battleship.Battleship;
+import battleship.BattleshipModel;
+import battleship.Cruiser;
+import battleship.Destroyer;
+import battleship.FleetSolution;
+import battleship.FleetSolver;
+import battleship.PlacementMasks;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * SolverDriver class for checking FleetSolver against plain enumeration and
+ * timing it on mid-game positions. Each position is a random fleet with a
+ * number of random shots fired at it; hits on sunk ships are marked 'S'.
+ * Late-game positions, where enumerating every placement is still quick,
+ * must give the same counts as the solver for every cell. Throws if any
+ * position differs.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar battleship.bench.SolverDriver [positions]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class SolverDriver {
+	// Private class constant values
+	private static final int SQUARES = 100;
+	private static final char[] FLEET = {
+		AircraftCarrier.REFERENCE, Battleship.REFERENCE, Cruiser.REFERENCE, Destroyer.REFERENCE, Destroyer.REFERENCE
+	};
+	private static final int[] LENGTHS = {
+		AircraftCarrier.LENGTH, Battleship.LENGTH, Cruiser.LENGTH, Destroyer.LENGTH, Destroyer.LENGTH
+	};
+	private static final int[] TIMED_SHOTS = {20, 30, 40, 60};
+
+	/**
+	 * Runs the driver
+	 * @param args Optional number of positions per check
+	 */
+	public static void main(String[] args) {
+		int positions = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+		FleetSolver solver = new FleetSolver();
+
+		// late game: compare with plain enumeration
+		int checked = 0;
+		for (int seed = 0; seed < positions; seed++) {
+			Position position = new Position(new SplittableRandom(seed), 80 + seed % 40);
+			FleetSolution solution = solver.solve(position.grid, position.afloat);
+			long[] covering = new long[SQUARES];
+			long configurations = enumerate(position.grid, position.afloat, 0, 0, 0, new int[position.afloat.length], covering);
+			for (int cell = 0; cell < SQUARES; cell++) {
+				if (solution.getCovering(cell) != covering[cell]) {
+					throw new IllegalStateException("Covering count differs at cell " + cell + " for seed " + seed);
+				}
+			}
+			if (solution.getConfigurations() != configurations) {
+				throw new IllegalStateException("Solver found " + solution.getConfigurations() + " configurations, enumeration "
+						+ configurations + ", for seed " + seed);
+			}
+			checked++;
+		}
+		System.out.println("Positions checked:   " + checked);
+
+		// mid game: time the solver alone
+		for (int shots : TIMED_SHOTS) {
+			int count = Math.max(1, positions / 20);
+			long[] nanos = new long[count];
+			long configurations = 0;
+			for (int i = 0; i < count; i++) {
+				Position position = new Position(new SplittableRandom(1000 + i), shots);
+				FleetSolution solution = solver.solve(position.grid, position.afloat);
+				nanos[i] = solution.getElapsedNanos();
+				configurations = Math.max(configurations, solution.getConfigurations());
+			}
+			Arrays.sort(nanos);
+			System.out.printf("%d shots:  median %.1f ms, max %.1f ms, up to %d configurations%n", shots,
+					nanos[count / 2] / 1e6, nanos[count - 1] / 1e6, configurations);
+		}
+		System.out.println("Solver matched enumeration on every position.");
+	}
+
+	/**
+	 * Position class for a random fleet after random shots, as the solver sees it
+	 */
+	private static final class Position {
+		private final char[] grid;
+		private final int[] afloat;
+
+		private Position(SplittableRandom random, int shots) {
+			BattleshipModel game = new BattleshipModel("P1", "P2");
+			int[] ids = new int[FLEET.length];
+			for (int ship = 0; ship < FLEET.length; ship++) {
+				int[] candidates = PlacementMasks.candidates(LENGTHS[ship]);
+				do {
+					ids[ship] = candidates[random.nextInt(candidates.length)];
+				} while (!game.placeShip(false, FLEET[ship], PlacementMasks.cell(ids[ship]), PlacementMasks.orientation(ids[ship])));
+			}
+			for (int i = 0; i < shots; i++) {
+				game.makeShot(true, random.nextInt(SQUARES));
+			}
+
+			grid = game.getOffensiveGrid(true);
+			int[] lengths = new int[FLEET.length];
+			int count = 0;
+			for (int ship = 0; ship < FLEET.length; ship++) {
+				boolean sunk = true;
+				for (int cell : PlacementMasks.cells(ids[ship])) {
+					sunk &= grid[cell] != ' ';
+				}
+				if (sunk) {
+					for (int cell : PlacementMasks.cells(ids[ship])) {
+						grid[cell] = 'S';
+					}
+				} else {
+					lengths[count++] = LENGTHS[ship];
+				}
+			}
+			afloat = Arrays.copyOf(lengths, count);
+		}
+	}
+
+	/**
+	 * Private helper that enumerates every placement of the ships left, ships of
+	 * equal length in increasing id order so each configuration is seen once
+	 * @return Number of configurations
+	 */
+	private static long enumerate(char[] grid, int[] lengths, int ship, long occupiedLo, long occupiedHi,
+			int[] chosen, long[] covering) {
+		if (ship == lengths.length) {
+			for (int cell = 0; cell < SQUARES; cell++) {
+				long occupied = (cell < 64) ? occupiedLo >>> cell : occupiedHi >>> (cell - 64);
+				if (grid[cell] == 'H' && (occupied & 1) == 0) {
+					return 0;
+				}
+			}
+			for (int i = 0; i < ship; i++) {
+				for (int cell : PlacementMasks.cells(chosen[i])) {
+					covering[cell]++;
+				}
+			}
+			return 1;
+		}
+
+		long total = 0;
+		for (int id : PlacementMasks.candidates(lengths[ship])) {
+			if (PlacementMasks.overlaps(id, occupiedLo, occupiedHi)
+					|| (ship > 0 && lengths[ship] == lengths[ship - 1] && id <= chosen[ship - 1])) {
+				continue;
+			}
+			boolean blocked = false;
+			boolean allHit = true;
+			for (int cell : PlacementMasks.cells(id)) {
+				blocked |= grid[cell] == 'M' || grid[cell] == 'S';
+				allHit &= grid[cell] == 'H';
+			}
+			if (!blocked && !allHit) {
+				chosen[ship] = id;
+				total += enumerate(grid, lengths, ship + 1, occupiedLo | PlacementMasks.lo(id),
+						occupiedHi | PlacementMasks.hi(id), chosen, covering);
+			}
+		}
+		return total;
+	}
+}
@@ -1,3 +1,5 @@
+package battleship;
+
 /**
  * AircraftCarrier class
  * 
@@ -7,7 +9,7 @@
 
 public class AircraftCarrier extends Ship {
 	// AircraftCarrier state
-	private static final int LENGTH = 5;
+	public static final int LENGTH = 5;
 	public static final char REFERENCE = 'A';
 	
 	/**
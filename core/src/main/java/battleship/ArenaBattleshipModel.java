@@ -0,0 +1,355 @@
+package battleship;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * ArenaBattleshipModel class, a flyweight view onto one game in a
+ * GameArena. The view holds no game state of its own: every call reads
+ * and writes the current slot's bytes, using the same bitboard layout and
+ * rules as BitboardBattleshipModel. A slot has room for the fleet's ship
+ * count per player, so placing more ships than that is refused where
+ * BattleshipModel accepts it; otherwise the view gives the same answers.
+ * moveTo points the view at another game, so one view per thread is
+ * enough to serve every game in the arena.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class ArenaBattleshipModel implements BattleshipModelInterface {
+	// The arena and the game currently viewed
+	private GameArena arena;
+	private FleetSpec fleet;
+	private int shipsPerPlayer;
+	private int slot;
+	private ByteBuffer chunk;
+	private int base;
+
+	// Private class constant values
+	private static final int BOARD_WIDTH = 10;
+	private static final int BOARD_HEIGHT = 10;
+	private static final String LETTERS = "ABCDEFGHIJ";
+
+	/**
+	 * Constructor for ArenaBattleshipModel, see GameArena.view
+	 * @param arena The arena holding the games
+	 */
+	ArenaBattleshipModel(GameArena arena) {
+		this.arena = arena;
+		fleet = arena.getFleet();
+		shipsPerPlayer = fleet.getShipCount();
+		slot = -1;
+	}
+
+	/**
+	 * Points the view at a game
+	 * @param slot The slot handle from GameArena.allocate
+	 * @return This view
+	 */
+	public ArenaBattleshipModel moveTo(int slot) {
+		arena.checkInUse(slot);
+		this.slot = slot;
+		chunk = arena.chunk(slot);
+		base = arena.offset(slot);
+		return this;
+	}
+
+	/**
+	 * Returns the game currently viewed
+	 * @return The slot handle
+	 */
+	public int getSlot() {
+		return slot;
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param loc The bound-validated starting location to place the ship
+	 * @param o The orientation for the ship to be placed in, starting from loc
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, String loc, Orientation o) {
+		return placeShip(isPlayer1, ship, getRow(loc), getCol(loc), o);
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int cell, Orientation o) {
+		return placeShip(isPlayer1, ship, cell / BOARD_WIDTH, cell % BOARD_WIDTH, o);
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param startRow The zero-based starting row
+	 * @param startCol The zero-based starting col
+	 * @param o The orientation for the ship to be placed in, starting from (startRow, startCol)
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		if (!Metrics.ENABLED) {
+			return place(isPlayer1, ship, startRow, startCol, o);
+		}
+		long start = System.nanoTime();
+		boolean placed = place(isPlayer1, ship, startRow, startCol, o);
+		Metrics.PLACE_SHIP.recordSince(start);
+		return placed;
+	}
+
+	/**
+	 * Private helper that places a ship, see placeShip
+	 */
+	private boolean place(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		int player = isPlayer1 ? 0 : 1;
+		int placedShips = chunk.get(base + GameArena.SLOT_COUNT + player);
+		if (startRow < 0 || startRow > 9 || startCol < 0 || startCol > 9 || placedShips == shipsPerPlayer) {
+			return false;
+		}
+
+		// one lookup and one AND validate the whole placement
+		int board = base + GameArena.BOARDS + player * GameArena.BOARD_BYTES;
+		long shipsLo = chunk.getLong(board + GameArena.SHIPS_LO);
+		long shipsHi = chunk.getLong(board + GameArena.SHIPS_HI);
+		int id = PlacementMasks.id(fleet.getLength(ship), o, startRow * BOARD_WIDTH + startCol);
+		if (!PlacementMasks.isLegal(id) || PlacementMasks.overlaps(id, shipsLo, shipsHi)) {
+			return false;
+		}
+
+		int entry = shipEntry(player, placedShips);
+		chunk.putShort(entry, (short) id);
+		chunk.putChar(entry + 2, ship);
+		chunk.putLong(board + GameArena.SHIPS_LO, shipsLo | PlacementMasks.lo(id));
+		chunk.putLong(board + GameArena.SHIPS_HI, shipsHi | PlacementMasks.hi(id));
+		chunk.put(base + GameArena.SLOT_COUNT + player, (byte) (placedShips + 1));
+		chunk.put(base + GameArena.SHIP_COUNT + player, (byte) (chunk.get(base + GameArena.SHIP_COUNT + player) + 1));
+		return true;
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param loc The bound-validated location to shoot
+	 * @return "Hit", "Miss", "Hit and sunk <player_name>'s <ship_name>", or "Unsuccessful"
+	 */
+	public String makeShot(boolean isPlayer1, String loc) {
+		int result = makeShot(isPlayer1, getRow(loc), getCol(loc));
+		String targetPlayerName = arena.getName(slot, isPlayer1 ? 0 : 1);
+		return ShotResult.describe(result, targetPlayerName);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param row The bound-validated zero-based row to shoot
+	 * @param col The bound-validated zero-based col to shoot
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int row, int col) {
+		return makeShot(isPlayer1, row * BOARD_WIDTH + col);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param index The bound-validated cell index to shoot (row * 10 + col)
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int index) {
+		if (!Metrics.ENABLED) {
+			return shoot(isPlayer1, index);
+		}
+		long start = System.nanoTime();
+		int result = shoot(isPlayer1, index);
+		Metrics.MAKE_SHOT.recordSince(start);
+		Metrics.countShot(result);
+		return result;
+	}
+
+	/**
+	 * Private helper that makes a shot, see makeShot
+	 */
+	private int shoot(boolean isPlayer1, int index) {
+		int player = isPlayer1 ? 0 : 1;
+		int target = 1 - player;
+		int board = base + GameArena.BOARDS + player * GameArena.BOARD_BYTES;
+		int targetBoard = base + GameArena.BOARDS + target * GameArena.BOARD_BYTES;
+
+		int shotsOffset = board + ((index < 64) ? GameArena.SHOTS_LO : GameArena.SHOTS_HI);
+		long shots = chunk.getLong(shotsOffset);
+		long bit = 1L << (index & 63);
+		if ((shots & bit) != 0) {
+			return ShotResult.REPEAT;
+		}
+
+		// loc has not been shot by player, set it as shot
+		chunk.putLong(shotsOffset, shots | bit);
+		long targetShips = chunk.getLong(targetBoard + ((index < 64) ? GameArena.SHIPS_LO : GameArena.SHIPS_HI));
+		if ((targetShips & bit) == 0) {
+			return ShotResult.MISS;
+		}
+
+		// find the ship covering loc and count its cells shot so far
+		long shotsLo = chunk.getLong(board + GameArena.SHOTS_LO);
+		long shotsHi = chunk.getLong(board + GameArena.SHOTS_HI);
+		int placedShips = chunk.get(base + GameArena.SLOT_COUNT + target);
+		for (int ship = 0; ship < placedShips; ship++) {
+			int entry = shipEntry(target, ship);
+			int id = chunk.getShort(entry);
+			long mask = (index < 64) ? PlacementMasks.lo(id) : PlacementMasks.hi(id);
+			if ((mask & bit) == 0) {
+				continue;
+			}
+			int damage = Long.bitCount(PlacementMasks.lo(id) & shotsLo) + Long.bitCount(PlacementMasks.hi(id) & shotsHi);
+			if (damage < PlacementMasks.length(id)) {
+				return ShotResult.HIT;
+			}
+
+			// ship is destroyed, decrement ship count
+			int afloat = chunk.get(base + GameArena.SHIP_COUNT + target) - 1;
+			chunk.put(base + GameArena.SHIP_COUNT + target, (byte) afloat);
+			boolean isGameOver = afloat <= 0 || chunk.get(base + GameArena.SHIP_COUNT + player) <= 0;
+			if (isGameOver) {
+				chunk.put(base + GameArena.FLAGS, (byte) (chunk.get(base + GameArena.FLAGS) | GameArena.GAME_OVER));
+			}
+			return ShotResult.sunk(chunk.getChar(entry + 2), isGameOver);
+		}
+		return ShotResult.HIT;
+	}
+
+	/**
+	 * Returns the number of ships a player has afloat
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Ship count
+	 */
+	public int getShipCount(boolean isPlayer1) {
+		return chunk.get(base + GameArena.SHIP_COUNT + (isPlayer1 ? 0 : 1));
+	}
+
+	/**
+	 * Private helper returning where a player's placed ship is kept in the slot
+	 * @param player 0 for Player 1, 1 for Player 2
+	 * @param ship The ship's placement order
+	 * @return Byte offset of the ship's placement id, followed by its reference
+	 */
+	private int shipEntry(int player, int ship) {
+		return base + GameArena.SHIP_SLOTS + (player * shipsPerPlayer + ship) * GameArena.SHIP_BYTES;
+	}
+
+	/**
+	 * Private getter for the zero-based row index for the board
+	 * @param pos The board location to get the row of (i.e. A1)
+	 * @return Zero-based row index for the board
+	 */
+	private int getRow(String pos) {
+		return LETTERS.indexOf(pos.charAt(0));
+	}
+
+	/**
+	 * Private getter for the zero-based col index for the board
+	 * @param pos The board location to get the col of (i.e. A1)
+	 * @return Zero-based col index for the board
+	 */
+	private int getCol(String pos) {
+		int col = 0;
+		for (int i = 1; i < pos.length(); i++) {
+			col = col * 10 + (pos.charAt(i) - '0');
+		}
+		return col - 1;
+	}
+
+	/**
+	 * Returns Player 1's name
+	 * @return Player 1's name
+	 */
+	public String getPlayer1Name() {
+		return arena.getName(slot, 0);
+	}
+
+	/**
+	 * Returns Player 2's name
+	 * @return Player 2's name
+	 */
+	public String getPlayer2Name() {
+		return arena.getName(slot, 1);
+	}
+
+	/**
+	 * Return the array of offensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of offensive grid values for passed player
+	 */
+	public char[] getOffensiveGrid(boolean isPlayer1) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		char[] offenseGridVals = new char[BOARD_WIDTH * BOARD_HEIGHT];
+		int player = isPlayer1 ? 0 : 1;
+		int board = base + GameArena.BOARDS + player * GameArena.BOARD_BYTES;
+		int targetBoard = base + GameArena.BOARDS + (1 - player) * GameArena.BOARD_BYTES;
+		long shotsLo = chunk.getLong(board + GameArena.SHOTS_LO);
+		long shotsHi = chunk.getLong(board + GameArena.SHOTS_HI);
+		long shipsLo = chunk.getLong(targetBoard + GameArena.SHIPS_LO);
+		long shipsHi = chunk.getLong(targetBoard + GameArena.SHIPS_HI);
+
+		for (int index = 0; index < offenseGridVals.length; index++) {
+			long shots = (index < 64) ? shotsLo : shotsHi;
+			long ships = (index < 64) ? shipsLo : shipsHi;
+			long bit = 1L << (index & 63);
+
+			//value begins as not shot
+			char gridVal = ' ';
+
+			if ((shots & bit) != 0) {
+				gridVal = ((ships & bit) != 0) ? 'H' : 'M';
+			}
+
+			offenseGridVals[index] = gridVal;
+		}
+		if (Metrics.ENABLED) {
+			Metrics.GRID_FETCH.recordSince(start);
+		}
+		return offenseGridVals;
+	}
+
+	/**
+	 * Return the array of defensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of defensive grid values for passed player
+	 */
+	public char[] getDefensiveGrid(boolean isPlayer1) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		char[] defenseGridVals = new char[BOARD_WIDTH * BOARD_HEIGHT];
+		Arrays.fill(defenseGridVals, ' ');
+		int player = isPlayer1 ? 0 : 1;
+
+		// stamp each ship's reference on its locations
+		int placedShips = chunk.get(base + GameArena.SLOT_COUNT + player);
+		for (int ship = 0; ship < placedShips; ship++) {
+			int entry = shipEntry(player, ship);
+			char reference = chunk.getChar(entry + 2);
+			for (int cell : PlacementMasks.cells(chunk.getShort(entry))) {
+				defenseGridVals[cell] = reference;
+			}
+		}
+		if (Metrics.ENABLED) {
+			Metrics.GRID_FETCH.recordSince(start);
+		}
+		return defenseGridVals;
+	}
+
+	/**
+	 * Returns whether or not the game is over
+	 * @return True if game is over, false if not
+	 */
+	public boolean isGameOver() {
+		return (chunk.get(base + GameArena.FLAGS) & GameArena.GAME_OVER) != 0;
+	}
+}
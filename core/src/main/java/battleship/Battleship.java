@@ -1,3 +1,5 @@
+package battleship;
+
 /**
  * Battleship class
  * 
@@ -7,7 +9,7 @@
 
 public class Battleship extends Ship {
 	// Battleship state
-	private static final int LENGTH = 4;
+	public static final int LENGTH = 4;
 	public static final char REFERENCE = 'B';
 	
 	/**
@@ -0,0 +1,894 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * BattleshipModel class for handling battleship game state
+ * 
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+ 
+public class BattleshipModel implements BattleshipModelInterface, GridViewSource {
+	// Model state
+	private BoardSquare[][] board;
+	private String player1Name;
+	private String player2Name;
+	private FleetSpec fleet;
+	private int player1ShipCount;
+	private int player2ShipCount;
+	private boolean isGameOver;
+	
+	// Ship occupancy masks, in PlacementMasks layout
+	private long player1ShipsLo;
+	private long player1ShipsHi;
+	private long player2ShipsLo;
+	private long player2ShipsHi;
+	
+	// Shot masks, in PlacementMasks layout
+	private long player1ShotsLo;
+	private long player1ShotsHi;
+	private long player2ShotsLo;
+	private long player2ShotsHi;
+	
+	// Placement ids, shared ship types and damage of each player's ships, in placement order
+	private int[] player1Placements;
+	private int[] player2Placements;
+	private ShipType[] player1Types;
+	private ShipType[] player2Types;
+	private int[] player1Damage;
+	private int[] player2Damage;
+	private int player1Placed;
+	private int player2Placed;
+	
+	// Change log for grid views, one entry per changed square: bits 0-6 cell,
+	// bits 7-8 grid code (see GridView), bits 16-31 new value. Every square
+	// changes at most once per grid, so the log never outgrows four grids.
+	// The log is only allocated once a view asks for a version, until then
+	// no view can be behind and nothing is logged.
+	private int[] changes;
+	private int changeCount;
+	private long changeBase;
+	
+	// Private class constant values
+	private static final int BOARD_WIDTH = 10;
+	private static final int BOARD_HEIGHT = 10;
+	private static final String LETTERS = "ABCDEFGHIJ";
+	private static final int MAX_CHANGES = 4 * BOARD_WIDTH * BOARD_HEIGHT;
+	
+	/**
+	 * Constructor for BattleshipModel with the standard fleet
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 */
+	public BattleshipModel(String player1, String player2) {
+		this(player1, player2, FleetSpec.STANDARD);
+	}
+	
+	/**
+	 * Constructor for BattleshipModel
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 * @param fleet The ship types that can be placed
+	 */
+	public BattleshipModel(String player1, String player2, FleetSpec fleet) {
+		// Create new board, and populate it with BoardSquares
+		board = new BoardSquare[BOARD_WIDTH][BOARD_HEIGHT];
+		populateBoard();
+		
+		// Set initial game state
+		player1Name = player1;
+		player2Name = player2;
+		this.fleet = fleet;
+		player1ShipCount = 0;
+		player2ShipCount = 0;
+		isGameOver = false;
+		player1Placements = new int[fleet.getShipCount()];
+		player2Placements = new int[fleet.getShipCount()];
+		player1Types = new ShipType[fleet.getShipCount()];
+		player2Types = new ShipType[fleet.getShipCount()];
+		player1Damage = new int[fleet.getShipCount()];
+		player2Damage = new int[fleet.getShipCount()];
+	}
+	
+	private void populateBoard() {
+		for (int row = 0; row < BOARD_HEIGHT; row++) {
+			for (int col = 0; col < BOARD_WIDTH; col++) {
+				board[row][col] = new BoardSquare();
+			}
+		}
+	}
+	
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param loc The bound-validated starting location to place the ship
+	 * @param o The orientation for the ship to be placed in, starting from loc
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, String loc, Orientation o) {
+		return placeShip(isPlayer1, ship, getRow(loc), getCol(loc), o);
+	}
+	
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int cell, Orientation o) {
+		return placeShip(isPlayer1, ship, cell / BOARD_WIDTH, cell % BOARD_WIDTH, o);
+	}
+	
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param startRow The zero-based starting row
+	 * @param startCol The zero-based starting col
+	 * @param o The orientation for the ship to be placed in, starting from (startRow, startCol)
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		if (!Metrics.ENABLED) {
+			return place(isPlayer1, ship, startRow, startCol, o);
+		}
+		long start = System.nanoTime();
+		boolean placed = place(isPlayer1, ship, startRow, startCol, o);
+		Metrics.PLACE_SHIP.recordSince(start);
+		return placed;
+	}
+	
+	/**
+	 * Private helper that places a ship, see placeShip
+	 */
+	private boolean place(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		ShipType shipToPlace = fleet.getType(ship);
+		if (shipToPlace == null || startRow < 0 || startRow > 9 || startCol < 0 || startCol > 9) {
+			return false;
+		}
+		
+		// validate the whole placement against the board edges and the player's ships first
+		int id = PlacementMasks.id(shipToPlace.getLength(), o, startRow * BOARD_WIDTH + startCol);
+		long occupiedLo = (isPlayer1) ? player1ShipsLo : player2ShipsLo;
+		long occupiedHi = (isPlayer1) ? player1ShipsHi : player2ShipsHi;
+		if (!PlacementMasks.isLegal(id) || PlacementMasks.overlaps(id, occupiedLo, occupiedHi)) {
+			return false;
+		}
+		
+		// then claim every BoardSquare at once
+		int index = (isPlayer1) ? player1Placed : player2Placed;
+		for (int cell : PlacementMasks.cells(id)) {
+			BoardSquare current = board[cell / BOARD_WIDTH][cell % BOARD_WIDTH];
+			if (isPlayer1) {
+				current.P1Ship = index;
+			} else {
+				current.P2Ship = index;
+			}
+			logChange(isPlayer1 ? 1 : 3, cell, ship);
+		}
+		if (isPlayer1) {
+			player1ShipsLo |= PlacementMasks.lo(id);
+			player1ShipsHi |= PlacementMasks.hi(id);
+			if (player1Placed == player1Placements.length) {
+				int capacity = player1Placed * 2;
+				player1Placements = Arrays.copyOf(player1Placements, capacity);
+				player1Types = Arrays.copyOf(player1Types, capacity);
+				player1Damage = Arrays.copyOf(player1Damage, capacity);
+			}
+			player1Placements[player1Placed] = id;
+			player1Types[player1Placed] = shipToPlace;
+			player1Damage[player1Placed++] = 0;
+		} else {
+			player2ShipsLo |= PlacementMasks.lo(id);
+			player2ShipsHi |= PlacementMasks.hi(id);
+			if (player2Placed == player2Placements.length) {
+				int capacity = player2Placed * 2;
+				player2Placements = Arrays.copyOf(player2Placements, capacity);
+				player2Types = Arrays.copyOf(player2Types, capacity);
+				player2Damage = Arrays.copyOf(player2Damage, capacity);
+			}
+			player2Placements[player2Placed] = id;
+			player2Types[player2Placed] = shipToPlace;
+			player2Damage[player2Placed++] = 0;
+		}
+		
+		incrementShipCount(isPlayer1);
+		return true;
+	}
+	
+	/**
+	 * Private helper for incrementing players' ship counts
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 */
+	private void incrementShipCount(boolean isPlayer1) {
+		if (isPlayer1) {
+			player1ShipCount++;
+		} else {
+			player2ShipCount++;
+		}
+	}
+	
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param loc The bound-validated location to shoot
+	 * @return "Hit", "Miss", "Hit and sunk <player_name>'s <ship_name>", or "Unsuccessful"
+	 */
+	public String makeShot(boolean isPlayer1, String loc) {
+		int result = makeShot(isPlayer1, getRow(loc), getCol(loc));
+		String targetPlayerName = (isPlayer1) ? player1Name : player2Name;
+		return ShotResult.describe(result, targetPlayerName);
+	}
+	
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cell The bound-validated cell index to shoot (row * 10 + col)
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int cell) {
+		return makeShot(isPlayer1, cell / BOARD_WIDTH, cell % BOARD_WIDTH);
+	}
+	
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param row The bound-validated zero-based row to shoot
+	 * @param col The bound-validated zero-based col to shoot
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int row, int col) {
+		if (!Metrics.ENABLED) {
+			return shoot(isPlayer1, row, col);
+		}
+		long start = System.nanoTime();
+		int result = shoot(isPlayer1, row, col);
+		Metrics.MAKE_SHOT.recordSince(start);
+		Metrics.countShot(result);
+		return result;
+	}
+	
+	/**
+	 * Private helper that makes a shot, see makeShot
+	 */
+	private int shoot(boolean isPlayer1, int row, int col) {
+		BoardSquare current = board[row][col];
+		
+		boolean isShot = (isPlayer1) ? current.P1Offensive : current.P2Offensive;
+		if (isShot) {
+			return ShotResult.REPEAT;
+		} else {
+			// loc has not been shot by player, set it as shot
+			int cell = row * BOARD_WIDTH + col;
+			if (isPlayer1) {
+				current.P1Offensive = true;
+				if (cell < 64) {
+					player1ShotsLo |= 1L << cell;
+				} else {
+					player1ShotsHi |= 1L << (cell - 64);
+				}
+			} else {
+				current.P2Offensive = true;
+				if (cell < 64) {
+					player2ShotsLo |= 1L << cell;
+				} else {
+					player2ShotsHi |= 1L << (cell - 64);
+				}
+			}
+			
+			int target = (isPlayer1) ? board[row][col].P2Ship : board[row][col].P1Ship;
+			logChange(isPlayer1 ? 0 : 2, cell, (target < 0) ? 'M' : 'H');
+			if (target < 0) {
+				return ShotResult.MISS;
+			} else {
+				return damage(isPlayer1, target);
+			}
+		}
+	}
+	
+	/**
+	 * Fires a salvo in one pass, keeping the shooter's shot layer in locals
+	 * until every shot is resolved
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cells The bound-validated cell indexes to shoot (row * 10 + col)
+	 * @param count The number of cells to shoot, from the start of cells
+	 * @param results Receives the ShotResult code of each shot, in order
+	 * @return Number of shots that hit, counting those that sank a ship
+	 */
+	public int makeSalvo(boolean isPlayer1, int[] cells, int count, int[] results) {
+		if (!Metrics.ENABLED) {
+			return salvo(isPlayer1, cells, count, results);
+		}
+		long start = System.nanoTime();
+		int hits = salvo(isPlayer1, cells, count, results);
+		Metrics.MAKE_SALVO.recordSince(start);
+		for (int i = 0; i < count; i++) {
+			Metrics.countShot(results[i]);
+		}
+		return hits;
+	}
+	
+	/**
+	 * Private helper that fires a salvo, see makeSalvo
+	 */
+	private int salvo(boolean isPlayer1, int[] cells, int count, int[] results) {
+		long shotsLo = (isPlayer1) ? player1ShotsLo : player2ShotsLo;
+		long shotsHi = (isPlayer1) ? player1ShotsHi : player2ShotsHi;
+		int layer = (isPlayer1) ? 0 : 2;
+		int hits = 0;
+		for (int i = 0; i < count; i++) {
+			int cell = cells[i];
+			if (isSet(shotsLo, shotsHi, cell)) {
+				results[i] = ShotResult.REPEAT;
+				continue;
+			}
+			if (cell < 64) {
+				shotsLo |= 1L << cell;
+			} else {
+				shotsHi |= 1L << (cell - 64);
+			}
+			
+			BoardSquare current = board[cell / BOARD_WIDTH][cell % BOARD_WIDTH];
+			int target;
+			if (isPlayer1) {
+				current.P1Offensive = true;
+				target = current.P2Ship;
+			} else {
+				current.P2Offensive = true;
+				target = current.P1Ship;
+			}
+			logChange(layer, cell, (target < 0) ? 'M' : 'H');
+			if (target < 0) {
+				results[i] = ShotResult.MISS;
+			} else {
+				results[i] = damage(isPlayer1, target);
+				hits++;
+			}
+		}
+		
+		if (isPlayer1) {
+			player1ShotsLo = shotsLo;
+			player1ShotsHi = shotsHi;
+		} else {
+			player2ShotsLo = shotsLo;
+			player2ShotsHi = shotsHi;
+		}
+		return hits;
+	}
+	
+	/**
+	 * Private helper that applies a hit to a ship, sinking it on its last square
+	 * @param isPlayer1 True if Player 1 fired the shot
+	 * @param target The placement index of the ship that was hit
+	 * @return ShotResult code: HIT, or SUNK with the ship and game over flag
+	 */
+	private int damage(boolean isPlayer1, int target) {
+		int[] damage = (isPlayer1) ? player2Damage : player1Damage;
+		ShipType type = (isPlayer1) ? player2Types[target] : player1Types[target];
+		if (++damage[target] == type.getLength()) {
+			// ship is destroyed, decrement ship count
+			if (isPlayer1) {
+				player2ShipCount--;
+			} else {
+				player1ShipCount--;
+			}
+			isGameOver = player1ShipCount <= 0 || player2ShipCount <= 0;
+			return ShotResult.sunk(type.getReference(), isGameOver);
+		}
+		return ShotResult.HIT;
+	}
+	
+	/**
+	 * Places a ship so that the placement can be taken back with unmake
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return Undo token, see UndoToken.isPlaced for whether the ship was placed
+	 */
+	public long placeShipUndoable(boolean isPlayer1, char ship, int cell, Orientation o) {
+		if (!place(isPlayer1, ship, cell / BOARD_WIDTH, cell % BOARD_WIDTH, o)) {
+			return UndoToken.none(0);
+		}
+		return UndoToken.placement(isPlayer1, cell);
+	}
+	
+	/**
+	 * Makes a shot that can be taken back with unmake
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cell The bound-validated cell index to shoot (row * 10 + col)
+	 * @return Undo token, see UndoToken.result for the ShotResult code
+	 */
+	public long makeShotUndoable(boolean isPlayer1, int cell) {
+		boolean wasGameOver = isGameOver;
+		int result = shoot(isPlayer1, cell / BOARD_WIDTH, cell % BOARD_WIDTH);
+		if (result == ShotResult.REPEAT) {
+			return UndoToken.none(result);
+		}
+		return UndoToken.shot(isPlayer1, cell, result, wasGameOver);
+	}
+	
+	/**
+	 * Takes back an undoable move. Moves must be unmade in the reverse of the
+	 * order they were made in. Restores ship damage, ship counts and the game
+	 * over flag exactly, in constant time and without allocating. Grid views
+	 * refill in full on their next refresh.
+	 * @param token Token returned by makeShotUndoable or placeShipUndoable
+	 */
+	public void unmake(long token) {
+		int kind = UndoToken.kind(token);
+		if (kind == UndoToken.SHOT) {
+			unshoot(UndoToken.isPlayer1(token), UndoToken.cell(token), UndoToken.result(token));
+			isGameOver = UndoToken.wasGameOver(token);
+		} else if (kind == UndoToken.PLACEMENT) {
+			unplace(UndoToken.isPlayer1(token));
+		} else {
+			return;
+		}
+		resetChangeLog();
+	}
+	
+	/**
+	 * Private helper that takes back a shot, see unmake
+	 */
+	private void unshoot(boolean isPlayer1, int cell, int result) {
+		BoardSquare current = board[cell / BOARD_WIDTH][cell % BOARD_WIDTH];
+		if (!((isPlayer1) ? current.P1Offensive : current.P2Offensive)) {
+			throw new IllegalStateException("Shot at " + cell + " was already unmade, unmake moves in reverse order");
+		}
+		long bitLo = (cell < 64) ? 1L << cell : 0;
+		long bitHi = (cell < 64) ? 0 : 1L << (cell - 64);
+		int target;
+		if (isPlayer1) {
+			current.P1Offensive = false;
+			player1ShotsLo &= ~bitLo;
+			player1ShotsHi &= ~bitHi;
+			target = current.P2Ship;
+		} else {
+			current.P2Offensive = false;
+			player2ShotsLo &= ~bitLo;
+			player2ShotsHi &= ~bitHi;
+			target = current.P1Ship;
+		}
+		
+		if (ShotResult.isHit(result)) {
+			int[] damage = (isPlayer1) ? player2Damage : player1Damage;
+			damage[target]--;
+			if (ShotResult.outcome(result) == ShotResult.SUNK) {
+				// the ship is afloat again
+				incrementShipCount(!isPlayer1);
+			}
+		}
+	}
+	
+	/**
+	 * Private helper that takes back a player's last placement, see unmake
+	 */
+	private void unplace(boolean isPlayer1) {
+		int index = ((isPlayer1) ? player1Placed : player2Placed) - 1;
+		if (index < 0) {
+			throw new IllegalStateException("No placement left to unmake, unmake moves in reverse order");
+		}
+		int id = (isPlayer1) ? player1Placements[index] : player2Placements[index];
+		for (int cell : PlacementMasks.cells(id)) {
+			BoardSquare current = board[cell / BOARD_WIDTH][cell % BOARD_WIDTH];
+			if (isPlayer1) {
+				current.P1Ship = -1;
+			} else {
+				current.P2Ship = -1;
+			}
+		}
+		if (isPlayer1) {
+			player1ShipsLo &= ~PlacementMasks.lo(id);
+			player1ShipsHi &= ~PlacementMasks.hi(id);
+			player1Types[index] = null;
+			player1Placed--;
+			player1ShipCount--;
+		} else {
+			player2ShipsLo &= ~PlacementMasks.lo(id);
+			player2ShipsHi &= ~PlacementMasks.hi(id);
+			player2Types[index] = null;
+			player2Placed--;
+			player2ShipCount--;
+		}
+	}
+	
+	/**
+	 * Private getter for the zero-based row index for the board
+	 * @param pos The board location to get the row of (i.e. A1)
+	 * @return Zero-based row index for the board
+	 */
+	private int getRow(String pos) {
+		return LETTERS.indexOf(pos.charAt(0));
+	}
+	
+	/**
+	 * Private getter for the zero-based col index for the board
+	 * @param pos The board location to get the col of (i.e. A1)
+	 * @return Zero-based col index for the board
+	 */
+	private int getCol(String pos) {
+		// parse the digits in place rather than allocating a substring
+		int col = 0;
+		for (int i = 1; i < pos.length(); i++) {
+			col = col * 10 + (pos.charAt(i) - '0');
+		}
+		return col - 1;
+	}
+	
+	/**
+	 * Returns Player 1's name
+	 * @return Player 1's name
+	 */
+	public String getPlayer1Name() {
+		return player1Name;
+	}
+	
+	/**
+	 * Returns Player 2's name
+	 * @return Player 2's name
+	 */
+	public String getPlayer2Name() {
+		return player2Name;
+	}
+	
+	/**
+	 * Return the array of offensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of offensive grid values for passed player
+	 */
+	public char[] getOffensiveGrid(boolean isPlayer1) {
+		char[] offenseGridVals = new char[BOARD_WIDTH * BOARD_HEIGHT];
+		fillOffensiveGrid(isPlayer1, offenseGridVals);
+		return offenseGridVals;
+	}
+	
+	/**
+	 * Return the array of defensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of defensive grid values for passed player
+	 */
+	public char[] getDefensiveGrid(boolean isPlayer1) {
+		char[] defenseGridVals = new char[BOARD_WIDTH * BOARD_HEIGHT];
+		fillDefensiveGrid(isPlayer1, defenseGridVals);
+		return defenseGridVals;
+	}
+	
+	/**
+	 * Fills a buffer with a player's offensive grid values
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param grid Buffer of at least 100 chars
+	 */
+	public void fillOffensiveGrid(boolean isPlayer1, char[] grid) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		
+		// read the shot and ship masks rather than every BoardSquare
+		long shotsLo = (isPlayer1) ? player1ShotsLo : player2ShotsLo;
+		long shotsHi = (isPlayer1) ? player1ShotsHi : player2ShotsHi;
+		long shipsLo = (isPlayer1) ? player2ShipsLo : player1ShipsLo;
+		long shipsHi = (isPlayer1) ? player2ShipsHi : player1ShipsHi;
+		for (int index = 0; index < BOARD_WIDTH * BOARD_HEIGHT; index++) {
+			//value begins as not shot
+			char gridVal = ' ';
+			
+			if (isSet(shotsLo, shotsHi, index)) {
+				gridVal = isSet(shipsLo, shipsHi, index) ? 'H' : 'M';
+			}
+			
+			grid[index] = gridVal;
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.GRID_FETCH.recordSince(start);
+		}
+	}
+	
+	/**
+	 * Fills a buffer with a player's defensive grid values
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param grid Buffer of at least 100 chars
+	 */
+	public void fillDefensiveGrid(boolean isPlayer1, char[] grid) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		Arrays.fill(grid, 0, BOARD_WIDTH * BOARD_HEIGHT, ' ');
+		
+		// stamp each placed ship's reference on its cells
+		int placed = getPlacementCount(isPlayer1);
+		for (int i = 0; i < placed; i++) {
+			int id = getPlacement(isPlayer1, i);
+			char reference = getShipType(isPlayer1, i).getReference();
+			for (int cell : PlacementMasks.cells(id)) {
+				grid[cell] = reference;
+			}
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.GRID_FETCH.recordSince(start);
+		}
+	}
+	
+	/**
+	 * Returns the current grid version
+	 * @return Number of squares changed on any grid so far
+	 */
+	public long getGridVersion() {
+		startChangeLog();
+		return changeBase + changeCount;
+	}
+	
+	/**
+	 * Brings a grid view up to date, writing only the cells that changed since its version
+	 * @param view The view to update, which must only ever be refreshed from this model
+	 */
+	public void refresh(GridView view) {
+		startChangeLog();
+		long version = changeBase + changeCount;
+		long since = view.getVersion();
+		view.startRefresh();
+		if (since < changeBase || since > version) {
+			// never refreshed, or older than a snapshot restore: fill it in full
+			if (view.isOffensive()) {
+				fillOffensiveGrid(view.isPlayer1(), view.getGrid());
+			} else {
+				fillDefensiveGrid(view.isPlayer1(), view.getGrid());
+			}
+			view.filled(version);
+			return;
+		}
+		
+		int code = view.code();
+		for (int i = (int) (since - changeBase); i < changeCount; i++) {
+			int entry = changes[i];
+			if ((entry >>> 7 & 0x3) == code) {
+				view.change(entry & 0x7F, (char) (entry >>> 16));
+			}
+		}
+		view.finishRefresh(version);
+	}
+	
+	/**
+	 * Private helper to append one square change to the change log
+	 * @param code Grid code of the changed grid
+	 * @param cell The changed cell
+	 * @param value The new grid value
+	 */
+	private void logChange(int code, int cell, char value) {
+		if (changes != null) {
+			changes[changeCount++] = cell | code << 7 | value << 16;
+		}
+	}
+	
+	/**
+	 * Private helper that allocates the change log the first time a view needs it
+	 */
+	private void startChangeLog() {
+		if (changes == null) {
+			changes = new int[MAX_CHANGES];
+		}
+	}
+	
+	/**
+	 * Private helper to test a bit of a 128-bit mask
+	 * @param lo Bits 0-63 of the mask
+	 * @param hi Bits 64-127 of the mask
+	 * @param index The bit index to test
+	 * @return True if the bit is set, false otherwise
+	 */
+	private static boolean isSet(long lo, long hi, int index) {
+		if (index < 64) {
+			return (lo & (1L << index)) != 0;
+		}
+		return (hi & (1L << (index - 64))) != 0;
+	}
+
+	/**
+	 * Returns whether or not the game is over
+	 * @return True if game is over, false if not
+	 */
+	public boolean isGameOver() {
+		return isGameOver;
+	}
+	
+	/**
+	 * Returns the number of ships a player has placed, sunk or not
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Number of placed ships
+	 */
+	int getPlacementCount(boolean isPlayer1) {
+		return (isPlayer1) ? player1Placed : player2Placed;
+	}
+	
+	/**
+	 * Returns the placement id of one of a player's ships
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param index The ship's position in placement order
+	 * @return PlacementMasks id
+	 */
+	int getPlacement(boolean isPlayer1, int index) {
+		return (isPlayer1) ? player1Placements[index] : player2Placements[index];
+	}
+	
+	/**
+	 * Returns the placement index of the ship a player has placed on a cell
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param cell The cell index (row * 10 + col)
+	 * @return The ship's position in placement order, or -1 if the cell is empty
+	 */
+	int getShipAt(boolean isPlayer1, int cell) {
+		BoardSquare current = board[cell / BOARD_WIDTH][cell % BOARD_WIDTH];
+		return (isPlayer1) ? current.P1Ship : current.P2Ship;
+	}
+	
+	/**
+	 * Returns the type of one of a player's ships
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param index The ship's position in placement order
+	 * @return Shared ship type
+	 */
+	ShipType getShipType(boolean isPlayer1, int index) {
+		return (isPlayer1) ? player1Types[index] : player2Types[index];
+	}
+	
+	/**
+	 * Returns how many squares of one of a player's ships have been hit
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param index The ship's position in placement order
+	 * @return Damage, equal to the ship's length once it is sunk
+	 */
+	int getDamage(boolean isPlayer1, int index) {
+		return (isPlayer1) ? player1Damage[index] : player2Damage[index];
+	}
+	
+	/**
+	 * Sets the damage of one of a player's ships, for restoring a snapshot
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param index The ship's position in placement order
+	 * @param damage Squares hit
+	 */
+	final void setDamage(boolean isPlayer1, int index, int damage) {
+		if (isPlayer1) {
+			player1Damage[index] = damage;
+		} else {
+			player2Damage[index] = damage;
+		}
+	}
+	
+	/**
+	 * Returns the fleet this game is played with
+	 * @return Fleet specification
+	 */
+	public FleetSpec getFleet() {
+		return fleet;
+	}
+	
+	/**
+	 * Returns bits 0-63 of the squares a player has shot at
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Low shot mask bits
+	 */
+	long getShotsLo(boolean isPlayer1) {
+		return (isPlayer1) ? player1ShotsLo : player2ShotsLo;
+	}
+	
+	/**
+	 * Returns bits 64-127 of the squares a player has shot at
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return High shot mask bits
+	 */
+	long getShotsHi(boolean isPlayer1) {
+		return (isPlayer1) ? player1ShotsHi : player2ShotsHi;
+	}
+	
+	/**
+	 * Returns the number of ships a player has afloat
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Ship count
+	 */
+	public int getShipCount(boolean isPlayer1) {
+		return (isPlayer1) ? player1ShipCount : player2ShipCount;
+	}
+	
+	/**
+	 * Places a ship by its placement id and sets its damage, for restoring a snapshot.
+	 * Goes around placeShip, so subclasses see nothing of a restore.
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param id The PlacementMasks id, of a length the fleet has one ship type for
+	 * @param damage Squares hit
+	 */
+	final void restorePlacement(boolean isPlayer1, int id, int damage) {
+		ShipType type = fleet.getTypeByLength(PlacementMasks.length(id));
+		int cell = PlacementMasks.cell(id);
+		if (type == null
+				|| !place(isPlayer1, type.getReference(), cell / BOARD_WIDTH, cell % BOARD_WIDTH, PlacementMasks.orientation(id))) {
+			throw new IllegalStateException("Placement " + id + " doesn't fit, check a snapshot before restoring it");
+		}
+		setDamage(isPlayer1, ((isPlayer1) ? player1Placed : player2Placed) - 1, damage);
+	}
+	
+	/**
+	 * Marks squares as shot without applying any damage, for restoring a snapshot
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param shotsLo Bits 0-63 of the shot mask
+	 * @param shotsHi Bits 64-127 of the shot mask
+	 */
+	final void restoreShots(boolean isPlayer1, long shotsLo, long shotsHi) {
+		for (long bits = shotsLo; bits != 0; bits &= bits - 1) {
+			markShot(isPlayer1, Long.numberOfTrailingZeros(bits));
+		}
+		for (long bits = shotsHi; bits != 0; bits &= bits - 1) {
+			markShot(isPlayer1, 64 + Long.numberOfTrailingZeros(bits));
+		}
+		if (isPlayer1) {
+			player1ShotsLo = shotsLo;
+			player1ShotsHi = shotsHi;
+		} else {
+			player2ShotsLo = shotsLo;
+			player2ShotsHi = shotsHi;
+		}
+	}
+	
+	/**
+	 * Private helper to set one square's shot flag
+	 */
+	private void markShot(boolean isPlayer1, int cell) {
+		BoardSquare current = board[cell / BOARD_WIDTH][cell % BOARD_WIDTH];
+		if (isPlayer1) {
+			current.P1Offensive = true;
+		} else {
+			current.P2Offensive = true;
+		}
+		int target = (isPlayer1) ? current.P2Ship : current.P1Ship;
+		logChange(isPlayer1 ? 0 : 2, cell, (target < 0) ? 'M' : 'H');
+	}
+	
+	/**
+	 * Clears every ship and shot, keeping the player names, for restoring a snapshot
+	 */
+	final void clear() {
+		for (int row = 0; row < BOARD_HEIGHT; row++) {
+			for (int col = 0; col < BOARD_WIDTH; col++) {
+				BoardSquare current = board[row][col];
+				current.P1Offensive = false;
+				current.P2Offensive = false;
+				current.P1Ship = -1;
+				current.P2Ship = -1;
+			}
+		}
+		player1ShipsLo = 0;
+		player1ShipsHi = 0;
+		player2ShipsLo = 0;
+		player2ShipsHi = 0;
+		player1ShotsLo = 0;
+		player1ShotsHi = 0;
+		player2ShotsLo = 0;
+		player2ShotsHi = 0;
+		player1Placed = 0;
+		player2Placed = 0;
+		resetChangeLog();
+		restoreCounts(0, 0, false);
+	}
+	
+	/**
+	 * Private helper that empties the change log, skipping a version so every older view refills
+	 */
+	private void resetChangeLog() {
+		changeBase += changeCount + 1;
+		changeCount = 0;
+	}
+	
+	/**
+	 * Sets the ship counts and game over flag, for restoring a snapshot
+	 * @param player1Ships Player 1's ships afloat
+	 * @param player2Ships Player 2's ships afloat
+	 * @param gameOver Whether the game is over
+	 */
+	final void restoreCounts(int player1Ships, int player2Ships, boolean gameOver) {
+		player1ShipCount = player1Ships;
+		player2ShipCount = player2Ships;
+		isGameOver = gameOver;
+	}
+}
@@ -0,0 +1,138 @@
+package battleship;
+
+/**
+ * The programatic interface for the Battleship Model class.
+ * This interface supports communication with both the view
+ * and controller classes in the Battleship application.
+ * 
+ * @author Sam Cooledge
+ * @author Molly Allen
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public interface BattleshipModelInterface {
+  
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param loc The bound-validated starting location to place the ship
+	 * @param o The orientation for the ship to be placed in, starting from loc
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, String loc, Orientation o);
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int cell, Orientation o);
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param startRow The zero-based starting row
+	 * @param startCol The zero-based starting col
+	 * @param o The orientation for the ship to be placed in, starting from (startRow, startCol)
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o);
+ 
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param loc The bound-validated location to shoot
+	 * @return "Hit", "Miss", "Hit and sunk <ship_name>", or "Unsuccessful"
+	 */
+	public String makeShot(boolean isPlayer1, String loc);
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cell The bound-validated cell index to shoot (row * 10 + col)
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int cell);
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param row The bound-validated zero-based row to shoot
+	 * @param col The bound-validated zero-based col to shoot
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int row, int col);
+
+	/**
+	 * Fires a salvo, resolving several shots in one call. A square named twice
+	 * in the same salvo is a REPEAT the second time.
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cells The bound-validated cell indexes to shoot (row * 10 + col)
+	 * @param count The number of cells to shoot, from the start of cells
+	 * @param results Receives the ShotResult code of each shot, in order
+	 * @return Number of shots that hit, counting those that sank a ship
+	 */
+	public default int makeSalvo(boolean isPlayer1, int[] cells, int count, int[] results) {
+		int hits = 0;
+		for (int i = 0; i < count; i++) {
+			results[i] = makeShot(isPlayer1, cells[i]);
+			hits += ShotResult.isHit(results[i]) ? 1 : 0;
+		}
+		return hits;
+	}
+
+	/**
+	 * Returns the number of shots a player fires per turn under the salvo rule,
+	 * one for each of their ships still afloat
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Salvo size
+	 */
+	public default int getSalvoSize(boolean isPlayer1) {
+		return getShipCount(isPlayer1);
+	}
+
+	/**
+	 * Returns the number of ships a player has afloat
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Ship count
+	 */
+	public int getShipCount(boolean isPlayer1);
+
+	/**
+	 * Returns Player 1's name
+	 * @return Player 1's name
+	 */
+	public String getPlayer1Name();
+	
+	/**
+	 * Returns Player 2's name
+	 * @return Player 2's name
+	 */
+	public String getPlayer2Name();
+	
+	/**
+	 * Return the array of offensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of offensive grid values for passed player
+	 */
+	public char[] getOffensiveGrid(boolean isPlayer1);
+ 
+	/**
+	 * Return the array of defensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of defensive grid values for passed player
+	 */
+	public char[] getDefensiveGrid(boolean isPlayer1);
+
+	/**
+	 * Returns whether or not the game is over
+	 * @return True if game is over, false if not
+	 */
+	public boolean isGameOver();
+}
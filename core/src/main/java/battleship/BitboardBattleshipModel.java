@@ -0,0 +1,441 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * BitboardBattleshipModel class for handling battleship game state
+ * using 128-bit bitboards instead of a grid of BoardSquare objects.
+ *
+ * Each board location is a bit index (row * BOARD_WIDTH + col), with
+ * bits 0-63 kept in a "lo" long and bits 64-99 kept in a "hi" long.
+ * Every player has a ship occupancy layer, a shot layer, and one layer
+ * per placed ship, so overlap checks, hit tests and sunk detection are
+ * all mask operations. Behaves exactly like BattleshipModel.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class BitboardBattleshipModel implements BattleshipModelInterface {
+	// Model state, indexed by player (0 for Player 1, 1 for Player 2)
+	private String player1Name;
+	private String player2Name;
+	private FleetSpec fleet;
+	private long[] shipsLo;
+	private long[] shipsHi;
+	private long[] shotsLo;
+	private long[] shotsHi;
+	private int[] shipCount;
+	private boolean isGameOver;
+
+	// Per-ship layers, indexed by slot * 2 + player
+	private long[] shipLo;
+	private long[] shipHi;
+	private int[] shipLength;
+	private char[] shipReference;
+	private int[] slotCount;
+
+	// Private class constant values
+	private static final int BOARD_WIDTH = 10;
+	private static final int BOARD_HEIGHT = 10;
+	private static final String LETTERS = "ABCDEFGHIJ";
+	private static final int INITIAL_SHIPS = 6;
+
+	/**
+	 * Constructor for BitboardBattleshipModel with the standard fleet
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 */
+	public BitboardBattleshipModel(String player1, String player2) {
+		this(player1, player2, FleetSpec.STANDARD);
+	}
+
+	/**
+	 * Constructor for BitboardBattleshipModel
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 * @param fleet The ship types that can be placed
+	 */
+	public BitboardBattleshipModel(String player1, String player2, FleetSpec fleet) {
+		this.fleet = fleet;
+		shipsLo = new long[2];
+		shipsHi = new long[2];
+		shotsLo = new long[2];
+		shotsHi = new long[2];
+		shipCount = new int[2];
+
+		shipLo = new long[2 * INITIAL_SHIPS];
+		shipHi = new long[2 * INITIAL_SHIPS];
+		shipLength = new int[2 * INITIAL_SHIPS];
+		shipReference = new char[2 * INITIAL_SHIPS];
+		slotCount = new int[2];
+
+		// Set initial game state
+		player1Name = player1;
+		player2Name = player2;
+		isGameOver = false;
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param loc The bound-validated starting location to place the ship
+	 * @param o The orientation for the ship to be placed in, starting from loc
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, String loc, Orientation o) {
+		return placeShip(isPlayer1, ship, getRow(loc), getCol(loc), o);
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int cell, Orientation o) {
+		return placeShip(isPlayer1, ship, cell / BOARD_WIDTH, cell % BOARD_WIDTH, o);
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param startRow The zero-based starting row
+	 * @param startCol The zero-based starting col
+	 * @param o The orientation for the ship to be placed in, starting from (startRow, startCol)
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		if (!Metrics.ENABLED) {
+			return place(isPlayer1, ship, startRow, startCol, o);
+		}
+		long start = System.nanoTime();
+		boolean placed = place(isPlayer1, ship, startRow, startCol, o);
+		Metrics.PLACE_SHIP.recordSince(start);
+		return placed;
+	}
+
+	/**
+	 * Private helper that places a ship, see placeShip
+	 */
+	private boolean place(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		int player = isPlayer1 ? 0 : 1;
+		if (startRow < 0 || startRow > 9 || startCol < 0 || startCol > 9) {
+			return false;
+		}
+
+		// one lookup and one AND validate the whole placement
+		int id = PlacementMasks.id(fleet.getLength(ship), o, startRow * BOARD_WIDTH + startCol);
+		if (!PlacementMasks.isLegal(id) || PlacementMasks.overlaps(id, shipsLo[player], shipsHi[player])) {
+			return false;
+		}
+
+		int slot = slotCount[player]++ * 2 + player;
+		if (slot >= shipLo.length) {
+			growSlots();
+		}
+		shipLo[slot] = PlacementMasks.lo(id);
+		shipHi[slot] = PlacementMasks.hi(id);
+		shipLength[slot] = PlacementMasks.length(id);
+		shipReference[slot] = ship;
+		shipsLo[player] |= shipLo[slot];
+		shipsHi[player] |= shipHi[slot];
+		shipCount[player]++;
+		return true;
+	}
+
+	/**
+	 * Private helper to double the capacity of the per-ship layers
+	 */
+	private void growSlots() {
+		int capacity = shipLo.length * 2;
+		shipLo = Arrays.copyOf(shipLo, capacity);
+		shipHi = Arrays.copyOf(shipHi, capacity);
+		shipLength = Arrays.copyOf(shipLength, capacity);
+		shipReference = Arrays.copyOf(shipReference, capacity);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param loc The bound-validated location to shoot
+	 * @return "Hit", "Miss", "Hit and sunk <player_name>'s <ship_name>", or "Unsuccessful"
+	 */
+	public String makeShot(boolean isPlayer1, String loc) {
+		int result = makeShot(isPlayer1, getRow(loc), getCol(loc));
+		String targetPlayerName = (isPlayer1) ? player1Name : player2Name;
+		return ShotResult.describe(result, targetPlayerName);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param row The bound-validated zero-based row to shoot
+	 * @param col The bound-validated zero-based col to shoot
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int row, int col) {
+		return makeShot(isPlayer1, row * BOARD_WIDTH + col);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param index The bound-validated cell index to shoot (row * 10 + col)
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int index) {
+		if (!Metrics.ENABLED) {
+			return shoot(isPlayer1, index);
+		}
+		long start = System.nanoTime();
+		int result = shoot(isPlayer1, index);
+		Metrics.MAKE_SHOT.recordSince(start);
+		Metrics.countShot(result);
+		return result;
+	}
+
+	/**
+	 * Private helper that makes a shot, see makeShot
+	 */
+	private int shoot(boolean isPlayer1, int index) {
+		int player = isPlayer1 ? 0 : 1;
+		int target = 1 - player;
+
+		if (isSet(shotsLo[player], shotsHi[player], index)) {
+			return ShotResult.REPEAT;
+		}
+
+		// loc has not been shot by player, set it as shot
+		if (index < 64) {
+			shotsLo[player] |= 1L << index;
+		} else {
+			shotsHi[player] |= 1L << (index - 64);
+		}
+
+		if (!isSet(shipsLo[target], shipsHi[target], index)) {
+			return ShotResult.MISS;
+		}
+
+		int slot = findSlot(target, index);
+		int damage = Long.bitCount(shipLo[slot] & shotsLo[player])
+				+ Long.bitCount(shipHi[slot] & shotsHi[player]);
+		if (damage == shipLength[slot]) {
+			// ship is destroyed, decrement ship count
+			shipCount[target]--;
+			isGameOver = shipCount[0] <= 0 || shipCount[1] <= 0;
+			return ShotResult.sunk(shipReference[slot], isGameOver);
+		}
+		return ShotResult.HIT;
+	}
+
+	/**
+	 * Fires a salvo in one pass, keeping both shot and ship layers in locals
+	 * until every shot is resolved
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cells The bound-validated cell indexes to shoot (row * 10 + col)
+	 * @param count The number of cells to shoot, from the start of cells
+	 * @param results Receives the ShotResult code of each shot, in order
+	 * @return Number of shots that hit, counting those that sank a ship
+	 */
+	public int makeSalvo(boolean isPlayer1, int[] cells, int count, int[] results) {
+		if (!Metrics.ENABLED) {
+			return salvo(isPlayer1, cells, count, results);
+		}
+		long start = System.nanoTime();
+		int hits = salvo(isPlayer1, cells, count, results);
+		Metrics.MAKE_SALVO.recordSince(start);
+		for (int i = 0; i < count; i++) {
+			Metrics.countShot(results[i]);
+		}
+		return hits;
+	}
+
+	/**
+	 * Private helper that fires a salvo, see makeSalvo
+	 */
+	private int salvo(boolean isPlayer1, int[] cells, int count, int[] results) {
+		int player = isPlayer1 ? 0 : 1;
+		int target = 1 - player;
+		long lo = shotsLo[player];
+		long hi = shotsHi[player];
+		long targetLo = shipsLo[target];
+		long targetHi = shipsHi[target];
+		int hits = 0;
+
+		for (int i = 0; i < count; i++) {
+			int index = cells[i];
+			if (isSet(lo, hi, index)) {
+				results[i] = ShotResult.REPEAT;
+				continue;
+			}
+			if (index < 64) {
+				lo |= 1L << index;
+			} else {
+				hi |= 1L << (index - 64);
+			}
+			if (!isSet(targetLo, targetHi, index)) {
+				results[i] = ShotResult.MISS;
+				continue;
+			}
+
+			hits++;
+			int slot = findSlot(target, index);
+			int damage = Long.bitCount(shipLo[slot] & lo) + Long.bitCount(shipHi[slot] & hi);
+			if (damage == shipLength[slot]) {
+				// ship is destroyed, decrement ship count
+				shipCount[target]--;
+				isGameOver = shipCount[0] <= 0 || shipCount[1] <= 0;
+				results[i] = ShotResult.sunk(shipReference[slot], isGameOver);
+			} else {
+				results[i] = ShotResult.HIT;
+			}
+		}
+
+		shotsLo[player] = lo;
+		shotsHi[player] = hi;
+		return hits;
+	}
+
+	/**
+	 * Returns the number of ships a player has afloat
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Ship count
+	 */
+	public int getShipCount(boolean isPlayer1) {
+		return shipCount[isPlayer1 ? 0 : 1];
+	}
+
+	/**
+	 * Private helper to find the ship slot covering a board location
+	 * @param player The player owning the ship (0 or 1)
+	 * @param index The bit index of the board location
+	 * @return Index into the per-ship layers, or -1 if no ship covers index
+	 */
+	private int findSlot(int player, int index) {
+		for (int slot = player; slot < slotCount[player] * 2; slot += 2) {
+			if (isSet(shipLo[slot], shipHi[slot], index)) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Private helper to test a bit of a 128-bit bitboard
+	 * @param lo Bits 0-63 of the bitboard
+	 * @param hi Bits 64-127 of the bitboard
+	 * @param index The bit index to test
+	 * @return True if the bit is set, false otherwise
+	 */
+	private static boolean isSet(long lo, long hi, int index) {
+		if (index < 64) {
+			return (lo & (1L << index)) != 0;
+		}
+		return (hi & (1L << (index - 64))) != 0;
+	}
+
+	/**
+	 * Private getter for the zero-based row index for the board
+	 * @param pos The board location to get the row of (i.e. A1)
+	 * @return Zero-based row index for the board
+	 */
+	private int getRow(String pos) {
+		return LETTERS.indexOf(pos.charAt(0));
+	}
+
+	/**
+	 * Private getter for the zero-based col index for the board
+	 * @param pos The board location to get the col of (i.e. A1)
+	 * @return Zero-based col index for the board
+	 */
+	private int getCol(String pos) {
+		// parse the digits in place rather than allocating a substring
+		int col = 0;
+		for (int i = 1; i < pos.length(); i++) {
+			col = col * 10 + (pos.charAt(i) - '0');
+		}
+		return col - 1;
+	}
+
+	/**
+	 * Returns Player 1's name
+	 * @return Player 1's name
+	 */
+	public String getPlayer1Name() {
+		return player1Name;
+	}
+
+	/**
+	 * Returns Player 2's name
+	 * @return Player 2's name
+	 */
+	public String getPlayer2Name() {
+		return player2Name;
+	}
+
+	/**
+	 * Return the array of offensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of offensive grid values for passed player
+	 */
+	public char[] getOffensiveGrid(boolean isPlayer1) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		char[] offenseGridVals = new char[BOARD_WIDTH * BOARD_HEIGHT];
+		int player = isPlayer1 ? 0 : 1;
+		int target = 1 - player;
+
+		for (int index = 0; index < offenseGridVals.length; index++) {
+			//value begins as not shot
+			char gridVal = ' ';
+
+			if (isSet(shotsLo[player], shotsHi[player], index)) {
+				gridVal = isSet(shipsLo[target], shipsHi[target], index) ? 'H' : 'M';
+			}
+
+			offenseGridVals[index] = gridVal;
+		}
+		if (Metrics.ENABLED) {
+			Metrics.GRID_FETCH.recordSince(start);
+		}
+		return offenseGridVals;
+	}
+
+	/**
+	 * Return the array of defensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of defensive grid values for passed player
+	 */
+	public char[] getDefensiveGrid(boolean isPlayer1) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		char[] defenseGridVals = new char[BOARD_WIDTH * BOARD_HEIGHT];
+		Arrays.fill(defenseGridVals, ' ');
+		int player = isPlayer1 ? 0 : 1;
+
+		// walk each ship's layer and stamp its reference on its locations
+		for (int slot = player; slot < slotCount[player] * 2; slot += 2) {
+			for (long bits = shipLo[slot]; bits != 0; bits &= bits - 1) {
+				defenseGridVals[Long.numberOfTrailingZeros(bits)] = shipReference[slot];
+			}
+			for (long bits = shipHi[slot]; bits != 0; bits &= bits - 1) {
+				defenseGridVals[64 + Long.numberOfTrailingZeros(bits)] = shipReference[slot];
+			}
+		}
+		if (Metrics.ENABLED) {
+			Metrics.GRID_FETCH.recordSince(start);
+		}
+		return defenseGridVals;
+	}
+
+	/**
+	 * Returns whether or not the game is over
+	 * @return True if game is over, false if not
+	 */
+	public boolean isGameOver() {
+		return isGameOver;
+	}
+}
@@ -0,0 +1,245 @@
+package battleship;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * BoardRenderer class for drawing boards with as few writes as possible.
+ *
+ * A board is drawn by copying its squares into a prebuilt template and
+ * writing the whole template in one call, instead of one print per square.
+ * In ANSI mode, renderChanges clears the screen and pins a titled board to
+ * its top rows, with everything printed afterwards scrolling below it.
+ * Showing a board again, the same one or another player's, only rewrites
+ * the title and the squares that differ from what is on screen, at their
+ * absolute positions, so a shot costs a few dozen bytes instead of a whole
+ * board. clearScreen sends one escape sequence instead of a thousand
+ * lines.
+ *
+ * Squares are drawn as single bytes, which covers every value the models
+ * put in a grid.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class BoardRenderer {
+	// Board layout
+	private static final String NEWLINE = System.lineSeparator();
+	private static final String HEADER = "     1   2   3   4   5   6   7   8   9  10";
+	private static final String BORDER = "   +---+---+---+---+---+---+---+---+---+---+";
+	private static final String DIVIDER = "   |---+---+---+---+---+---+---+---+---+---|";
+	private static final int PINNED_LINES = 25; // title, board and its two blank lines, pinned above the scrolling lines
+
+	// Prebuilt output
+	private static final byte[] TEMPLATE;
+	private static final int[] CELL_OFFSETS = new int[100];
+	private static final byte[][] MOVE_TO_CELL = new byte[100][];
+	private static final byte[] SAVE_CURSOR = bytes("\0337");
+	private static final byte[] MOVE_TO_TITLE = bytes("\033[1;1H");
+	private static final byte[] ERASE_LINE = bytes("\033[K");
+	private static final byte[] RESTORE_CURSOR = bytes("\0338");
+	private static final byte[] CLEAR_SCREEN = bytes("\033[r\033[H\033[2J\033[3J");
+	private static final byte[] PIN = bytes("\033[" + (PINNED_LINES + 1) + "r\033[" + (PINNED_LINES + 1) + ";1H");
+	private static final byte[] UNPIN = bytes("\0337\033[r\0338");
+	private static final byte[] BLANK_SCREEN = bytes(("\b" + NEWLINE).repeat(1000));
+	private static final int MAX_CHANGES_SIZE;
+
+	static {
+		StringBuilder board = new StringBuilder();
+		board.append(HEADER).append(NEWLINE).append(BORDER).append(NEWLINE);
+		int changesSize = RESTORE_CURSOR.length;
+		for (int row = 0; row < 10; row++) {
+			board.append(' ').append((char) ('A' + row)).append(" |");
+			for (int col = 0; col < 10; col++) {
+				int cell = row * 10 + col;
+				board.append(' ');
+				CELL_OFFSETS[cell] = board.length();
+				board.append("  |");
+				// the title is line 1, so row A of a pinned board is line 4
+				MOVE_TO_CELL[cell] = bytes("\033[" + (4 + 2 * row) + ";" + (6 + 4 * col) + "H");
+				changesSize += MOVE_TO_CELL[cell].length + 1;
+			}
+			board.append(NEWLINE).append(DIVIDER).append(NEWLINE);
+		}
+		board.append(NEWLINE).append(NEWLINE);
+		TEMPLATE = bytes(board.toString());
+		MAX_CHANGES_SIZE = changesSize;
+	}
+
+	// Renderer state
+	private final PrintStream out;
+	private final boolean ansi;
+	private final byte[] board = TEMPLATE.clone();
+	private final byte[] changes;
+	private final char[] drawn = new char[100];
+	private String pinnedTitle; // title of the board pinned to the top of the screen, null if none
+	private long bytesWritten;
+
+	/**
+	 * Constructor for BoardRenderer
+	 * @param out Stream to draw to
+	 * @param ansi True if the terminal understands ANSI escape sequences
+	 */
+	public BoardRenderer(PrintStream out, boolean ansi) {
+		this.out = out;
+		this.ansi = ansi;
+		this.changes = (ansi) ? new byte[MAX_CHANGES_SIZE] : null;
+	}
+
+	/**
+	 * Guesses whether standard output is a terminal that understands ANSI escape sequences
+	 * @return True if there is a console and TERM names a terminal other than "dumb"
+	 */
+	public static boolean isAnsiTerminal() {
+		String term = System.getenv("TERM");
+		return System.console() != null && term != null && !term.isEmpty() && !term.equals("dumb");
+	}
+
+	/**
+	 * Draws a whole board in one write, the same text PlayGame.printBoard has always printed
+	 * @param grid Grid values from getOffensiveGrid or getDefensiveGrid
+	 */
+	public void render(char[] grid) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		for (int cell = 0; cell < 100; cell++) {
+			board[CELL_OFFSETS[cell]] = square(grid[cell]);
+		}
+		write(board, board.length);
+		if (Metrics.ENABLED) {
+			Metrics.RENDER.recordSince(start);
+		}
+	}
+
+	/**
+	 * Shows a board under its title. Without ANSI this prints the title line and the
+	 * whole board. In ANSI mode the first board shown clears the screen and is pinned to
+	 * the top rows; after that only the title, if it differs, and the squares that differ
+	 * from the pinned board are rewritten, and the cursor is put back where it was.
+	 * @param title Title line naming the board, such as "Ann's offensive board."
+	 * @param grid Grid values from getOffensiveGrid or getDefensiveGrid
+	 */
+	public void renderChanges(String title, char[] grid) {
+		if (!ansi) {
+			out.println(title);
+			render(grid);
+			return;
+		}
+		if (pinnedTitle == null) {
+			pin(title, grid);
+			return;
+		}
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		out.write(SAVE_CURSOR, 0, SAVE_CURSOR.length);
+		bytesWritten += SAVE_CURSOR.length;
+		if (!title.equals(pinnedTitle)) {
+			out.write(MOVE_TO_TITLE, 0, MOVE_TO_TITLE.length);
+			out.print(title);
+			out.write(ERASE_LINE, 0, ERASE_LINE.length);
+			bytesWritten += MOVE_TO_TITLE.length + title.length() + ERASE_LINE.length;
+			pinnedTitle = title;
+		}
+		int length = 0;
+		for (int cell = 0; cell < 100; cell++) {
+			if (grid[cell] != drawn[cell]) {
+				byte[] move = MOVE_TO_CELL[cell];
+				System.arraycopy(move, 0, changes, length, move.length);
+				length += move.length;
+				changes[length++] = square(grid[cell]);
+				drawn[cell] = grid[cell];
+			}
+		}
+		System.arraycopy(RESTORE_CURSOR, 0, changes, length, RESTORE_CURSOR.length);
+		length += RESTORE_CURSOR.length;
+		write(changes, length);
+		if (Metrics.ENABLED) {
+			Metrics.RENDER.recordSince(start);
+		}
+	}
+
+	/**
+	 * Private helper that clears the screen, draws a titled board at the top and
+	 * leaves the lines below it to scroll, flushing once
+	 */
+	private void pin(String title, char[] grid) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		for (int cell = 0; cell < 100; cell++) {
+			board[CELL_OFFSETS[cell]] = square(grid[cell]);
+		}
+		out.write(CLEAR_SCREEN, 0, CLEAR_SCREEN.length);
+		out.print(title);
+		out.print(NEWLINE);
+		out.write(board, 0, board.length);
+		write(PIN, PIN.length);
+		bytesWritten += CLEAR_SCREEN.length + title.length() + NEWLINE.length() + board.length;
+		System.arraycopy(grid, 0, drawn, 0, 100);
+		pinnedTitle = title;
+		if (Metrics.ENABLED) {
+			Metrics.RENDER.recordSince(start);
+		}
+	}
+
+	/**
+	 * Lets the whole screen scroll again, leaving the pinned board where it is and the
+	 * cursor where it was. The next renderChanges pins its board afresh.
+	 */
+	public void unpin() {
+		if (pinnedTitle != null) {
+			write(UNPIN, UNPIN.length);
+			pinnedTitle = null;
+		}
+	}
+
+	/**
+	 * Clears the screen in one write: an escape sequence in ANSI mode,
+	 * otherwise enough blank lines to scroll every board out of view
+	 */
+	public void clearScreen() {
+		if (ansi) {
+			write(CLEAR_SCREEN, CLEAR_SCREEN.length);
+		}
+		else {
+			write(BLANK_SCREEN, BLANK_SCREEN.length);
+		}
+		pinnedTitle = null;
+	}
+
+	/**
+	 * Returns whether this renderer uses ANSI escape sequences
+	 * @return True in ANSI mode
+	 */
+	public boolean isAnsi() {
+		return ansi;
+	}
+
+	/**
+	 * Returns the number of bytes this renderer has written
+	 * @return Byte count
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * Private helper that writes and flushes a buffer in one call
+	 */
+	private void write(byte[] buffer, int length) {
+		out.write(buffer, 0, length);
+		out.flush();
+		bytesWritten += length;
+	}
+
+	/**
+	 * Private helper returning the byte drawn for a square
+	 */
+	private static byte square(char value) {
+		return (byte) ((value < 0x80) ? value : '?');
+	}
+
+	/**
+	 * Private helper encoding prebuilt text
+	 */
+	private static byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+}
@@ -1,3 +1,5 @@
+package battleship;
+
 /**
  * BoardSquare object represents all of the players' state for a board location
  * 
@@ -9,8 +11,8 @@ public class BoardSquare {
 	// BoardSquare state
 	boolean P1Offensive;
 	boolean P2Offensive;
-	Ship P1Ship;
-	Ship P2Ship;
+	int P1Ship; // placement index of Player 1's ship here, or -1
+	int P2Ship; // placement index of Player 2's ship here, or -1
 	
 	/**
 	 * Constructor for BoardSquare
@@ -19,5 +21,7 @@ public class BoardSquare {
 		// Set initial BoardSquare state
 		P1Offensive = false;
 		P2Offensive = false;
+		P1Ship = -1;
+		P2Ship = -1;
 	}
 }
@@ -0,0 +1,234 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * CommandParser class for reading the lines players type. One pass over
+ * a line records where each token starts and ends, splitting on
+ * whitespace exactly as String.split("\\s+") does: a line starting with
+ * whitespace has an empty first token, an empty line is one empty token
+ * and a line of nothing but whitespace has none. Tokens are then read as
+ * a command letter, a cell index or an Orientation through precomputed
+ * tables, accepting exactly what PlayGame always accepted, so a line is
+ * parsed without allocating. A parser is reused line after line by one
+ * thread.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class CommandParser {
+	// The current line and its tokens
+	private String line;
+	private int[] starts;
+	private int[] ends;
+	private int count;
+
+	// Private class constant values
+	private static final String COMMAND_LETTERS = "MESIODRT";
+	private static final byte[] COMMANDS = new byte[Character.MAX_VALUE + 1];
+	private static final byte[] ROWS = new byte[128];
+	private static final boolean[] WHITESPACE = new boolean[128];
+	private static final Orientation[] SINGLE_ORIENTATIONS = new Orientation[128];
+	private static final Orientation[] DIAGONAL_ORIENTATIONS = new Orientation[128];
+	private static final int INITIAL_TOKENS = 8;
+
+	static {
+		// every char whose toUpperCase is a command letter, such as 's' and the long s for S
+		for (int c = 0; c <= Character.MAX_VALUE; c++) {
+			String upper = String.valueOf((char) c).toUpperCase();
+			if (upper.length() == 1 && COMMAND_LETTERS.indexOf(upper.charAt(0)) >= 0) {
+				COMMANDS[c] = (byte) upper.charAt(0);
+			}
+		}
+		Arrays.fill(ROWS, (byte) -1);
+		for (int row = 0; row < 10; row++) {
+			ROWS['A' + row] = (byte) row;
+		}
+		for (char c : new char[] {' ', '\t', '\n', '\u000B', '\f', '\r'}) {
+			WHITESPACE[c] = true;
+		}
+		SINGLE_ORIENTATIONS['H'] = Orientation.H;
+		SINGLE_ORIENTATIONS['V'] = Orientation.V;
+		DIAGONAL_ORIENTATIONS['D'] = Orientation.DD;
+		DIAGONAL_ORIENTATIONS['U'] = Orientation.DU;
+	}
+
+	/**
+	 * Constructor for CommandParser
+	 */
+	public CommandParser() {
+		starts = new int[INITIAL_TOKENS];
+		ends = new int[INITIAL_TOKENS];
+	}
+
+	/**
+	 * Splits a line into tokens, as line.split("\\s+") would
+	 * @param line The line, without its terminator
+	 * @return This parser
+	 */
+	public CommandParser parse(String line) {
+		return parse(line, 0, line.length());
+	}
+
+	/**
+	 * Splits a line into tokens, as line.trim().split("\\s+") would
+	 * @param line The line, without its terminator
+	 * @return This parser
+	 */
+	public CommandParser parseTrimmed(String line) {
+		int from = 0;
+		int to = line.length();
+		while (from < to && line.charAt(from) <= ' ') {
+			from++;
+		}
+		while (to > from && line.charAt(to - 1) <= ' ') {
+			to--;
+		}
+		return parse(line, from, to);
+	}
+
+	/**
+	 * Private helper that splits part of a line into tokens
+	 */
+	private CommandParser parse(String line, int from, int to) {
+		this.line = line;
+		count = 0;
+		if (from == to) {
+			addToken(from, from);
+			return this;
+		}
+
+		int i = from;
+		if (isWhitespace(line.charAt(i))) {
+			// split keeps an empty first token before leading whitespace, unless nothing follows it
+			while (i < to && isWhitespace(line.charAt(i))) {
+				i++;
+			}
+			if (i == to) {
+				return this;
+			}
+			addToken(from, from);
+		}
+		while (i < to) {
+			int start = i;
+			while (i < to && !isWhitespace(line.charAt(i))) {
+				i++;
+			}
+			addToken(start, i);
+			while (i < to && isWhitespace(line.charAt(i))) {
+				i++;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Private helper that records one token, growing the offset arrays if the line is long
+	 */
+	private void addToken(int start, int end) {
+		if (count == starts.length) {
+			starts = Arrays.copyOf(starts, count * 2);
+			ends = Arrays.copyOf(ends, count * 2);
+		}
+		starts[count] = start;
+		ends[count++] = end;
+	}
+
+	/**
+	 * Private helper matching the whitespace class of the \s regex
+	 */
+	private static boolean isWhitespace(char c) {
+		return c < 128 && WHITESPACE[c];
+	}
+
+	/**
+	 * Returns the number of tokens on the line
+	 * @return Token count, 0 for a line of only whitespace
+	 */
+	public int getTokenCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the text of a token, which allocates, for messages that echo it
+	 * @param token The token's position on the line
+	 * @return The token
+	 */
+	public String getToken(int token) {
+		return line.substring(starts[token], ends[token]);
+	}
+
+	/**
+	 * Returns a token as a menu command, matched as its upper case is
+	 * @param token The token's position on the line
+	 * @return One of M, E, S, I, O, D, R and T, or 0 if the token is none of them or missing
+	 */
+	public char getCommand(int token) {
+		if (token >= count || ends[token] - starts[token] != 1) {
+			return 0;
+		}
+		return (char) COMMANDS[line.charAt(starts[token])];
+	}
+
+	/**
+	 * Returns a token as a square A1 through J10
+	 * @param token The token's position on the line
+	 * @return The cell index (row * 10 + col), or -1 if the token is not a square or missing
+	 */
+	public int getCell(int token) {
+		return (token < count) ? cell(line, starts[token], ends[token]) : -1;
+	}
+
+	/**
+	 * Returns a token as an orientation H, V, DD or DU
+	 * @param token The token's position on the line
+	 * @return The orientation, or null if the token is not one or missing
+	 */
+	public Orientation getOrientation(int token) {
+		return (token < count) ? orientation(line, starts[token], ends[token]) : null;
+	}
+
+	/**
+	 * Reads part of a string as a square A1 through J10, upper case rows only
+	 * @param s The string
+	 * @param start Index of the square's first char
+	 * @param end Index after the square's last char
+	 * @return The cell index (row * 10 + col), or -1 if it is not a square
+	 */
+	public static int cell(String s, int start, int end) {
+		int length = end - start;
+		if (length < 2 || length > 3) {
+			return -1;
+		}
+		char rowChar = s.charAt(start);
+		int row = (rowChar < 128) ? ROWS[rowChar] : -1;
+		if (row < 0) {
+			return -1;
+		}
+		char first = s.charAt(start + 1);
+		if (length == 2) {
+			return (first >= '1' && first <= '9') ? row * 10 + (first - '1') : -1;
+		}
+		return (first == '1' && s.charAt(start + 2) == '0') ? row * 10 + 9 : -1;
+	}
+
+	/**
+	 * Reads part of a string as an orientation H, V, DD or DU, upper case only
+	 * @param s The string
+	 * @param start Index of the orientation's first char
+	 * @param end Index after the orientation's last char
+	 * @return The orientation, or null if it is not one
+	 */
+	public static Orientation orientation(String s, int start, int end) {
+		char first = (end > start) ? s.charAt(start) : 0;
+		if (end - start == 1) {
+			return (first < 128) ? SINGLE_ORIENTATIONS[first] : null;
+		}
+		if (end - start == 2 && first == 'D') {
+			char second = s.charAt(start + 1);
+			return (second < 128) ? DIAGONAL_ORIENTATIONS[second] : null;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,503 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * ConcurrentBattleshipModel class for sharing one game between threads,
+ * such as both players and any number of spectators.
+ *
+ * Uses the same bitboard layout as BitboardBattleshipModel. Placements
+ * and shots take a write lock, so every shot is applied atomically and
+ * in one total order. Grid reads never lock: they copy the fixed-size
+ * reader state under an optimistic stamp and retry if a write landed in
+ * between, so readers can never hold up a shooter. isGameOver is a
+ * volatile read. Behaves exactly like BattleshipModel.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class ConcurrentBattleshipModel implements BattleshipModelInterface, GridViewSource {
+	// Guards every write, readers only validate against it
+	private final StampedLock lock = new StampedLock();
+
+	// Reader state, fixed size and indexed by player (0 for Player 1, 1 for Player 2)
+	private String player1Name;
+	private String player2Name;
+	private FleetSpec fleet;
+	private long[] shipsLo;
+	private long[] shipsHi;
+	private long[] shotsLo;
+	private long[] shotsHi;
+	private char[] defensive; // player * 100 + cell
+	private int[] changes; // grid view change log, in the BattleshipModel layout
+	private int changeCount;
+	private int[] shipCount;
+	private volatile boolean isGameOver;
+
+	// Writer state, only touched under the write lock
+	private int[] cellSlot; // player * 100 + cell, slot of the ship covering the cell
+	private long[] shipLo;
+	private long[] shipHi;
+	private int[] shipLength;
+	private char[] shipReference;
+	private int slotCount;
+
+	// Private class constant values
+	private static final int BOARD_WIDTH = 10;
+	private static final int BOARD_HEIGHT = 10;
+	private static final int BOARD_SIZE = BOARD_WIDTH * BOARD_HEIGHT;
+	private static final String LETTERS = "ABCDEFGHIJ";
+	private static final int INITIAL_SHIPS = 12;
+	private static final int MAX_CHANGES = 4 * BOARD_SIZE;
+
+	/**
+	 * Constructor for ConcurrentBattleshipModel with the standard fleet
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 */
+	public ConcurrentBattleshipModel(String player1, String player2) {
+		this(player1, player2, FleetSpec.STANDARD);
+	}
+
+	/**
+	 * Constructor for ConcurrentBattleshipModel
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 * @param fleet The ship types that can be placed
+	 */
+	public ConcurrentBattleshipModel(String player1, String player2, FleetSpec fleet) {
+		this.fleet = fleet;
+		shipsLo = new long[2];
+		shipsHi = new long[2];
+		shotsLo = new long[2];
+		shotsHi = new long[2];
+		defensive = new char[2 * BOARD_SIZE];
+		Arrays.fill(defensive, ' ');
+		changes = new int[MAX_CHANGES];
+
+		shipCount = new int[2];
+		cellSlot = new int[2 * BOARD_SIZE];
+		shipLo = new long[INITIAL_SHIPS];
+		shipHi = new long[INITIAL_SHIPS];
+		shipLength = new int[INITIAL_SHIPS];
+		shipReference = new char[INITIAL_SHIPS];
+
+		// Set initial game state
+		player1Name = player1;
+		player2Name = player2;
+		isGameOver = false;
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param loc The bound-validated starting location to place the ship
+	 * @param o The orientation for the ship to be placed in, starting from loc
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, String loc, Orientation o) {
+		return placeShip(isPlayer1, ship, getRow(loc), getCol(loc), o);
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int cell, Orientation o) {
+		return placeShip(isPlayer1, ship, cell / BOARD_WIDTH, cell % BOARD_WIDTH, o);
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param startRow The zero-based starting row
+	 * @param startCol The zero-based starting col
+	 * @param o The orientation for the ship to be placed in, starting from (startRow, startCol)
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		int player = isPlayer1 ? 0 : 1;
+		if (startRow < 0 || startRow > 9 || startCol < 0 || startCol > 9) {
+			return false;
+		}
+		int id = PlacementMasks.id(fleet.getLength(ship), o, startRow * BOARD_WIDTH + startCol);
+		if (!PlacementMasks.isLegal(id)) {
+			return false;
+		}
+
+		long stamp = lock.writeLock();
+		try {
+			if (PlacementMasks.overlaps(id, shipsLo[player], shipsHi[player])) {
+				return false;
+			}
+
+			int slot = slotCount++;
+			if (slot >= shipLo.length) {
+				growSlots();
+			}
+			shipLo[slot] = PlacementMasks.lo(id);
+			shipHi[slot] = PlacementMasks.hi(id);
+			shipLength[slot] = PlacementMasks.length(id);
+			shipReference[slot] = ship;
+			for (int cell : PlacementMasks.cells(id)) {
+				cellSlot[player * BOARD_SIZE + cell] = slot;
+				defensive[player * BOARD_SIZE + cell] = ship;
+				logChange(player * 2 + 1, cell, ship);
+			}
+			shipsLo[player] |= shipLo[slot];
+			shipsHi[player] |= shipHi[slot];
+			shipCount[player]++;
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Private helper to double the capacity of the per-ship layers
+	 */
+	private void growSlots() {
+		int capacity = shipLo.length * 2;
+		shipLo = Arrays.copyOf(shipLo, capacity);
+		shipHi = Arrays.copyOf(shipHi, capacity);
+		shipLength = Arrays.copyOf(shipLength, capacity);
+		shipReference = Arrays.copyOf(shipReference, capacity);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param loc The bound-validated location to shoot
+	 * @return "Hit", "Miss", "Hit and sunk <player_name>'s <ship_name>", or "Unsuccessful"
+	 */
+	public String makeShot(boolean isPlayer1, String loc) {
+		int result = makeShot(isPlayer1, getRow(loc), getCol(loc));
+		String targetPlayerName = (isPlayer1) ? player1Name : player2Name;
+		return ShotResult.describe(result, targetPlayerName);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param row The bound-validated zero-based row to shoot
+	 * @param col The bound-validated zero-based col to shoot
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int row, int col) {
+		return makeShot(isPlayer1, row * BOARD_WIDTH + col);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param index The bound-validated cell index to shoot (row * 10 + col)
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int index) {
+		long stamp = lock.writeLock();
+		try {
+			return shoot(isPlayer1 ? 0 : 1, index);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Fires a salvo under a single write lock, so readers see either none or all of it
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cells The bound-validated cell indexes to shoot (row * 10 + col)
+	 * @param count The number of cells to shoot, from the start of cells
+	 * @param results Receives the ShotResult code of each shot, in order
+	 * @return Number of shots that hit, counting those that sank a ship
+	 */
+	public int makeSalvo(boolean isPlayer1, int[] cells, int count, int[] results) {
+		int player = isPlayer1 ? 0 : 1;
+		int hits = 0;
+		long stamp = lock.writeLock();
+		try {
+			for (int i = 0; i < count; i++) {
+				results[i] = shoot(player, cells[i]);
+				hits += ShotResult.isHit(results[i]) ? 1 : 0;
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+		return hits;
+	}
+
+	/**
+	 * Private helper that resolves one shot, called under the write lock
+	 * @param player The shooting player (0 or 1)
+	 * @param index The bound-validated cell index to shoot
+	 * @return ShotResult code
+	 */
+	private int shoot(int player, int index) {
+		int target = 1 - player;
+		if (isSet(shotsLo[player], shotsHi[player], index)) {
+			return ShotResult.REPEAT;
+		}
+
+		// loc has not been shot by player, set it as shot
+		if (index < 64) {
+			shotsLo[player] |= 1L << index;
+		} else {
+			shotsHi[player] |= 1L << (index - 64);
+		}
+
+		boolean hit = isSet(shipsLo[target], shipsHi[target], index);
+		logChange(player * 2, index, hit ? 'H' : 'M');
+		if (!hit) {
+			return ShotResult.MISS;
+		}
+
+		int slot = cellSlot[target * BOARD_SIZE + index];
+		int damage = Long.bitCount(shipLo[slot] & shotsLo[player])
+				+ Long.bitCount(shipHi[slot] & shotsHi[player]);
+		if (damage == shipLength[slot]) {
+			// ship is destroyed, decrement ship count
+			shipCount[target]--;
+			boolean gameOver = shipCount[0] <= 0 || shipCount[1] <= 0;
+			isGameOver = gameOver;
+			return ShotResult.sunk(shipReference[slot], gameOver);
+		}
+		return ShotResult.HIT;
+	}
+
+	/**
+	 * Private helper to test a bit of a 128-bit bitboard
+	 * @param lo Bits 0-63 of the bitboard
+	 * @param hi Bits 64-127 of the bitboard
+	 * @param index The bit index to test
+	 * @return True if the bit is set, false otherwise
+	 */
+	private static boolean isSet(long lo, long hi, int index) {
+		if (index < 64) {
+			return (lo & (1L << index)) != 0;
+		}
+		return (hi & (1L << (index - 64))) != 0;
+	}
+
+	/**
+	 * Private helper to start an optimistic read, waiting out a write in progress
+	 * @return Stamp to validate once the read is done
+	 */
+	private long startRead() {
+		long stamp;
+		while ((stamp = lock.tryOptimisticRead()) == 0L) {
+			Thread.onSpinWait();
+		}
+		return stamp;
+	}
+
+	/**
+	 * Private getter for the zero-based row index for the board
+	 * @param pos The board location to get the row of (i.e. A1)
+	 * @return Zero-based row index for the board
+	 */
+	private int getRow(String pos) {
+		return LETTERS.indexOf(pos.charAt(0));
+	}
+
+	/**
+	 * Private getter for the zero-based col index for the board
+	 * @param pos The board location to get the col of (i.e. A1)
+	 * @return Zero-based col index for the board
+	 */
+	private int getCol(String pos) {
+		int col = 0;
+		for (int i = 1; i < pos.length(); i++) {
+			col = col * 10 + (pos.charAt(i) - '0');
+		}
+		return col - 1;
+	}
+
+	/**
+	 * Returns Player 1's name
+	 * @return Player 1's name
+	 */
+	public String getPlayer1Name() {
+		return player1Name;
+	}
+
+	/**
+	 * Returns Player 2's name
+	 * @return Player 2's name
+	 */
+	public String getPlayer2Name() {
+		return player2Name;
+	}
+
+	/**
+	 * Return the array of offensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of offensive grid values for passed player
+	 */
+	public char[] getOffensiveGrid(boolean isPlayer1) {
+		char[] offenseGridVals = new char[BOARD_SIZE];
+		fillOffensiveGrid(isPlayer1, offenseGridVals);
+		return offenseGridVals;
+	}
+
+	/**
+	 * Return the array of defensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of defensive grid values for passed player
+	 */
+	public char[] getDefensiveGrid(boolean isPlayer1) {
+		char[] defenseGridVals = new char[BOARD_SIZE];
+		fillDefensiveGrid(isPlayer1, defenseGridVals);
+		return defenseGridVals;
+	}
+
+	/**
+	 * Fills a buffer with a player's offensive grid values
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param grid Buffer of at least 100 chars
+	 */
+	public void fillOffensiveGrid(boolean isPlayer1, char[] grid) {
+		long stamp;
+		do {
+			stamp = startRead();
+			copyOffensiveGrid(isPlayer1 ? 0 : 1, grid);
+		} while (!lock.validate(stamp));
+	}
+
+	/**
+	 * Fills a buffer with a player's defensive grid values
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param grid Buffer of at least 100 chars
+	 */
+	public void fillDefensiveGrid(boolean isPlayer1, char[] grid) {
+		long stamp;
+		do {
+			stamp = startRead();
+			System.arraycopy(defensive, (isPlayer1 ? 0 : 1) * BOARD_SIZE, grid, 0, BOARD_SIZE);
+		} while (!lock.validate(stamp));
+	}
+
+	/**
+	 * Returns the current grid version
+	 * @return Number of squares changed on any grid so far
+	 */
+	public long getGridVersion() {
+		long stamp;
+		int version;
+		do {
+			stamp = startRead();
+			version = changeCount;
+		} while (!lock.validate(stamp));
+		return version;
+	}
+
+	/**
+	 * Brings a grid view up to date, writing only the cells that changed since its version.
+	 * The model is copied into the view's own scratch buffers, so only a view's first refreshes allocate.
+	 * @param view The view to update, which must only ever be refreshed from this model
+	 */
+	public void refresh(GridView view) {
+		long since = view.getVersion();
+		int code = view.code();
+		int player = view.isPlayer1() ? 0 : 1;
+		char[] fill = null;
+		int[] entries = null;
+		int version;
+		boolean full;
+
+		// an optimistic read can see a torn log, so copy it out and only touch the view once it validates
+		long stamp;
+		do {
+			stamp = startRead();
+			version = changeCount;
+			full = since < 0 || since > version;
+			if (full) {
+				fill = view.fillScratch();
+				if (view.isOffensive()) {
+					copyOffensiveGrid(player, fill);
+				} else {
+					System.arraycopy(defensive, player * BOARD_SIZE, fill, 0, BOARD_SIZE);
+				}
+			} else {
+				int count = version - (int) since;
+				entries = view.changeScratch(count);
+				System.arraycopy(changes, (int) since, entries, 0, count);
+			}
+		} while (!lock.validate(stamp));
+
+		view.startRefresh();
+		if (full) {
+			System.arraycopy(fill, 0, view.getGrid(), 0, BOARD_SIZE);
+			view.filled(version);
+			return;
+		}
+		for (int i = 0; i < version - (int) since; i++) {
+			int entry = entries[i];
+			if ((entry >>> 7 & 0x3) == code) {
+				view.change(entry & 0x7F, (char) (entry >>> 16));
+			}
+		}
+		view.finishRefresh(version);
+	}
+
+	/**
+	 * Private helper that builds an offensive grid from the current layers,
+	 * the caller validates the read
+	 */
+	private void copyOffensiveGrid(int player, char[] grid) {
+		int target = 1 - player;
+		long shotLo = shotsLo[player];
+		long shotHi = shotsHi[player];
+		long shipLo = shipsLo[target];
+		long shipHi = shipsHi[target];
+		for (int index = 0; index < BOARD_SIZE; index++) {
+			//value begins as not shot
+			char gridVal = ' ';
+
+			if (isSet(shotLo, shotHi, index)) {
+				gridVal = isSet(shipLo, shipHi, index) ? 'H' : 'M';
+			}
+
+			grid[index] = gridVal;
+		}
+	}
+
+	/**
+	 * Private helper to append one square change to the change log, under the write lock
+	 * @param code Grid code of the changed grid
+	 * @param cell The changed cell
+	 * @param value The new grid value
+	 */
+	private void logChange(int code, int cell, char value) {
+		changes[changeCount++] = cell | code << 7 | value << 16;
+	}
+
+	/**
+	 * Returns the number of ships a player has afloat
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Ship count
+	 */
+	public int getShipCount(boolean isPlayer1) {
+		long stamp;
+		int count;
+		do {
+			stamp = startRead();
+			count = shipCount[isPlayer1 ? 0 : 1];
+		} while (!lock.validate(stamp));
+		return count;
+	}
+
+	/**
+	 * Returns whether or not the game is over
+	 * @return True if game is over, false if not
+	 */
+	public boolean isGameOver() {
+		return isGameOver;
+	}
+}
@@ -0,0 +1,21 @@
+package battleship;
+
+/**
+ * CounterMXBean interface for reading a MetricsCounter over JMX.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public interface CounterMXBean {
+	/**
+	 * Returns the current count
+	 * @return Count
+	 */
+	public long getCount();
+
+	/**
+	 * Sets the count back to zero
+	 */
+	public void reset();
+}
@@ -1,3 +1,5 @@
+package battleship;
+
 /**
  * Cruiser class
  * 
@@ -7,7 +9,7 @@
 
 public class Cruiser extends Ship {
 	// Crusier state
-	private static final int LENGTH = 3;
+	public static final int LENGTH = 3;
 	public static final char REFERENCE = 'C';
 	
 	/**
@@ -1,3 +1,5 @@
+package battleship;
+
 /**
  * Destroyer class
  * 
@@ -7,7 +9,7 @@
 
 public class Destroyer extends Ship {
 	// Destroyer state
-	private static final int LENGTH = 2;
+	public static final int LENGTH = 2;
 	public static final char REFERENCE = 'D';
 	
 	/**
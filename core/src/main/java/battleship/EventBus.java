@@ -0,0 +1,294 @@
+package battleship;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * EventBus class for fanning one game's events out to any number of
+ * spectator and replay consumers.
+ *
+ * The game thread is the only writer. It stores each GameEvent in a ring
+ * of longs and then advances a cursor with a release store, so
+ * publishing is a few plain writes and never waits on a reader. The bus
+ * keeps no list of subscribers: each Subscriber carries its own sequence
+ * and copies whatever it has not seen yet in one batch, without locks,
+ * so a match with thousands of viewers costs the game thread the same
+ * as one with none.
+ *
+ * A subscriber that falls more than a ring behind is lapped. It finds
+ * out on its next poll, and either stops or resyncs from the snapshot
+ * the writer keeps of both offensive grids, which is read optimistically
+ * against a StampedLock in the same way as ConcurrentBattleshipModel.
+ * Placements are only delivered to the player who made them.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class EventBus {
+	// Viewers a subscriber can see events as
+	public static final int SPECTATOR = -1;
+	public static final int PLAYER1 = 0;
+	public static final int PLAYER2 = 1;
+
+	// Returned by poll once a subscriber has been lapped
+	public static final int LAPPED = -1;
+
+	// Ring state, only written by the game thread
+	private final long[] ring;
+	private final int mask;
+	private final AtomicLong cursor = new AtomicLong();
+
+	// Snapshot of what every spectator can see, indexed by shooter (0 for Player 1, 1 for Player 2)
+	private final StampedLock lock = new StampedLock();
+	private final long[] shotsLo = new long[2];
+	private final long[] shotsHi = new long[2];
+	private final long[] hitsLo = new long[2];
+	private final long[] hitsHi = new long[2];
+	private long snapshotSequence;
+
+	/**
+	 * Constructor for EventBus
+	 * @param capacity Events kept for slow subscribers, rounded up to a power of two of at least 2
+	 */
+	public EventBus(int capacity) {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^30, was " + capacity);
+		}
+		int size = 2; // one slot is always the next to be overwritten
+		while (size < capacity) {
+			size <<= 1;
+		}
+		ring = new long[size];
+		mask = ring.length - 1;
+	}
+
+	/**
+	 * Publishes one event. Only the game thread may publish.
+	 * @param event The GameEvent to publish
+	 */
+	public void publish(long event) {
+		long next = cursor.getPlain();
+		VarHandle.storeStoreFence(); // the slot changes only after the previous cursor update
+		ring[(int) next & mask] = event;
+		long stamp = lock.writeLock();
+		if (GameEvent.type(event) == GameEvent.SHOT) {
+			record(event);
+		}
+		snapshotSequence = next + 1;
+		lock.unlockWrite(stamp);
+		cursor.setRelease(next + 1);
+	}
+
+	/**
+	 * Publishes a batch of events with one cursor update. Only the game thread may publish.
+	 * @param events The GameEvents to publish
+	 * @param count The number of events to publish, from the start of events
+	 */
+	public void publish(long[] events, int count) {
+		long next = cursor.getPlain();
+		VarHandle.storeStoreFence(); // the slots change only after the previous cursor update
+		for (int i = 0; i < count; i++) {
+			ring[(int) (next + i) & mask] = events[i];
+		}
+		long stamp = lock.writeLock();
+		for (int i = 0; i < count; i++) {
+			if (GameEvent.type(events[i]) == GameEvent.SHOT) {
+				record(events[i]);
+			}
+		}
+		snapshotSequence = next + count;
+		lock.unlockWrite(stamp);
+		cursor.setRelease(next + count);
+	}
+
+	/**
+	 * Private helper that applies a shot to the snapshot, under the write lock
+	 */
+	private void record(long event) {
+		int result = GameEvent.result(event);
+		if (ShotResult.outcome(result) == ShotResult.REPEAT) {
+			return;
+		}
+		int player = GameEvent.isPlayer1(event) ? 0 : 1;
+		int cell = GameEvent.cell(event);
+		long bit = 1L << (cell & 63);
+		boolean hit = ShotResult.isHit(result);
+		if (cell < 64) {
+			shotsLo[player] |= bit;
+			hitsLo[player] |= hit ? bit : 0;
+		} else {
+			shotsHi[player] |= bit;
+			hitsHi[player] |= hit ? bit : 0;
+		}
+	}
+
+	/**
+	 * Returns the number of events published so far
+	 * @return Sequence the next event will get
+	 */
+	public long getPublished() {
+		return cursor.getAcquire();
+	}
+
+	/**
+	 * Returns the number of events the ring keeps
+	 * @return Capacity
+	 */
+	public int getCapacity() {
+		return ring.length;
+	}
+
+	/**
+	 * Creates a subscriber starting at the oldest event the next publish can't
+	 * overwrite, one less than the ring holds. A live viewer joining mid-game
+	 * calls resync first.
+	 * @param viewer SPECTATOR, PLAYER1 or PLAYER2, deciding which placements are delivered
+	 * @return Subscriber, to be polled by one thread at a time
+	 */
+	public Subscriber subscribe(int viewer) {
+		if (viewer < SPECTATOR || viewer > PLAYER2) {
+			throw new IllegalArgumentException("Unknown viewer " + viewer);
+		}
+		return new Subscriber(this, viewer, Math.max(0, getPublished() - ring.length + 1));
+	}
+
+	/**
+	 * Subscriber class for one consumer's position in an EventBus
+	 */
+	public static final class Subscriber {
+		private final EventBus bus;
+		private final int viewer;
+		private long sequence;
+		private boolean lapped;
+		private int laps;
+
+		private Subscriber(EventBus bus, int viewer, long sequence) {
+			this.bus = bus;
+			this.viewer = viewer;
+			this.sequence = sequence;
+		}
+
+		/**
+		 * Copies the events published since the last poll, as many as fit
+		 * @param batch Receives the events, oldest first
+		 * @return Number of events copied, or LAPPED if events were overwritten before they were read
+		 */
+		public int poll(long[] batch) {
+			if (lapped) {
+				return LAPPED;
+			}
+			// the oldest slot is the one the next publish overwrites, so at most ring.length - 1 are safe
+			long available = bus.cursor.getAcquire();
+			if (available - sequence >= bus.ring.length) {
+				return lap();
+			}
+
+			long end = Math.min(available, sequence + batch.length);
+			int count = 0;
+			for (long i = sequence; i < end; i++) {
+				long event = bus.ring[(int) i & bus.mask];
+				if (GameEvent.type(event) == GameEvent.SHOT || (viewer != SPECTATOR
+						&& GameEvent.isPlayer1(event) == (viewer == PLAYER1))) {
+					batch[count++] = event;
+				}
+			}
+
+			// the writer may have wrapped onto the oldest slot while it was copied
+			VarHandle.loadLoadFence();
+			if (bus.cursor.getAcquire() - sequence >= bus.ring.length) {
+				return lap();
+			}
+			sequence = end;
+			return count;
+		}
+
+		/**
+		 * Private helper that marks the subscriber lapped
+		 */
+		private int lap() {
+			lapped = true;
+			laps++;
+			return LAPPED;
+		}
+
+		/**
+		 * Catches up from the snapshot instead of the missed events, filling
+		 * both offensive grids as every spectator sees them, and carries on
+		 * polling from there. Placements are not part of the snapshot.
+		 * @param player1Offense Receives Player 1's offensive grid, 100 chars
+		 * @param player2Offense Receives Player 2's offensive grid, 100 chars
+		 * @return The sequence polling resumes from
+		 */
+		public long resync(char[] player1Offense, char[] player2Offense) {
+			long snapshot;
+			long[] bits = new long[8];
+			long stamp;
+			do {
+				while ((stamp = bus.lock.tryOptimisticRead()) == 0L) {
+					Thread.onSpinWait();
+				}
+				bits[0] = bus.shotsLo[0];
+				bits[1] = bus.shotsHi[0];
+				bits[2] = bus.hitsLo[0];
+				bits[3] = bus.hitsHi[0];
+				bits[4] = bus.shotsLo[1];
+				bits[5] = bus.shotsHi[1];
+				bits[6] = bus.hitsLo[1];
+				bits[7] = bus.hitsHi[1];
+				snapshot = bus.snapshotSequence;
+			} while (!bus.lock.validate(stamp));
+
+			fillGrid(bits, 0, player1Offense);
+			fillGrid(bits, 4, player2Offense);
+			sequence = snapshot;
+			lapped = false;
+			return sequence;
+		}
+
+		/**
+		 * Private helper that turns one player's shot and hit bits into grid values
+		 */
+		private static void fillGrid(long[] bits, int first, char[] grid) {
+			for (int cell = 0; cell < 100; cell++) {
+				long shots = (cell < 64) ? bits[first] : bits[first + 1];
+				long hits = (cell < 64) ? bits[first + 2] : bits[first + 3];
+				long bit = 1L << (cell & 63);
+				grid[cell] = ((shots & bit) == 0) ? ' ' : ((hits & bit) != 0) ? 'H' : 'M';
+			}
+		}
+
+		/**
+		 * Returns whether the subscriber has been lapped and not resynced
+		 * @return True if poll returns LAPPED
+		 */
+		public boolean isLapped() {
+			return lapped;
+		}
+
+		/**
+		 * Returns how many times the subscriber has been lapped
+		 * @return Laps
+		 */
+		public int getLaps() {
+			return laps;
+		}
+
+		/**
+		 * Returns the sequence of the next event poll reads
+		 * @return Sequence
+		 */
+		public long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * Returns the number of events the subscriber has yet to read
+		 * @return Events behind the writer
+		 */
+		public long getLag() {
+			return bus.getPublished() - sequence;
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package battleship;
+
+import java.util.SplittableRandom;
+
+/**
+ * FleetGenerator class for generating uniformly distributed legal fleets.
+ *
+ * Each ship is drawn uniformly from the precomputed legal placements for
+ * its length in PlacementMasks, so no draw is ever off the board, and
+ * overlap is one AND against the occupancy built so far. When a ship
+ * overlaps, the whole fleet is redrawn: that keeps every legal fleet
+ * exactly equally likely, where retrying only the failed ship would favor
+ * fleets with crowded early ships. Ships are drawn longest first so that
+ * most overlaps are found after only a couple of draws. The standard
+ * fleet fits about one draw in three; a fleet packed so tightly that none
+ * of MAX_ATTEMPTS draws fits is refused rather than searched for forever.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class FleetGenerator implements PlacementStrategy {
+	// The standard fleet
+	public static final char[] STANDARD_FLEET = {
+		AircraftCarrier.REFERENCE, Battleship.REFERENCE, Cruiser.REFERENCE, Destroyer.REFERENCE, Destroyer.REFERENCE
+	};
+
+	// Most fleets drawn for one placement before giving up
+	public static final int MAX_ATTEMPTS = 1 << 20;
+
+	// Generator state
+	private FleetSpec fleet;
+	private char[] ships;
+	private int[][] candidates;
+	private int[] placementIds;
+
+	/**
+	 * Constructor for FleetGenerator for the standard fleet
+	 */
+	public FleetGenerator() {
+		this(FleetSpec.STANDARD, STANDARD_FLEET);
+	}
+
+	/**
+	 * Constructor for FleetGenerator for every ship of a fleet
+	 * @param fleet The fleet specification
+	 */
+	public FleetGenerator(FleetSpec fleet) {
+		this(fleet, fleet.getFleet());
+	}
+
+	/**
+	 * Constructor for FleetGenerator for some of the standard ship types
+	 * @param fleet The ship references of the fleet ('A', 'B', 'C', or 'D'), in any order
+	 */
+	public FleetGenerator(char[] fleet) {
+		this(FleetSpec.STANDARD, fleet);
+	}
+
+	/**
+	 * Constructor for FleetGenerator
+	 * @param spec The fleet specification the ship types come from
+	 * @param fleet The ship references to place, in any order
+	 */
+	public FleetGenerator(FleetSpec spec, char[] fleet) {
+		this.fleet = spec;
+		ships = fleet.clone();
+		// longest ships first, they are the most likely to collide
+		for (int i = 1; i < ships.length; i++) {
+			for (int j = i; j > 0 && getShipLength(ships[j]) > getShipLength(ships[j - 1]); j--) {
+				char swap = ships[j];
+				ships[j] = ships[j - 1];
+				ships[j - 1] = swap;
+			}
+		}
+
+		placementIds = new int[ships.length];
+		candidates = new int[ships.length][];
+		for (int i = 0; i < ships.length; i++) {
+			candidates[i] = PlacementMasks.candidates(getShipLength(ships[i]));
+			if (candidates[i].length == 0) {
+				throw new IllegalArgumentException("Unknown ship reference: " + ships[i]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the ships of the fleet in the order generate fills them
+	 * @return Copy of the ship references
+	 */
+	public char[] getShips() {
+		return ships.clone();
+	}
+
+	/**
+	 * Draws a uniformly random legal fleet
+	 * @param random The random stream to draw from
+	 * @param placementIds Receives one PlacementMasks id per ship, in getShips order
+	 * @return Number of fleets drawn before one fit, at least 1
+	 * @throws IllegalStateException If none of MAX_ATTEMPTS fleets drawn fit on the board
+	 */
+	public int generate(SplittableRandom random, int[] placementIds) {
+		int attempts = 0;
+		boolean fits = false;
+		while (!fits) {
+			if (attempts == MAX_ATTEMPTS) {
+				throw new IllegalStateException("No fleet fit in " + MAX_ATTEMPTS + " draws, the fleet is packed too tightly");
+			}
+			attempts++;
+			fits = true;
+			long occupiedLo = 0;
+			long occupiedHi = 0;
+			for (int i = 0; i < ships.length && fits; i++) {
+				int id = candidates[i][random.nextInt(candidates[i].length)];
+				if (PlacementMasks.overlaps(id, occupiedLo, occupiedHi)) {
+					fits = false;
+				} else {
+					occupiedLo |= PlacementMasks.lo(id);
+					occupiedHi |= PlacementMasks.hi(id);
+					placementIds[i] = id;
+				}
+			}
+		}
+		return attempts;
+	}
+
+	/**
+	 * Places a uniformly random legal fleet for one player. Reuses an internal
+	 * buffer, so one generator must not place fleets from several threads at once.
+	 * @param game The model to place the fleet on, with no ships yet for the player
+	 * @param isPlayer1 True for Player 1, false for Player 2
+	 * @param random The random stream to draw from
+	 * @throws IllegalStateException If no fleet fit, as generate
+	 */
+	public void placeFleet(BattleshipModelInterface game, boolean isPlayer1, SplittableRandom random) {
+		generate(random, placementIds);
+		for (int i = 0; i < ships.length; i++) {
+			int id = placementIds[i];
+			game.placeShip(isPlayer1, ships[i], PlacementMasks.cell(id), PlacementMasks.orientation(id));
+		}
+	}
+
+	/**
+	 * Private helper to get the length of a ship from a ship reference
+	 * @param shipReference Character ship reference
+	 * @return Ship length, or 0 for an unknown reference
+	 */
+	private int getShipLength(char shipReference) {
+		return fleet.getLength(shipReference);
+	}
+}
@@ -0,0 +1,81 @@
+package battleship;
+
+/**
+ * FleetSolution class for the result of FleetSolver: how many placements
+ * of the remaining fleet fit an offensive grid, and how many of them
+ * cover each cell.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class FleetSolution {
+	// Solution state
+	private long configurations;
+	private long[] covering;
+	private long elapsedNanos;
+
+	/**
+	 * Constructor for FleetSolution
+	 * @param configurations Number of fleet placements consistent with the grid
+	 * @param covering Number of those placements with a ship on each cell, indexed by cell
+	 * @param elapsedNanos Time the solver took
+	 */
+	FleetSolution(long configurations, long[] covering, long elapsedNanos) {
+		this.configurations = configurations;
+		this.covering = covering;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Returns the number of fleet placements consistent with the grid. Ships of
+	 * the same length are interchangeable, so swapping two of them is not counted
+	 * as a new placement.
+	 * @return Configuration count, 0 if the grid can't be explained by the fleet
+	 */
+	public long getConfigurations() {
+		return configurations;
+	}
+
+	/**
+	 * Returns the number of consistent placements with a ship on a cell
+	 * @param cell The cell index (row * 10 + col)
+	 * @return Covering count
+	 */
+	public long getCovering(int cell) {
+		return covering[cell];
+	}
+
+	/**
+	 * Returns the probability that a ship covers a cell, every consistent
+	 * placement being equally likely
+	 * @param cell The cell index (row * 10 + col)
+	 * @return Probability from 0 to 1, 0 for every cell if there are no placements
+	 */
+	public double getProbability(int cell) {
+		return (configurations == 0) ? 0 : (double) covering[cell] / configurations;
+	}
+
+	/**
+	 * Returns the unshot cell most likely to hold a ship
+	 * @param offensiveGrid The grid the solution was computed for
+	 * @return Cell index, or -1 if no unshot cell can hold a ship
+	 */
+	public int getBestCell(char[] offensiveGrid) {
+		int best = -1;
+		for (int cell = 0; cell < covering.length; cell++) {
+			if (offensiveGrid[cell] == ' ' && covering[cell] > 0 && (best < 0 || covering[cell] > covering[best])) {
+				best = cell;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the time the solver took
+	 * @return Elapsed nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+}
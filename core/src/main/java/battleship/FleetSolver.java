@@ -0,0 +1,447 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * FleetSolver class for counting exactly how many placements of the ships
+ * still afloat agree with an offensive grid, and how many of them cover
+ * each cell.
+ *
+ * A placement agrees with the grid if no ship covers a miss or a sunk
+ * ship, every unresolved hit is covered, and no ship is hit on every
+ * square (it would have been sunk). Placements are 128-bit masks from
+ * PlacementMasks, over all four orientations.
+ *
+ * The search branches on the first uncovered hit, trying only placements
+ * through it, so hits prune the tree instead of being checked at the
+ * leaves. Once every hit is covered it places the longest ship left.
+ * Counts are memoized on (ships left, occupied mask), which is all a
+ * subtree depends on, in a fixed-size table that keeps the latest entry
+ * for each slot. Per-cell counts come from the same memo: the
+ * placements with a ship of length L at p number count(fleet - L, p), so
+ * each (L, p) is one independent count, and those are split across a
+ * fork/join pool.
+ *
+ * The offensive grid uses 'H' for a hit, 'M' for a miss and ' ' for an
+ * unshot cell. getOffensiveGrid does not say which hits belong to sunk
+ * ships; callers that know should mark those cells 'S' so they are
+ * treated as blocked.
+ *
+ * Usage: java -cp battleship-core.jar battleship.FleetSolver [seed] [shots]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class FleetSolver {
+	// Solver setup
+	private ForkJoinPool pool;
+
+	// Private class constant values
+	private static final int CELLS = 100;
+	private static final int MAX_LENGTH = AircraftCarrier.LENGTH;
+	private static final int COUNT_BITS = 3;
+	private static final int MEMO_SEGMENTS = 64;
+	private static final int MEMO_SEGMENT_SLOTS = 1 << 14;
+	private static final int FLEET_BITS = COUNT_BITS * (MAX_LENGTH + 1);
+	private static final int PLACEMENTS_PER_TASK = 8;
+
+	/**
+	 * Constructor for FleetSolver, using the common fork/join pool
+	 */
+	public FleetSolver() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor for FleetSolver
+	 * @param pool The pool to spread the search across
+	 */
+	public FleetSolver(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Counts the placements of the remaining fleet that agree with a grid
+	 * @param offensiveGrid Grid values: 'H' hit, 'M' miss, 'S' hit on a sunk ship, anything else unshot
+	 * @param shipLengths Lengths of the ships still afloat, e.g. {5, 4, 2}
+	 * @return Configuration count and per-cell covering counts
+	 * @throws IllegalArgumentException If the grid is not 100 cells or a length is unsupported
+	 */
+	public FleetSolution solve(char[] offensiveGrid, int[] shipLengths) {
+		if (offensiveGrid.length != CELLS) {
+			throw new IllegalArgumentException("Grid must have " + CELLS + " cells");
+		}
+		int fleet = 0;
+		for (int length : shipLengths) {
+			if (length < 1 || length > MAX_LENGTH || count(fleet, length) == (1 << COUNT_BITS) - 1) {
+				throw new IllegalArgumentException("Unsupported fleet: ship of length " + length);
+			}
+			fleet += 1 << (COUNT_BITS * length);
+		}
+
+		long start = System.nanoTime();
+		Search search = new Search(offensiveGrid);
+		long[] covering = new long[CELLS];
+		if (fleet == 0) {
+			long configurations = (search.hitsLo | search.hitsHi) == 0 ? 1 : 0;
+			return new FleetSolution(configurations, covering, System.nanoTime() - start);
+		}
+
+		// one independent count per (length, placement) of the ships left
+		int tasks = 0;
+		for (int length = 1; length <= MAX_LENGTH; length++) {
+			tasks += (count(fleet, length) > 0) ? search.placements[length].length : 0;
+		}
+		int[] taskLength = new int[tasks];
+		int[] taskPlacement = new int[tasks];
+		tasks = 0;
+		for (int length = 1; length <= MAX_LENGTH; length++) {
+			if (count(fleet, length) > 0) {
+				for (int p = 0; p < search.placements[length].length; p++) {
+					taskLength[tasks] = length;
+					taskPlacement[tasks++] = p;
+				}
+			}
+		}
+		long[] withPlacement = new long[tasks];
+		pool.invoke(new CountTask(search, fleet, taskLength, taskPlacement, withPlacement, 0, tasks));
+
+		// every configuration has exactly count(fleet, L) ships of length L, so the
+		// sum over the first length present counts each configuration that many times
+		long sum = 0;
+		int firstLength = taskLength.length > 0 ? taskLength[0] : 0;
+		for (int i = 0; i < tasks; i++) {
+			int id = search.placements[taskLength[i]][taskPlacement[i]];
+			for (int cell : PlacementMasks.cells(id)) {
+				covering[cell] += withPlacement[i];
+			}
+			if (taskLength[i] == firstLength) {
+				sum += withPlacement[i];
+			}
+		}
+		long configurations = (firstLength == 0) ? 0 : sum / count(fleet, firstLength);
+		return new FleetSolution(configurations, covering, System.nanoTime() - start);
+	}
+
+	/**
+	 * Private helper returning how many ships of a length a fleet code holds
+	 */
+	private static int count(int fleet, int length) {
+		return (fleet >>> (COUNT_BITS * length)) & ((1 << COUNT_BITS) - 1);
+	}
+
+	/**
+	 * Search class holding the grid-specific tables and the memo shared by every task
+	 */
+	private static final class Search {
+		private final long hitsLo;
+		private final long hitsHi;
+		private final int[][] placements; // legal placement ids agreeing with the grid, by length
+		private final int[][][] throughCell; // indexes into placements, by length then cell
+		private final Memo[] memo = new Memo[MEMO_SEGMENTS];
+
+		private Search(char[] grid) {
+			long hLo = 0;
+			long hHi = 0;
+			long blockedLo = 0;
+			long blockedHi = 0;
+			for (int cell = 0; cell < CELLS; cell++) {
+				long bit = 1L << cell; // shifts are mod 64, so this is also the hi bit
+				boolean hit = grid[cell] == 'H';
+				boolean blocked = grid[cell] == 'M' || grid[cell] == 'S';
+				if (cell < 64) {
+					hLo |= hit ? bit : 0;
+					blockedLo |= blocked ? bit : 0;
+				} else {
+					hHi |= hit ? bit : 0;
+					blockedHi |= blocked ? bit : 0;
+				}
+			}
+			hitsLo = hLo;
+			hitsHi = hHi;
+			for (int i = 0; i < MEMO_SEGMENTS; i++) {
+				memo[i] = new Memo();
+			}
+
+			placements = new int[MAX_LENGTH + 1][];
+			throughCell = new int[MAX_LENGTH + 1][CELLS][];
+			for (int length = 1; length <= MAX_LENGTH; length++) {
+				int[] candidates = PlacementMasks.candidates(length);
+				int[] agreeing = new int[candidates.length];
+				int count = 0;
+				int[] perCell = new int[CELLS];
+				for (int id : candidates) {
+					long lo = PlacementMasks.lo(id);
+					long hi = PlacementMasks.hi(id);
+					boolean allHit = (lo & ~hLo) == 0 && (hi & ~hHi) == 0;
+					if (!PlacementMasks.overlaps(id, blockedLo, blockedHi) && !allHit) {
+						agreeing[count++] = id;
+						for (int cell : PlacementMasks.cells(id)) {
+							perCell[cell]++;
+						}
+					}
+				}
+				placements[length] = Arrays.copyOf(agreeing, count);
+				for (int cell = 0; cell < CELLS; cell++) {
+					throughCell[length][cell] = new int[perCell[cell]];
+					perCell[cell] = 0;
+				}
+				for (int p = 0; p < count; p++) {
+					for (int cell : PlacementMasks.cells(agreeing[p])) {
+						throughCell[length][cell][perCell[cell]++] = p;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Counts the placements of a fleet on top of an occupied mask that cover every hit
+		 * @param fleet Fleet code, COUNT_BITS per length
+		 * @param occupiedLo Bits 0-63 of the cells already taken by ships
+		 * @param occupiedHi Bits 64-127 of the cells already taken by ships
+		 * @return Number of placements, ships of the same length being interchangeable
+		 */
+		private long count(int fleet, long occupiedLo, long occupiedHi) {
+			long uncoveredLo = hitsLo & ~occupiedLo;
+			long uncoveredHi = hitsHi & ~occupiedHi;
+			if (fleet == 0) {
+				return (uncoveredLo | uncoveredHi) == 0 ? 1 : 0;
+			}
+			int shipCells = 0;
+			int ships = 0;
+			int shortest = 0;
+			int longest = 0;
+			for (int length = 1; length <= MAX_LENGTH; length++) {
+				int n = FleetSolver.count(fleet, length);
+				shipCells += n * length;
+				ships += n;
+				shortest = (n > 0 && shortest == 0) ? length : shortest;
+				longest = (n > 0) ? length : longest;
+			}
+			if (Long.bitCount(uncoveredLo) + Long.bitCount(uncoveredHi) > shipCells) {
+				return 0;
+			}
+			if (ships == 1 && (uncoveredLo | uncoveredHi) == 0) {
+				return fits(longest, occupiedLo, occupiedHi);
+			}
+			if (ships == 2 && (uncoveredLo | uncoveredHi) == 0) {
+				return pairs(longest, shortest, occupiedLo, occupiedHi);
+			}
+
+			long hash = (occupiedLo * 0x9E3779B97F4A7C15L + occupiedHi) * 0xC2B2AE3D27D4EB4FL + fleet;
+			hash ^= hash >>> 29;
+			Memo segment = memo[(int) hash & (MEMO_SEGMENTS - 1)];
+			int slot = (int) (hash >>> 32) & (MEMO_SEGMENT_SLOTS - 1);
+			long known = segment.get(slot, fleet, occupiedLo, occupiedHi);
+			if (known >= 0) {
+				return known;
+			}
+
+			long total = 0;
+			if ((uncoveredLo | uncoveredHi) != 0) {
+				// exactly one ship covers the first uncovered hit: try each one through it
+				int cell = (uncoveredLo != 0) ? Long.numberOfTrailingZeros(uncoveredLo)
+						: 64 + Long.numberOfTrailingZeros(uncoveredHi);
+				for (int length = 1; length <= MAX_LENGTH; length++) {
+					if (FleetSolver.count(fleet, length) > 0) {
+						int rest = fleet - (1 << (COUNT_BITS * length));
+						for (int p : throughCell[length][cell]) {
+							int id = placements[length][p];
+							if (!PlacementMasks.overlaps(id, occupiedLo, occupiedHi)) {
+								total += count(rest, occupiedLo | PlacementMasks.lo(id), occupiedHi | PlacementMasks.hi(id));
+							}
+						}
+					}
+				}
+			} else {
+				// every ship of the longest length gets to be "the one placed here", so divide
+				int rest = fleet - (1 << (COUNT_BITS * longest));
+				for (int id : placements[longest]) {
+					if (!PlacementMasks.overlaps(id, occupiedLo, occupiedHi)) {
+						total += count(rest, occupiedLo | PlacementMasks.lo(id), occupiedHi | PlacementMasks.hi(id));
+					}
+				}
+				total /= FleetSolver.count(fleet, longest);
+			}
+
+			segment.put(slot, fleet, occupiedLo, occupiedHi, total);
+			return total;
+		}
+
+		/**
+		 * Counts the placements of one ship that stay clear of an occupied mask
+		 */
+		private long fits(int length, long occupiedLo, long occupiedHi) {
+			long total = 0;
+			for (int id : placements[length]) {
+				total += PlacementMasks.overlaps(id, occupiedLo, occupiedHi) ? 0 : 1;
+			}
+			return total;
+		}
+
+		/**
+		 * Counts the placements of two ships that stay clear of an occupied mask and
+		 * of each other: every pair of free placements, less the pairs that cross.
+		 * Crossing placements are found through the cells of the first ship, each
+		 * counted at the first cell they share with it.
+		 */
+		private long pairs(int first, int second, long occupiedLo, long occupiedHi) {
+			long free = fits(second, occupiedLo, occupiedHi);
+			long total = 0;
+			for (int id : placements[first]) {
+				if (PlacementMasks.overlaps(id, occupiedLo, occupiedHi)) {
+					continue;
+				}
+				long crossing = 0;
+				long seenLo = 0;
+				long seenHi = 0;
+				for (int cell : PlacementMasks.cells(id)) {
+					for (int p : throughCell[second][cell]) {
+						int other = placements[second][p];
+						if (!PlacementMasks.overlaps(other, occupiedLo | seenLo, occupiedHi | seenHi)) {
+							crossing++;
+						}
+					}
+					if (cell < 64) {
+						seenLo |= 1L << cell;
+					} else {
+						seenHi |= 1L << (cell - 64);
+					}
+				}
+				total += free - crossing;
+			}
+			return (first == second) ? total / 2 : total;
+		}
+	}
+
+	/**
+	 * Memo class for one segment of the memo, a fixed-size table of counts where a
+	 * new entry replaces whatever shared its slot. Each segment has its own lock,
+	 * so tasks rarely wait on each other, and the memo never outgrows its arrays.
+	 */
+	private static final class Memo {
+		private final long[] lo = new long[MEMO_SEGMENT_SLOTS];
+		private final long[] hi = new long[MEMO_SEGMENT_SLOTS];
+		private final long[] entry = new long[MEMO_SEGMENT_SLOTS]; // count << FLEET_BITS | fleet, 0 if empty
+
+		/**
+		 * Returns a memoized count
+		 * @return Count, or -1 if the slot holds another state
+		 */
+		private synchronized long get(int slot, int fleet, long occupiedLo, long occupiedHi) {
+			long e = entry[slot];
+			if (e != 0 && (int) (e & ((1L << FLEET_BITS) - 1)) == fleet && lo[slot] == occupiedLo && hi[slot] == occupiedHi) {
+				return e >>> FLEET_BITS;
+			}
+			return -1;
+		}
+
+		/**
+		 * Memoizes a count, unless it is too large to pack next to the fleet code
+		 */
+		private synchronized void put(int slot, int fleet, long occupiedLo, long occupiedHi, long count) {
+			if (count < (1L << (63 - FLEET_BITS))) {
+				lo[slot] = occupiedLo;
+				hi[slot] = occupiedHi;
+				entry[slot] = count << FLEET_BITS | fleet;
+			}
+		}
+	}
+
+	/**
+	 * Fork/join task counting the placements with each of a range of first ships
+	 */
+	private static final class CountTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Search search;
+		private final int fleet;
+		private final int[] lengths;
+		private final int[] placements;
+		private final long[] results;
+		private final int first;
+		private final int end;
+
+		/**
+		 * Constructor for CountTask
+		 * @param search The shared search
+		 * @param fleet Fleet code of the ships left
+		 * @param lengths Length of the first ship of each count
+		 * @param placements Index of the first ship's placement of each count
+		 * @param results Receives each count
+		 * @param first Index of the first count in the range
+		 * @param end Index after the last count in the range
+		 */
+		CountTask(Search search, int fleet, int[] lengths, int[] placements, long[] results, int first, int end) {
+			this.search = search;
+			this.fleet = fleet;
+			this.lengths = lengths;
+			this.placements = placements;
+			this.results = results;
+			this.first = first;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - first > PLACEMENTS_PER_TASK) {
+				int middle = (first + end) >>> 1;
+				invokeAll(new CountTask(search, fleet, lengths, placements, results, first, middle),
+						new CountTask(search, fleet, lengths, placements, results, middle, end));
+				return;
+			}
+			for (int i = first; i < end; i++) {
+				int id = search.placements[lengths[i]][placements[i]];
+				int rest = fleet - (1 << (COUNT_BITS * lengths[i]));
+				results[i] = search.count(rest, PlacementMasks.lo(id), PlacementMasks.hi(id));
+			}
+		}
+	}
+
+	/**
+	 * Solves a position from a random game and prints the most likely cell
+	 * @param args Optional seed and number of shots already fired
+	 */
+	public static void main(String[] args) {
+		long seed = (args.length > 0) ? Long.parseLong(args[0]) : 42;
+		int shots = (args.length > 1) ? Integer.parseInt(args[1]) : 40;
+
+		SplittableRandom random = new SplittableRandom(seed);
+		BattleshipModel game = new BattleshipModel("P1", "P2");
+		new FleetGenerator().placeFleet(game, false, random);
+		for (int i = 0; i < shots; i++) {
+			game.makeShot(true, random.nextInt(CELLS));
+		}
+
+		// mark the hits on sunk ships and list the ships still afloat
+		char[] grid = game.getOffensiveGrid(true);
+		for (int cell = 0; cell < CELLS; cell++) {
+			int ship = game.getShipAt(false, cell);
+			if (grid[cell] == 'H' && game.getDamage(false, ship) == game.getShipType(false, ship).getLength()) {
+				grid[cell] = 'S';
+			}
+		}
+		int[] afloat = new int[game.getShipCount(false)];
+		int ships = 0;
+		for (int i = 0; i < game.getPlacementCount(false); i++) {
+			int length = game.getShipType(false, i).getLength();
+			if (game.getDamage(false, i) < length) {
+				afloat[ships++] = length;
+			}
+		}
+		FleetSolution solution = new FleetSolver().solve(grid, afloat);
+
+		PlayGame.printBoard(grid);
+		System.out.println("Configurations: " + solution.getConfigurations());
+		System.out.printf("Solved in:      %.1f ms%n", solution.getElapsedNanos() / 1e6);
+		int best = solution.getBestCell(grid);
+		if (best >= 0) {
+			System.out.printf("Best shot:      %c%d (%.1f%%)%n", (char) ('A' + best / 10), best % 10 + 1,
+					100 * solution.getProbability(best));
+		}
+	}
+}
@@ -0,0 +1,283 @@
+package battleship;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FleetSpec class for the rules of a game: the board and the ships each
+ * player places, in placement order. Ship types are looked up by
+ * reference in a table, so the model never needs a chain of ifs.
+ *
+ * A fleet file has one declaration per line, '#' starting a comment:
+ *
+ *   board 10 10
+ *   ship A 5 1 aircraft carrier
+ *   ship D 2 2 destroyer
+ *
+ * A ship line gives the reference, length, count and name. Ship masks are
+ * precomputed for a 10 by 10 board and ships of 2 to 5 squares, so other
+ * sizes are rejected, as is a fleet with more squares than the board.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public final class FleetSpec {
+	// Private class constant values
+	private static final int BOARD_SIZE = 10;
+	private static final int MIN_LENGTH = Destroyer.LENGTH;
+	private static final int MAX_LENGTH = AircraftCarrier.LENGTH;
+	private static final int MAX_SHIPS = 63;
+
+	/**
+	 * The standard fleet: an aircraft carrier, a battleship, a cruiser and two destroyers
+	 */
+	public static final FleetSpec STANDARD = new FleetSpec(BOARD_SIZE, BOARD_SIZE,
+			new ShipType[] {ShipType.AIRCRAFT_CARRIER, ShipType.BATTLESHIP, ShipType.CRUISER, ShipType.DESTROYER},
+			new int[] {1, 1, 1, 2});
+
+	// Fleet state
+	private final int width;
+	private final int height;
+	private final ShipType[] types;
+	private final ShipType[] ships;
+	private final String[] shipNames;
+	private final ShipType[] byReference;
+	private final ShipType[] byLength;
+
+	/**
+	 * Constructor for FleetSpec
+	 * @param width Board width, must be 10
+	 * @param height Board height, must be 10
+	 * @param types The kinds of ship, each with its own reference
+	 * @param counts How many of each kind every player places
+	 * @throws IllegalArgumentException If the board or a ship is not supported
+	 */
+	public FleetSpec(int width, int height, ShipType[] types, int[] counts) {
+		if (width != BOARD_SIZE || height != BOARD_SIZE) {
+			throw new IllegalArgumentException("Only " + BOARD_SIZE + " by " + BOARD_SIZE + " boards are supported");
+		}
+		this.width = width;
+		this.height = height;
+		this.types = types.clone();
+		byReference = new ShipType[128];
+		byLength = new ShipType[MAX_LENGTH + 1];
+		boolean[] sharedLength = new boolean[MAX_LENGTH + 1];
+		List<ShipType> placed = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		int squares = 0;
+		for (int i = 0; i < types.length; i++) {
+			ShipType type = types[i];
+			char reference = type.getReference();
+			if (reference < 'A' || reference > 'Z' || byReference[reference] != null) {
+				throw new IllegalArgumentException("Ship reference must be a capital letter used once: " + reference);
+			}
+			if (type.getLength() < MIN_LENGTH || type.getLength() > MAX_LENGTH) {
+				throw new IllegalArgumentException("Ship length must be " + MIN_LENGTH + " to " + MAX_LENGTH + ": " + type);
+			}
+			if (counts[i] < 1) {
+				throw new IllegalArgumentException("Ship count must be at least 1: " + type);
+			}
+			byReference[reference] = type;
+			squares += type.getLength() * counts[i];
+			sharedLength[type.getLength()] = byLength[type.getLength()] != null;
+			byLength[type.getLength()] = type;
+			for (int copy = 1; copy <= counts[i]; copy++) {
+				placed.add(type);
+				names.add((counts[i] == 1) ? type.getName() : type.getName() + copy); // destroyer1, destroyer2
+			}
+		}
+		if (placed.isEmpty() || placed.size() > MAX_SHIPS) {
+			throw new IllegalArgumentException("A fleet needs 1 to " + MAX_SHIPS + " ships");
+		}
+		if (squares > width * height) {
+			throw new IllegalArgumentException("A fleet of " + squares + " squares doesn't fit on a " + width * height + " square board");
+		}
+		for (int length = 0; length <= MAX_LENGTH; length++) {
+			if (sharedLength[length]) {
+				byLength[length] = null;
+			}
+		}
+		ships = placed.toArray(new ShipType[0]);
+		shipNames = names.toArray(new String[0]);
+	}
+
+	/**
+	 * Loads a fleet file
+	 * @param path The file to read
+	 * @return The fleet it describes
+	 * @throws IOException If the file can't be read
+	 * @throws IllegalArgumentException If a line can't be understood or the fleet is not supported
+	 */
+	public static FleetSpec load(Path path) throws IOException {
+		try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			return parse(in);
+		}
+	}
+
+	/**
+	 * Parses fleet declarations
+	 * @param text The declarations, one per line
+	 * @return The fleet they describe
+	 * @throws IllegalArgumentException If a line can't be understood or the fleet is not supported
+	 */
+	public static FleetSpec parse(String text) {
+		try {
+			return parse(new BufferedReader(new StringReader(text)));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Private helper that parses fleet declarations from a reader
+	 */
+	private static FleetSpec parse(BufferedReader in) throws IOException {
+		int width = BOARD_SIZE;
+		int height = BOARD_SIZE;
+		List<ShipType> types = new ArrayList<>();
+		List<Integer> counts = new ArrayList<>();
+		String line;
+		int lineNumber = 0;
+		while ((line = in.readLine()) != null) {
+			lineNumber++;
+			int comment = line.indexOf('#');
+			String[] tokens = ((comment < 0) ? line : line.substring(0, comment)).trim().split("\\s+", 5);
+			try {
+				if (tokens[0].isEmpty()) {
+					continue;
+				} else if (tokens[0].equals("board") && tokens.length == 3) {
+					width = Integer.parseInt(tokens[1]);
+					height = Integer.parseInt(tokens[2]);
+				} else if (tokens[0].equals("ship") && tokens.length == 5 && tokens[1].length() == 1) {
+					types.add(new ShipType(tokens[1].charAt(0), tokens[4], Integer.parseInt(tokens[2])));
+					counts.add(Integer.parseInt(tokens[3]));
+				} else {
+					throw new IllegalArgumentException("Expected \"board <width> <height>\" or \"ship <reference> <length> <count> <name>\"");
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Line " + lineNumber + ": not a number: " + e.getMessage());
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage());
+			}
+		}
+		int[] countArray = counts.stream().mapToInt(Integer::intValue).toArray();
+		return new FleetSpec(width, height, types.toArray(new ShipType[0]), countArray);
+	}
+
+	/**
+	 * Returns the ship type with a reference
+	 * @param reference The ship reference
+	 * @return The shared ShipType, or null if the fleet has no such ship
+	 */
+	public ShipType getType(char reference) {
+		return (reference < byReference.length) ? byReference[reference] : null;
+	}
+
+	/**
+	 * Returns the length of the ship type with a reference
+	 * @param reference The ship reference
+	 * @return Ship length, or 0 if the fleet has no such ship
+	 */
+	public int getLength(char reference) {
+		ShipType type = getType(reference);
+		return (type == null) ? 0 : type.getLength();
+	}
+
+	/**
+	 * Returns the only ship type of a length
+	 * @param length The ship length
+	 * @return The shared ShipType, or null if the fleet has none or several of that length
+	 */
+	public ShipType getTypeByLength(int length) {
+		return (length >= 0 && length < byLength.length) ? byLength[length] : null;
+	}
+
+	/**
+	 * Returns the kinds of ship in the fleet
+	 * @return Copy of the ship types, each once
+	 */
+	public ShipType[] getTypes() {
+		return types.clone();
+	}
+
+	/**
+	 * Returns the number of ships each player places
+	 * @return Ship count
+	 */
+	public int getShipCount() {
+		return ships.length;
+	}
+
+	/**
+	 * Returns the type of one ship in placement order
+	 * @param ship The ship's position in placement order
+	 * @return Ship type
+	 */
+	public ShipType getShip(int ship) {
+		return ships[ship];
+	}
+
+	/**
+	 * Returns the name players see for one ship in placement order, numbered
+	 * when the fleet has more than one of its kind
+	 * @param ship The ship's position in placement order
+	 * @return Ship name, such as "cruiser" or "destroyer2"
+	 */
+	public String getShipName(int ship) {
+		return shipNames[ship];
+	}
+
+	/**
+	 * Returns the placement position of a ship name
+	 * @param name A name returned by getShipName
+	 * @return Position in placement order, or -1 if no ship has that name
+	 */
+	public int indexOf(String name) {
+		return Arrays.asList(shipNames).indexOf(name);
+	}
+
+	/**
+	 * Returns every ship's reference in placement order
+	 * @return New array of ship references
+	 */
+	public char[] getFleet() {
+		char[] fleet = new char[ships.length];
+		for (int i = 0; i < ships.length; i++) {
+			fleet[i] = ships[i].getReference();
+		}
+		return fleet;
+	}
+
+	/**
+	 * Returns every ship's name in placement order
+	 * @return New array of ship names
+	 */
+	public String[] getShipNames() {
+		return shipNames.clone();
+	}
+
+	/**
+	 * Returns the board width
+	 * @return Columns
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the board height
+	 * @return Rows
+	 */
+	public int getHeight() {
+		return height;
+	}
+}
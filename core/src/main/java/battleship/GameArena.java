@@ -0,0 +1,230 @@
+package battleship;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * GameArena class for keeping many games off the heap. Each game's state
+ * lives in a fixed-size slot of direct ByteBuffer chunks: both players'
+ * ship and shot bitboards, the placement id and reference of every ship,
+ * the ship counts and the game over flag. Damage is never stored, it is
+ * the count of a ship's cells that have been shot, as in
+ * BitboardBattleshipModel. Player names are kept by reference in on-heap
+ * arrays beside the chunks.
+ *
+ * A game is an int slot handle from allocate, played through an
+ * ArenaBattleshipModel view that can be moved from slot to slot, and
+ * handed back with free. Freed slots are linked through their own bytes
+ * and reused first, so an arena holding a million idle games is a few
+ * hundred direct buffers and name arrays rather than a million object
+ * graphs for the garbage collector to trace.
+ *
+ * allocate and free are synchronized. A game may be played from any
+ * thread, but like BattleshipModel only from one thread at a time.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class GameArena {
+	// Slot layout, in bytes from the start of a slot
+	static final int FLAGS = 0;
+	static final int SHIP_COUNT = 1;
+	static final int SLOT_COUNT = 3;
+	static final int NEXT_FREE = 8;
+	static final int BOARDS = 16;
+	static final int SHIPS_LO = 0;
+	static final int SHIPS_HI = 8;
+	static final int SHOTS_LO = 16;
+	static final int SHOTS_HI = 24;
+	static final int BOARD_BYTES = 32;
+	static final int SHIP_SLOTS = BOARDS + 2 * BOARD_BYTES;
+	static final int SHIP_BYTES = 4;
+
+	// Flag bits
+	static final int IN_USE = 0x1;
+	static final int GAME_OVER = 0x2;
+
+	// Arena state
+	private FleetSpec fleet;
+	private int slotBytes;
+	private ByteBuffer[] chunks;
+	private String[][] names;
+	private int chunkCount;
+	private int nextUnused;
+	private int freeHead;
+	private int liveGames;
+
+	// Private class constant values
+	private static final int CHUNK_SHIFT = 14;
+	private static final int CHUNK_SLOTS = 1 << CHUNK_SHIFT;
+	private static final int NO_SLOT = -1;
+
+	/**
+	 * Constructor for GameArena with the standard fleet
+	 */
+	public GameArena() {
+		this(FleetSpec.STANDARD);
+	}
+
+	/**
+	 * Constructor for GameArena
+	 * @param fleet The ship types every game in the arena places
+	 */
+	public GameArena(FleetSpec fleet) {
+		this.fleet = fleet;
+		slotBytes = (SHIP_SLOTS + 2 * fleet.getShipCount() * SHIP_BYTES + 7) & ~7;
+		chunks = new ByteBuffer[8];
+		names = new String[8][];
+		freeHead = NO_SLOT;
+	}
+
+	/**
+	 * Takes a slot for a new game, reusing a freed one if there is one
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 * @return The slot handle
+	 */
+	public synchronized int allocate(String player1, String player2) {
+		int slot;
+		if (freeHead != NO_SLOT) {
+			slot = freeHead;
+			freeHead = chunk(slot).getInt(offset(slot) + NEXT_FREE);
+		} else {
+			slot = nextUnused++;
+			if (slot >>> CHUNK_SHIFT == chunkCount) {
+				addChunk();
+			}
+		}
+
+		ByteBuffer chunk = chunk(slot);
+		int base = offset(slot);
+		for (int i = 0; i < slotBytes; i += 8) {
+			chunk.putLong(base + i, 0);
+		}
+		chunk.put(base + FLAGS, (byte) IN_USE);
+		String[] chunkNames = names[slot >>> CHUNK_SHIFT];
+		chunkNames[2 * (slot & (CHUNK_SLOTS - 1))] = player1;
+		chunkNames[2 * (slot & (CHUNK_SLOTS - 1)) + 1] = player2;
+		liveGames++;
+		return slot;
+	}
+
+	/**
+	 * Hands a game's slot back to the arena. Views pointing at it must not be used again.
+	 * @param slot The slot handle from allocate
+	 */
+	public synchronized void free(int slot) {
+		checkInUse(slot);
+		ByteBuffer chunk = chunk(slot);
+		int base = offset(slot);
+		chunk.put(base + FLAGS, (byte) 0);
+		chunk.putInt(base + NEXT_FREE, freeHead);
+		String[] chunkNames = names[slot >>> CHUNK_SHIFT];
+		chunkNames[2 * (slot & (CHUNK_SLOTS - 1))] = null;
+		chunkNames[2 * (slot & (CHUNK_SLOTS - 1)) + 1] = null;
+		freeHead = slot;
+		liveGames--;
+	}
+
+	/**
+	 * Returns a new view, to be pointed at a game with moveTo
+	 * @return View onto this arena
+	 */
+	public ArenaBattleshipModel view() {
+		return new ArenaBattleshipModel(this);
+	}
+
+	/**
+	 * Returns a new view pointed at a game
+	 * @param slot The slot handle from allocate
+	 * @return View onto the game
+	 */
+	public ArenaBattleshipModel view(int slot) {
+		return view().moveTo(slot);
+	}
+
+	/**
+	 * Returns the number of games allocated and not yet freed
+	 * @return Live games
+	 */
+	public synchronized int getLiveGames() {
+		return liveGames;
+	}
+
+	/**
+	 * Returns the off-heap bytes reserved by the arena so far
+	 * @return Bytes in direct buffers
+	 */
+	public synchronized long getReservedBytes() {
+		return (long) chunkCount * CHUNK_SLOTS * slotBytes;
+	}
+
+	/**
+	 * Returns the size of one game's slot
+	 * @return Bytes per game
+	 */
+	public int getSlotBytes() {
+		return slotBytes;
+	}
+
+	/**
+	 * Returns the fleet every game in the arena places
+	 * @return Fleet spec
+	 */
+	public FleetSpec getFleet() {
+		return fleet;
+	}
+
+	/**
+	 * Returns the chunk holding a slot
+	 * @param slot The slot handle
+	 * @return Direct buffer, shared by CHUNK_SLOTS games
+	 */
+	ByteBuffer chunk(int slot) {
+		return chunks[slot >>> CHUNK_SHIFT];
+	}
+
+	/**
+	 * Returns where a slot starts in its chunk
+	 * @param slot The slot handle
+	 * @return Byte offset
+	 */
+	int offset(int slot) {
+		return (slot & (CHUNK_SLOTS - 1)) * slotBytes;
+	}
+
+	/**
+	 * Returns a player's name
+	 * @param slot The slot handle
+	 * @param player 0 for Player 1, 1 for Player 2
+	 * @return The player's name
+	 */
+	String getName(int slot, int player) {
+		return names[slot >>> CHUNK_SHIFT][2 * (slot & (CHUNK_SLOTS - 1)) + player];
+	}
+
+	/**
+	 * Throws unless a slot holds a live game
+	 * @param slot The slot handle
+	 */
+	void checkInUse(int slot) {
+		if (slot < 0 || slot >= nextUnused || (chunk(slot).get(offset(slot) + FLAGS) & IN_USE) == 0) {
+			throw new IllegalArgumentException("Slot " + slot + " doesn't hold a game");
+		}
+	}
+
+	/**
+	 * Private helper that reserves another chunk of slots
+	 */
+	private void addChunk() {
+		if (chunkCount == chunks.length) {
+			chunks = Arrays.copyOf(chunks, chunkCount * 2);
+			names = Arrays.copyOf(names, chunkCount * 2);
+		}
+		chunks[chunkCount] = ByteBuffer.allocateDirect(CHUNK_SLOTS * slotBytes).order(ByteOrder.nativeOrder());
+		names[chunkCount] = new String[2 * CHUNK_SLOTS];
+		chunkCount++;
+	}
+}
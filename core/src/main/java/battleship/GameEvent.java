@@ -0,0 +1,109 @@
+package battleship;
+
+/**
+ * GameEvent class for encoding the events an EventBus carries. An event
+ * packs its type, the acting player, the cell, and either the ShotResult
+ * code of a shot or the ship and orientation of a placement into one long,
+ * so publishing never allocates and a ring of events is a plain long[].
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class GameEvent {
+	// Event types
+	public static final int PLACEMENT = 1;
+	public static final int SHOT = 2;
+
+	// Private class constant values
+	private static final int TYPE_MASK = 0xFF;
+	private static final long PLAYER2_FLAG = 0x100;
+	private static final int CELL_SHIFT = 16;
+	private static final int ORIENTATION_SHIFT = 24;
+	private static final int VALUE_SHIFT = 32;
+	private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+	/**
+	 * Private constructor, GameEvent only has static helpers
+	 */
+	private GameEvent() {
+	}
+
+	/**
+	 * Builds the event for a ship placement
+	 * @param isPlayer1 True if Player 1 placed the ship
+	 * @param ship The reference of the placed ship
+	 * @param cell The starting cell index (row * 10 + col)
+	 * @param o The orientation of the ship
+	 * @return Event
+	 */
+	public static long placement(boolean isPlayer1, char ship, int cell, Orientation o) {
+		return PLACEMENT | (isPlayer1 ? 0 : PLAYER2_FLAG) | ((long) cell << CELL_SHIFT)
+				| ((long) o.ordinal() << ORIENTATION_SHIFT) | ((long) ship << VALUE_SHIFT);
+	}
+
+	/**
+	 * Builds the event for a shot
+	 * @param isPlayer1 True if Player 1 fired the shot
+	 * @param cell The cell index shot (row * 10 + col)
+	 * @param result ShotResult code returned by makeShot
+	 * @return Event
+	 */
+	public static long shot(boolean isPlayer1, int cell, int result) {
+		return SHOT | (isPlayer1 ? 0 : PLAYER2_FLAG) | ((long) cell << CELL_SHIFT) | ((long) result << VALUE_SHIFT);
+	}
+
+	/**
+	 * Returns the type of an event
+	 * @param event The event
+	 * @return PLACEMENT or SHOT
+	 */
+	public static int type(long event) {
+		return (int) event & TYPE_MASK;
+	}
+
+	/**
+	 * Returns whether Player 1 placed the ship or fired the shot
+	 * @param event The event
+	 * @return True for Player 1, false for Player 2
+	 */
+	public static boolean isPlayer1(long event) {
+		return (event & PLAYER2_FLAG) == 0;
+	}
+
+	/**
+	 * Returns the cell of an event
+	 * @param event The event
+	 * @return The cell shot, or the starting cell of a placement
+	 */
+	public static int cell(long event) {
+		return (int) (event >>> CELL_SHIFT) & 0xFF;
+	}
+
+	/**
+	 * Returns the result of a shot event
+	 * @param event A SHOT event
+	 * @return ShotResult code
+	 */
+	public static int result(long event) {
+		return (int) (event >>> VALUE_SHIFT);
+	}
+
+	/**
+	 * Returns the ship of a placement event
+	 * @param event A PLACEMENT event
+	 * @return The ship reference
+	 */
+	public static char ship(long event) {
+		return (char) (event >>> VALUE_SHIFT);
+	}
+
+	/**
+	 * Returns the orientation of a placement event
+	 * @param event A PLACEMENT event
+	 * @return The orientation
+	 */
+	public static Orientation orientation(long event) {
+		return ORIENTATIONS[(int) (event >>> ORIENTATION_SHIFT) & 0xFF];
+	}
+}
@@ -0,0 +1,408 @@
+package battleship;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * GameJournal class for recording every placement and shot of a game in
+ * an append-only, memory-mapped file.
+ *
+ * The file starts with a header holding both player names, followed by
+ * one 8-byte record per event (see JournalReader for the layout). An
+ * append is a single store into the mapped file, so recording a shot
+ * never makes a system call. One background thread, shared by every open
+ * journal, forces the new records of all of them to disk every few
+ * milliseconds, so many events of many games share one pass, and sync
+ * waits for everything appended so far when a caller needs it on disk.
+ * The thread starts with the first open journal and ends with the last.
+ *
+ * The file grows one 64 KiB mapped region at a time, enough for most
+ * games, and unused space reads as zero, which is how a reader finds the
+ * end of the journal after a crash.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class GameJournal implements Closeable {
+	// File layout
+	static final int MAGIC = 0x314A5342; // "BSJ1"
+	static final int VERSION = 1;
+	static final int RECORD_SIZE = 8;
+	static final int REGION_SHIFT = 16;
+	static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+	// Record types
+	public static final int PLACEMENT = 1;
+	public static final int SHOT = 2;
+	public static final int UNDO = 3;
+
+	// Private class constant values
+	private static final long FLUSH_INTERVAL_MILLIS = 10;
+
+	// Flusher state shared by every open journal, guarded by OPEN_LOCK
+	private static final Object OPEN_LOCK = new Object();
+	private static GameJournal[] open = new GameJournal[0];
+	private static Thread flusher;
+	private static boolean syncRequested;
+
+	// Journal state
+	private final Path path;
+	private final FileChannel channel;
+	private final String player1Name;
+	private final String player2Name;
+	private final long firstRecord;
+	private final Object flushLock = new Object();
+	private MappedByteBuffer[] regions;
+	private volatile long position;
+	private volatile long durable;
+	private volatile boolean closed;
+	private volatile UncheckedIOException flushFailure; // why the last flush failed, null once one succeeds
+
+	/**
+	 * Private constructor, use create or open
+	 */
+	private GameJournal(Path path, FileChannel channel, String player1, String player2, long position) {
+		this.path = path;
+		this.channel = channel;
+		this.player1Name = player1;
+		this.player2Name = player2;
+		this.firstRecord = headerSize(player1.getBytes(StandardCharsets.UTF_8).length,
+				player2.getBytes(StandardCharsets.UTF_8).length);
+		this.position = position;
+		this.durable = position;
+		regions = new MappedByteBuffer[0];
+		region(position);
+		register(this);
+	}
+
+	/**
+	 * Private helper that adds a journal to the flusher's list, starting the flusher if it isn't running
+	 */
+	private static void register(GameJournal journal) {
+		synchronized (OPEN_LOCK) {
+			open = Arrays.copyOf(open, open.length + 1);
+			open[open.length - 1] = journal;
+			if (flusher == null) {
+				flusher = new Thread(GameJournal::flushLoop, "journal-flusher");
+				flusher.setDaemon(true);
+				flusher.start();
+			}
+		}
+	}
+
+	/**
+	 * Private helper that takes a closed journal off the flusher's list
+	 */
+	private static void unregister(GameJournal journal) {
+		synchronized (OPEN_LOCK) {
+			GameJournal[] remaining = new GameJournal[open.length - 1];
+			int count = 0;
+			for (GameJournal other : open) {
+				if (other != journal && count < remaining.length) {
+					remaining[count++] = other;
+				}
+			}
+			open = remaining;
+			OPEN_LOCK.notifyAll(); // wakes its syncs, and the flusher so it can stop with the last journal
+		}
+	}
+
+	/**
+	 * Creates a new journal, replacing any file at path
+	 * @param path The journal file
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 * @return Journal ready for appending
+	 * @throws IOException If the file can't be created
+	 */
+	public static GameJournal create(Path path, String player1, String player2) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		byte[] name1 = player1.getBytes(StandardCharsets.UTF_8);
+		byte[] name2 = player2.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer header = ByteBuffer.allocate(headerSize(name1.length, name2.length)).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putShort((short) VERSION).putShort((short) name1.length).putShort((short) name2.length);
+		header.put(name1).put(name2).rewind();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+		channel.force(true);
+		return new GameJournal(path, channel, player1, player2, header.capacity());
+	}
+
+	/**
+	 * Reopens an existing journal to keep appending, after the last complete record
+	 * @param path The journal file
+	 * @return Journal ready for appending
+	 * @throws IOException If the file can't be read or isn't a journal
+	 */
+	public static GameJournal open(Path path) throws IOException {
+		long end;
+		String player1;
+		String player2;
+		try (JournalReader reader = new JournalReader(path)) {
+			while (reader.next()) {
+				// skip to the last complete record
+			}
+			end = reader.getPosition();
+			player1 = reader.getPlayer1Name();
+			player2 = reader.getPlayer2Name();
+		}
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		return new GameJournal(path, channel, player1, player2, end);
+	}
+
+	/**
+	 * Returns the size of a header, rounded up to a whole record
+	 * @param name1Length UTF-8 length of Player 1's name
+	 * @param name2Length UTF-8 length of Player 2's name
+	 * @return Header size in bytes
+	 */
+	static int headerSize(int name1Length, int name2Length) {
+		int size = 10 + name1Length + name2Length;
+		return (size + RECORD_SIZE - 1) / RECORD_SIZE * RECORD_SIZE;
+	}
+
+	/**
+	 * Records a placement
+	 * @param isPlayer1 True for Player 1, false for Player 2
+	 * @param ship The reference of the ship
+	 * @param row The zero-based starting row
+	 * @param col The zero-based starting col
+	 * @param o The orientation of the ship
+	 * @param placed True if the ship was placed
+	 */
+	public void recordPlacement(boolean isPlayer1, char ship, int row, int col, Orientation o, boolean placed) {
+		append(record(PLACEMENT, isPlayer1, row, col) | (long) (ship & 0xFF) << 32
+				| (long) o.ordinal() << 40 | (placed ? 1L : 0L) << 48);
+	}
+
+	/**
+	 * Records a shot
+	 * @param isPlayer1 True for Player 1, false for Player 2
+	 * @param row The zero-based row shot at
+	 * @param col The zero-based col shot at
+	 * @param result ShotResult code returned by makeShot
+	 */
+	public void recordShot(boolean isPlayer1, int row, int col, int result) {
+		append(record(SHOT, isPlayer1, row, col) | (long) (result & 0xFFFF) << 48);
+	}
+
+	/**
+	 * Records that a move was taken back
+	 * @param token The undo token passed to unmake, which fits in 56 bits
+	 */
+	public void recordUndo(long token) {
+		append(UNDO | token << 8);
+	}
+
+	/**
+	 * Private helper for the fields every record has
+	 */
+	private static long record(int type, boolean isPlayer1, int row, int col) {
+		return type | (isPlayer1 ? 0L : 1L) << 8 | (long) (row & 0xFF) << 16 | (long) (col & 0xFF) << 24;
+	}
+
+	/**
+	 * Private helper that stores one record at the end of the journal
+	 */
+	private synchronized void append(long record) {
+		if (closed) {
+			throw new IllegalStateException("Journal is closed: " + path);
+		}
+		long at = position;
+		region(at).putLong((int) (at & (REGION_SIZE - 1)), record);
+		position = at + RECORD_SIZE;
+	}
+
+	/**
+	 * Private helper returning the mapped region holding a position, mapping it if needed
+	 */
+	private MappedByteBuffer region(long at) {
+		int index = (int) (at >>> REGION_SHIFT);
+		if (index >= regions.length) {
+			try {
+				MappedByteBuffer[] grown = Arrays.copyOf(regions, index + 1);
+				for (int i = regions.length; i < grown.length; i++) {
+					grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << REGION_SHIFT, REGION_SIZE);
+					grown[i].order(ByteOrder.LITTLE_ENDIAN);
+				}
+				regions = grown;
+			}
+			catch (IOException e) {
+				throw new IllegalStateException("Can't grow journal: " + path, e);
+			}
+		}
+		return regions[index];
+	}
+
+	/**
+	 * Returns the number of events recorded so far
+	 * @return Event count
+	 */
+	public long getEventCount() {
+		return (position - firstRecord) / RECORD_SIZE;
+	}
+
+	/**
+	 * Returns the number of events known to be on disk
+	 * @return Durable event count
+	 */
+	public long getDurableEventCount() {
+		return (durable - firstRecord) / RECORD_SIZE;
+	}
+
+	/**
+	 * Returns Player 1's name
+	 * @return Player 1's name
+	 */
+	public String getPlayer1Name() {
+		return player1Name;
+	}
+
+	/**
+	 * Returns Player 2's name
+	 * @return Player 2's name
+	 */
+	public String getPlayer2Name() {
+		return player2Name;
+	}
+
+	/**
+	 * Returns the journal file
+	 * @return Path of the journal
+	 */
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Waits until every event recorded so far is on disk
+	 * @throws IllegalStateException If the file can't be forced to disk
+	 */
+	public void sync() {
+		long target = position;
+		synchronized (OPEN_LOCK) {
+			flushFailure = null; // wait for a fresh attempt, not an old failure
+			syncRequested = true;
+			OPEN_LOCK.notifyAll(); // flush now rather than at the next tick
+			while (durable < target && !closed && flushFailure == null) {
+				try {
+					OPEN_LOCK.wait();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+		UncheckedIOException failure = flushFailure;
+		if (durable < target && failure != null) {
+			throw new IllegalStateException("Can't sync journal: " + path, failure.getCause());
+		}
+	}
+
+	/**
+	 * Private loop run by the flusher thread. Each pass forces the new records of
+	 * every open journal, then wakes every sync those records were waited on by.
+	 * A journal whose file can't be forced wakes its syncs with the failure and
+	 * is tried again next pass, without stopping the flush of the others.
+	 */
+	private static void flushLoop() {
+		while (true) {
+			GameJournal[] journals;
+			synchronized (OPEN_LOCK) {
+				if (open.length == 0) {
+					flusher = null;
+					return;
+				}
+				if (!syncRequested) {
+					try {
+						OPEN_LOCK.wait(FLUSH_INTERVAL_MILLIS);
+					}
+					catch (InterruptedException e) {
+						flusher = null;
+						return;
+					}
+				}
+				syncRequested = false;
+				journals = open;
+			}
+			boolean flushed = false;
+			for (GameJournal journal : journals) {
+				if (journal.position != journal.durable) {
+					try {
+						journal.flush();
+						journal.flushFailure = null;
+					}
+					catch (UncheckedIOException e) {
+						journal.flushFailure = e;
+					}
+					flushed = true;
+				}
+			}
+			if (flushed) {
+				synchronized (OPEN_LOCK) {
+					OPEN_LOCK.notifyAll();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Private helper that forces everything appended so far to disk
+	 */
+	private void flush() {
+		long end;
+		MappedByteBuffer[] mapped;
+		synchronized (this) {
+			end = position;
+			mapped = regions;
+		}
+		synchronized (flushLock) { // the flusher and close may both flush a journal
+			long from = durable;
+			while (from < end) {
+				int index = (int) (from >>> REGION_SHIFT);
+				int offset = (int) (from & (REGION_SIZE - 1));
+				int length = (int) Math.min(REGION_SIZE - offset, end - from);
+				mapped[index].force(offset, length);
+				from += length;
+			}
+			durable = Math.max(durable, end);
+		}
+	}
+
+	/**
+	 * Forces every recorded event to disk and closes the journal
+	 * @throws IOException If the file can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		try {
+			flush();
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		finally {
+			unregister(this);
+			channel.close();
+		}
+	}
+}
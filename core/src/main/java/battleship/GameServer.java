@@ -0,0 +1,336 @@
+package battleship;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * GameServer class for hosting many console games over TCP.
+ *
+ * Each connection gets its own GameSession and plays a full two player
+ * game with the same commands as PlayGame, one command per line. A single
+ * thread serves every connection with a non-blocking selector, so a
+ * session only costs its buffers and its model, never a thread.
+ *
+ * A client that stops reading its output stops being read: while a
+ * connection has output queued the server leaves its input in the socket,
+ * so a session never queues more than one command's output. A session
+ * whose queue still passes MAX_PENDING_BYTES is dropped.
+ *
+ * Usage: java -cp battleship-core.jar battleship.GameServer [port]
+ *   with -Dbattleship.salvo=true to play every game with the salvo rule
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class GameServer implements Runnable {
+	// Private class constant values
+	private static final int DEFAULT_PORT = 4000;
+	private static final int READ_BUFFER_SIZE = 1024;
+	private static final int MAX_LINE_LENGTH = 256;
+	private static final int MAX_PENDING_BYTES = 64 * 1024;
+
+	// Server state
+	private Selector selector;
+	private ServerSocketChannel server;
+	private ByteBuffer readBuffer;
+	private boolean salvoRule;
+	private volatile int sessions;
+	private volatile boolean closed;
+
+	/**
+	 * Connection class for the state kept per client
+	 */
+	private static class Connection {
+		private GameSession session;
+		private byte[] line = new byte[MAX_LINE_LENGTH];
+		private int lineLength;
+		private ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+		private int pendingBytes;
+		private ByteBuffer unread; // input read but not parsed while output was waiting
+
+		private Connection(boolean salvoRule) {
+			session = new GameSession(salvoRule);
+		}
+	}
+
+	/**
+	 * Constructor for GameServer with the classic rule, binds the listening socket
+	 * @param address Address to listen on, port 0 picks a free port
+	 * @throws IOException If the socket can't be opened
+	 */
+	public GameServer(InetSocketAddress address) throws IOException {
+		this(address, false);
+	}
+
+	/**
+	 * Constructor for GameServer, binds the listening socket
+	 * @param address Address to listen on, port 0 picks a free port
+	 * @param salvoRule True to play every game with the salvo rule
+	 * @throws IOException If the socket can't be opened
+	 */
+	public GameServer(InetSocketAddress address, boolean salvoRule) throws IOException {
+		this.salvoRule = salvoRule;
+		selector = Selector.open();
+		server = ServerSocketChannel.open();
+		server.bind(address, 1024);
+		server.configureBlocking(false);
+		server.register(selector, SelectionKey.OP_ACCEPT);
+		readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+	}
+
+	/**
+	 * Returns the port the server is listening on
+	 * @return Local port
+	 */
+	public int getPort() {
+		return server.socket().getLocalPort();
+	}
+
+	/**
+	 * Returns the number of connected sessions
+	 * @return Open sessions
+	 */
+	public int getSessionCount() {
+		return sessions;
+	}
+
+	/**
+	 * Serves connections until close is called
+	 */
+	@Override
+	public void run() {
+		try {
+			while (!closed) {
+				selector.select();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (key.isAcceptable()) {
+						accept();
+						continue;
+					}
+					try {
+						if (key.isReadable()) {
+							read(key);
+						}
+						if (key.isValid() && key.isWritable()) {
+							write(key);
+							resume(key);
+						}
+					}
+					catch (IOException | RuntimeException e) { // a failing session only drops its own client
+						disconnect(key);
+					}
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Game server stopped", e);
+		}
+		finally {
+			shutdown();
+		}
+	}
+
+	/**
+	 * Stops the server and drops every connection
+	 */
+	public void close() {
+		closed = true;
+		selector.wakeup();
+	}
+
+	/**
+	 * Private helper that accepts every waiting connection, dropping any that
+	 * fails to start without stopping the server
+	 * @throws IOException If the listening socket fails
+	 */
+	private void accept() throws IOException {
+		SocketChannel channel;
+		while ((channel = server.accept()) != null) {
+			try {
+				channel.configureBlocking(false);
+				channel.socket().setTcpNoDelay(true);
+				Connection connection = new Connection(salvoRule);
+				SelectionKey key = channel.register(selector, SelectionKey.OP_READ, connection);
+				sessions++;
+				send(key, connection);
+			}
+			catch (IOException | RuntimeException e) {
+				SelectionKey key = channel.keyFor(selector);
+				if (key != null) {
+					disconnect(key);
+				}
+				else {
+					try {
+						channel.close();
+					}
+					catch (IOException closeFailure) {
+						// the connection is gone either way
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Private helper that reads from a client and hands each full line to its session
+	 */
+	private void read(SelectionKey key) throws IOException {
+		SocketChannel channel = (SocketChannel) key.channel();
+		Connection connection = (Connection) key.attachment();
+		readBuffer.clear();
+		int read = channel.read(readBuffer);
+		if (read < 0) {
+			disconnect(key);
+			return;
+		}
+
+		readBuffer.flip();
+		parse(key, connection, readBuffer);
+	}
+
+	/**
+	 * Private helper that hands each full line of input to the session, stopping
+	 * while its output waits for the client and keeping the rest of the input
+	 */
+	private void parse(SelectionKey key, Connection connection, ByteBuffer input) throws IOException {
+		while (input.hasRemaining() && !connection.session.isDone() && connection.pending.isEmpty()) {
+			byte b = input.get();
+			if (b == '\n') {
+				int length = connection.lineLength;
+				if (length > 0 && connection.line[length - 1] == '\r') {
+					length--;
+				}
+				connection.session.accept(new String(connection.line, 0, length, StandardCharsets.UTF_8));
+				connection.lineLength = 0;
+				send(key, connection);
+				if (!key.isValid()) {
+					return;
+				}
+			}
+			else if (connection.lineLength < MAX_LINE_LENGTH) {
+				connection.line[connection.lineLength++] = b;
+			}
+			else {
+				disconnect(key); // nobody types a command this long
+				return;
+			}
+		}
+
+		if (!input.hasRemaining() || connection.session.isDone()) {
+			connection.unread = null;
+		}
+		else if (input != connection.unread) {
+			connection.unread = ByteBuffer.allocate(input.remaining());
+			connection.unread.put(input).flip();
+		}
+	}
+
+	/**
+	 * Private helper that goes back to the input kept while output was waiting, once it's all sent
+	 */
+	private void resume(SelectionKey key) throws IOException {
+		Connection connection = (Connection) key.attachment();
+		if (key.isValid() && connection.unread != null && connection.pending.isEmpty()) {
+			parse(key, connection, connection.unread);
+		}
+	}
+
+	/**
+	 * Private helper that queues a session's output and writes what the socket will take
+	 */
+	private void send(SelectionKey key, Connection connection) throws IOException {
+		byte[] output = connection.session.takeOutput();
+		if (output.length > 0) {
+			connection.pending.add(ByteBuffer.wrap(output));
+			connection.pendingBytes += output.length;
+			if (connection.pendingBytes > MAX_PENDING_BYTES) {
+				disconnect(key);
+				return;
+			}
+		}
+		write(key);
+	}
+
+	/**
+	 * Private helper that writes queued output, and closes finished sessions once it's all sent.
+	 * Reading stops while output is queued and starts again once the queue drains.
+	 */
+	private void write(SelectionKey key) throws IOException {
+		SocketChannel channel = (SocketChannel) key.channel();
+		Connection connection = (Connection) key.attachment();
+		ByteBuffer next;
+		while ((next = connection.pending.peek()) != null) {
+			connection.pendingBytes -= channel.write(next);
+			if (next.hasRemaining()) {
+				key.interestOps(SelectionKey.OP_WRITE);
+				return;
+			}
+			connection.pending.poll();
+		}
+
+		if (connection.session.isDone()) {
+			disconnect(key);
+		}
+		else {
+			key.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	/**
+	 * Private helper that closes one connection
+	 */
+	private void disconnect(SelectionKey key) {
+		if (!key.isValid()) {
+			return;
+		}
+		key.cancel();
+		try {
+			key.channel().close();
+		}
+		catch (IOException e) {
+			// the connection is gone either way
+		}
+		sessions--;
+	}
+
+	/**
+	 * Private helper that closes every connection and the listening socket
+	 */
+	private void shutdown() {
+		for (SelectionKey key : selector.keys()) {
+			if (key.attachment() != null) {
+				disconnect(key);
+			}
+		}
+		try {
+			server.close();
+			selector.close();
+		}
+		catch (IOException e) {
+			// nothing left to clean up
+		}
+	}
+
+	/**
+	 * Starts a server
+	 * @param args Optional port, 4000 by default
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		GameServer gameServer = new GameServer(new InetSocketAddress(port), Boolean.getBoolean("battleship.salvo"));
+		System.out.println("Battleship server listening on port " + gameServer.getPort());
+		gameServer.run();
+	}
+}
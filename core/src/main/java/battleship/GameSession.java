@@ -0,0 +1,390 @@
+package battleship;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * GameSession class for running one console game one line at a time.
+ *
+ * Follows the same steps and prints the same text as PlayGame.runGame, but
+ * never blocks waiting for input: each call to accept handles one line and
+ * leaves the reply in an output buffer for the caller to send. This lets
+ * one thread drive any number of games.
+ *
+ * The lines a session accepts form a ScriptRunner script. Players are
+ * assumed to be on ANSI terminals, so R clears the screen with one escape
+ * sequence rather than sending a thousand lines over the network.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class GameSession {
+	// Session states
+	private static final int PLAYER1_NAME = 0;
+	private static final int PLAYER2_NAME = 1;
+	private static final int SETUP = 2;
+	private static final int PLACING = 3;
+	private static final int PLAY = 4;
+	private static final int SHOOTING = 5;
+	private static final int SALVO = 6;
+	private static final int DONE = 7;
+
+	// Output shared with the PlayGame that prints menus and boards
+	private ByteArrayOutputStream buffer;
+	private PrintStream out;
+	private PlayGame console;
+	private BoardRenderer boards;
+	private char[] grid = new char[100]; // reused by every board print
+	private CommandParser parser = new CommandParser(); // splits every line, reused line after line
+
+	// Game state
+	private BattleshipModel game;
+	private String player1Name;
+	private String firstPlayer;
+	private String secondPlayer;
+	private String currentPlayer;
+	private boolean currentTurn;
+	private boolean settingUpFirst;
+	private int shipIndex;
+	private int state;
+
+	/**
+	 * Constructor for GameSession with the classic rule, prints the first prompt
+	 */
+	public GameSession() {
+		this(false);
+	}
+
+	/**
+	 * Constructor for GameSession, prints the first prompt
+	 * @param salvoRule True to play every turn as one salvo (S), false for shots until a miss (T)
+	 */
+	public GameSession(boolean salvoRule) {
+		buffer = new ByteArrayOutputStream(256);
+		out = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+		console = new PlayGame(out, true);
+		console.setSalvoRule(salvoRule);
+		boards = new BoardRenderer(out, true);
+		state = PLAYER1_NAME;
+		out.print("Player 1, enter your name: ");
+	}
+
+	/**
+	 * Handles one line of input
+	 * @param line Line typed by the player, without the line terminator
+	 */
+	public void accept(String line) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		switch (state) {
+			case PLAYER1_NAME:
+				player1Name = line.trim();
+				out.print("Player 2, enter your name: ");
+				state = PLAYER2_NAME;
+				break;
+			case PLAYER2_NAME:
+				startGame(player1Name, line.trim());
+				break;
+			case SETUP:
+				setupCommand(parser.parse(line).getCommand(0));
+				break;
+			case PLACING:
+				parser.parse(line);
+				placeShip();
+				break;
+			case PLAY:
+				parser.parse(line);
+				playCommand();
+				break;
+			case SHOOTING:
+				shoot(parser.parse(line).getCell(0));
+				break;
+			case SALVO:
+				parser.parseTrimmed(line);
+				salvo(0);
+				break;
+			default:
+				break;
+		}
+		if (Metrics.ENABLED) {
+			Metrics.SESSION_COMMAND.recordSince(start);
+		}
+	}
+
+	/**
+	 * Takes everything printed since the last call
+	 * @return UTF-8 bytes of the output
+	 */
+	public byte[] takeOutput() {
+		out.flush();
+		byte[] bytes = buffer.toByteArray();
+		buffer.reset();
+		return bytes;
+	}
+
+	/**
+	 * Returns true once the session has printed its last line
+	 * @return Whether the session is over
+	 */
+	public boolean isDone() {
+		return state == DONE;
+	}
+
+	/**
+	 * Private helper that picks the first player and starts setup, as runGame does
+	 */
+	private void startGame(String player1, String player2) {
+		game = new BattleshipModel(player1, player2);
+		if (console.whoGoesFirst()) {
+			firstPlayer = player1;
+			secondPlayer = player2;
+		}
+		else {
+			firstPlayer = player2;
+			secondPlayer = player1;
+		}
+		out.println(firstPlayer + ", you're going first!");
+		out.println(secondPlayer + ", you're going second!");
+		out.println();
+		startSetup(true);
+	}
+
+	/**
+	 * Private helper that shows the setup menu for one player
+	 */
+	private void startSetup(boolean first) {
+		settingUpFirst = first;
+		console.printMenuSetup(setupPlayer());
+		out.println("Enter command. ");
+		state = SETUP;
+	}
+
+	/**
+	 * Private helper that handles one setup mode command
+	 */
+	private void setupCommand(char command) {
+		String playerID = setupPlayer();
+		switch (command) {
+			case 'M':
+				console.printMenuSetup(playerID);
+				break;
+			case 'E':
+				out.println("OK. We'll exit setup.");
+				if (settingUpFirst) {
+					out.println("Player wants to quit.");
+				}
+				finish();
+				return;
+			case 'S':
+				out.println(playerID + ": place your ships by typing <start square> and <orientation: DD DU V or H> and then pressing ENTER.");
+				shipIndex = 0;
+				state = PLACING;
+				console.printShipPrompt(playerID, game.getFleet().getShipName(shipIndex));
+				return;
+			case 'I':
+				console.printSetupInstructions();
+				break;
+			case 'O':
+				game.fillOffensiveGrid(settingUpFirst, grid);
+				boards.renderChanges(playerID + "'s offensive board.", grid);
+				break;
+			case 'D':
+				game.fillDefensiveGrid(settingUpFirst, grid);
+				boards.renderChanges(playerID + "'s defensive board.", grid);
+				break;
+			case 'R':
+				boards.clearScreen(); // through boards, so it knows no board is pinned any more
+				break;
+			default:
+				out.println("Invalid input. Please try again.");
+				if (Metrics.ENABLED) {
+					Metrics.INVALID_COMMANDS.increment();
+				}
+				break;
+		}
+		out.println("Enter command. ");
+	}
+
+	/**
+	 * Private helper that handles the ship placement in the parser, as place does
+	 */
+	private void placeShip() {
+		String playerID = setupPlayer();
+		String item = game.getFleet().getShipName(shipIndex);
+		if (parser.getTokenCount() == 2) {
+			int cell = parser.getCell(0);
+			Orientation orientation = parser.getOrientation(1);
+			boolean validMove = cell >= 0 && orientation != null
+					&& game.placeShip(settingUpFirst, game.getFleet().getShip(shipIndex).getReference(), cell, orientation);
+			if (!validMove) {
+				out.println("Invalid placement. Try again.");
+				console.printShipPrompt(playerID, item);
+				return;
+			}
+		}
+		else {
+			out.println("Invalid input. Please type <start square> and <orientation - DD DU V or H> and then press ENTER.");
+			console.printShipPrompt(playerID, item);
+			return;
+		}
+
+		out.println();
+		out.println("Here's what your board looks like:");
+		out.println(playerID + "'s defensive board.");
+		game.fillDefensiveGrid(settingUpFirst, grid);
+		boards.render(grid);
+
+		shipIndex++;
+		if (shipIndex < game.getFleet().getShipCount()) {
+			console.printShipPrompt(playerID, game.getFleet().getShipName(shipIndex));
+		}
+		else if (settingUpFirst) {
+			startSetup(false);
+		}
+		else {
+			console.printMenuPlay(firstPlayer, secondPlayer);
+			currentPlayer = firstPlayer;
+			currentTurn = true;
+			promptCommand();
+		}
+	}
+
+	/**
+	 * Private helper that handles the play mode command in the parser
+	 */
+	private void playCommand() {
+		switch (console.playCommand(parser.getCommand(0))) {
+			case 'E':
+				out.println("OK. We'll exit the game.");
+				finish();
+				return;
+			case 'T':
+				state = SHOOTING;
+				promptShot();
+				return;
+			case 'S':
+				if (parser.getTokenCount() == 1) {
+					console.printSalvoPrompt(currentPlayer, game.getSalvoSize(currentTurn));
+					state = SALVO;
+				}
+				else {
+					salvo(1);
+				}
+				return;
+			case 'I':
+				console.printMenuPlay(currentPlayer, secondPlayer);
+				break;
+			case 'O':
+				game.fillOffensiveGrid(currentTurn, grid);
+				boards.renderChanges(currentPlayer + "'s offensive board.", grid);
+				break;
+			case 'D':
+				game.fillDefensiveGrid(currentTurn, grid);
+				boards.renderChanges(currentPlayer + "'s defensive board.", grid);
+				break;
+			case 'R':
+				boards.clearScreen();
+				break;
+			default:
+				out.println("Invalid input. Please try again.");
+				if (Metrics.ENABLED) {
+					Metrics.INVALID_COMMANDS.increment();
+				}
+				break;
+		}
+		promptCommand();
+	}
+
+	/**
+	 * Private helper that handles one shot, as the T command in play does
+	 */
+	private void shoot(int cell) {
+		if (cell < 0) {
+			out.println("Invalid target.");
+			promptShot();
+			return;
+		}
+
+		int shotResult = game.makeShot(currentTurn, cell);
+		String shooterName = currentTurn ? game.getPlayer1Name() : game.getPlayer2Name();
+		int outcome = ShotResult.outcome(shotResult);
+		if (outcome == ShotResult.HIT || outcome == ShotResult.SUNK) {
+			out.println("Congratulations: " + ShotResult.describe(shotResult, shooterName));
+			if (!ShotResult.isGameOver(shotResult)) {
+				promptShot();
+				return;
+			}
+		}
+		else if (outcome == ShotResult.REPEAT) {
+			out.println(ShotResult.describe(shotResult, shooterName));
+			out.println("You fired in the same spot. Please try again.");
+			promptShot();
+			return;
+		}
+		else {
+			out.println(ShotResult.describe(shotResult, shooterName));
+		}
+		endTurn();
+	}
+
+	/**
+	 * Private helper that fires a salvo in one call, as the S command in play does.
+	 * The squares can follow the S on the same line, saving a round trip.
+	 */
+	private void salvo(int from) {
+		if (!console.fireSalvo(game, currentTurn, parser, from)) {
+			console.printSalvoPrompt(currentPlayer, game.getSalvoSize(currentTurn));
+			state = SALVO;
+			return;
+		}
+		endTurn();
+	}
+
+	/**
+	 * Private helper that passes the turn, after a miss, a salvo or the winning shot
+	 */
+	private void endTurn() {
+		currentPlayer = (currentPlayer == firstPlayer) ? secondPlayer : firstPlayer;
+		currentTurn = !currentTurn;
+		out.println(currentPlayer + ": it's your turn now.");
+		if (game.isGameOver()) {
+			finish();
+		}
+		else {
+			promptCommand();
+		}
+	}
+
+	/**
+	 * Private helper returning the player whose board is being set up
+	 */
+	private String setupPlayer() {
+		return settingUpFirst ? firstPlayer : secondPlayer;
+	}
+
+	/**
+	 * Private helper that asks the current player for a command
+	 */
+	private void promptCommand() {
+		out.println(currentPlayer + ": please enter a command.. ");
+		state = PLAY;
+	}
+
+	/**
+	 * Private helper that asks the current player for a target
+	 */
+	private void promptShot() {
+		out.println(currentPlayer + " :take a shot by specifying a square A1 through J10 you have not yet fired on.");
+		state = SHOOTING;
+	}
+
+	/**
+	 * Private helper that ends the session
+	 */
+	private void finish() {
+		boards.unpin();
+		out.println("Thanks for playing.");
+		state = DONE;
+	}
+}
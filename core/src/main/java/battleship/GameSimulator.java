@@ -0,0 +1,237 @@
+package battleship;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * GameSimulator class for playing large numbers of complete games
+ * without any console I/O.
+ *
+ * Games are split across a fork/join pool. Every split hands one half a
+ * SplittableRandom split from its parent before anything is forked, so
+ * each game sees the same random stream no matter which worker runs it
+ * and a run is reproducible from its seed.
+ *
+ * Usage: java -cp battleship-core.jar battleship.GameSimulator [games] [seed] [random|probability]
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class GameSimulator {
+	// Simulation setup
+	private Supplier<? extends BattleshipModelInterface> models;
+	private Supplier<? extends PlacementStrategy> player1Placement;
+	private Supplier<? extends ShootingStrategy> player1Shooting;
+	private Supplier<? extends PlacementStrategy> player2Placement;
+	private Supplier<? extends ShootingStrategy> player2Shooting;
+	private ForkJoinPool pool;
+
+	// Game outcomes returned by playGame
+	public static final int UNFINISHED = 0;
+	public static final int PLAYER1_WON = 1;
+	public static final int PLAYER2_WON = 2;
+
+	// Private class constant values
+	private static final int GAMES_PER_TASK = 512;
+	private static final int MAX_SHOTS_PER_GAME = 1000;
+
+	/**
+	 * Constructor for GameSimulator where both players use the same strategies
+	 * @param models Creates a fresh model for each game
+	 * @param placement Creates the placement strategy for each worker
+	 * @param shooting Creates the shooting strategy for each worker
+	 */
+	public GameSimulator(Supplier<? extends BattleshipModelInterface> models,
+			Supplier<? extends PlacementStrategy> placement, Supplier<? extends ShootingStrategy> shooting) {
+		this(models, placement, shooting, placement, shooting);
+	}
+
+	/**
+	 * Constructor for GameSimulator
+	 * @param models Creates a fresh model for each game
+	 * @param player1Placement Creates Player 1's placement strategy for each worker
+	 * @param player1Shooting Creates Player 1's shooting strategy for each worker
+	 * @param player2Placement Creates Player 2's placement strategy for each worker
+	 * @param player2Shooting Creates Player 2's shooting strategy for each worker
+	 */
+	public GameSimulator(Supplier<? extends BattleshipModelInterface> models,
+			Supplier<? extends PlacementStrategy> player1Placement, Supplier<? extends ShootingStrategy> player1Shooting,
+			Supplier<? extends PlacementStrategy> player2Placement, Supplier<? extends ShootingStrategy> player2Shooting) {
+		this.models = models;
+		this.player1Placement = player1Placement;
+		this.player1Shooting = player1Shooting;
+		this.player2Placement = player2Placement;
+		this.player2Shooting = player2Shooting;
+		this.pool = ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Plays a number of games across all cores
+	 * @param games The number of games to play
+	 * @param seed The seed every random stream is split from
+	 * @return Aggregate statistics for the run
+	 */
+	public SimulationStats run(long games, long seed) {
+		long start = System.nanoTime();
+		SimulationStats stats = pool.invoke(new SimulationTask(0, games, new SplittableRandom(seed)));
+		stats.setElapsedNanos(System.nanoTime() - start);
+		return stats;
+	}
+
+	/**
+	 * Plays one complete game, drawing who shoots first. A player keeps shooting
+	 * after a hit or a repeated cell, as in PlayGame, and the turn passes on a miss.
+	 * @param game A fresh model to play on
+	 * @param player1Placement Player 1's placement strategy
+	 * @param player1Shooting Player 1's shooting strategy, reset by this method
+	 * @param player2Placement Player 2's placement strategy
+	 * @param player2Shooting Player 2's shooting strategy, reset by this method
+	 * @param random The random stream for the game
+	 * @param stats Where to record the game, or null
+	 * @return PLAYER1_WON, PLAYER2_WON, or UNFINISHED if the shot limit was reached
+	 */
+	public static int playGame(BattleshipModelInterface game,
+			PlacementStrategy player1Placement, ShootingStrategy player1Shooting,
+			PlacementStrategy player2Placement, ShootingStrategy player2Shooting,
+			SplittableRandom random, SimulationStats stats) {
+		player1Placement.placeFleet(game, true, random);
+		player2Placement.placeFleet(game, false, random);
+		return playShots(game, player1Shooting, player2Shooting, random.nextBoolean(), random, stats);
+	}
+
+	/**
+	 * Plays one complete game with a chosen first shooter, e.g. to alternate it
+	 * between the games of a match
+	 * @param game A fresh model to play on
+	 * @param player1Placement Player 1's placement strategy
+	 * @param player1Shooting Player 1's shooting strategy, reset by this method
+	 * @param player2Placement Player 2's placement strategy
+	 * @param player2Shooting Player 2's shooting strategy, reset by this method
+	 * @param player1First True if Player 1 shoots first, False if Player 2 does
+	 * @param random The random stream for the game
+	 * @param stats Where to record the game, or null
+	 * @return PLAYER1_WON, PLAYER2_WON, or UNFINISHED if the shot limit was reached
+	 */
+	public static int playGame(BattleshipModelInterface game,
+			PlacementStrategy player1Placement, ShootingStrategy player1Shooting,
+			PlacementStrategy player2Placement, ShootingStrategy player2Shooting,
+			boolean player1First, SplittableRandom random, SimulationStats stats) {
+		player1Placement.placeFleet(game, true, random);
+		player2Placement.placeFleet(game, false, random);
+		return playShots(game, player1Shooting, player2Shooting, player1First, random, stats);
+	}
+
+	/**
+	 * Private helper that plays a game with both fleets placed until it ends or hits the shot limit
+	 */
+	private static int playShots(BattleshipModelInterface game, ShootingStrategy player1Shooting,
+			ShootingStrategy player2Shooting, boolean player1WentFirst, SplittableRandom random, SimulationStats stats) {
+		player1Shooting.reset();
+		player2Shooting.reset();
+
+		boolean isPlayer1 = player1WentFirst;
+		int player1Shots = 0;
+		int player2Shots = 0;
+
+		while (!game.isGameOver() && player1Shots + player2Shots < MAX_SHOTS_PER_GAME) {
+			ShootingStrategy shooter = isPlayer1 ? player1Shooting : player2Shooting;
+			int cell = shooter.nextShot(random);
+			int result = game.makeShot(isPlayer1, cell);
+			shooter.shotResult(cell, result);
+
+			if (isPlayer1) {
+				player1Shots++;
+			} else {
+				player2Shots++;
+			}
+			if (ShotResult.outcome(result) == ShotResult.MISS) {
+				isPlayer1 = !isPlayer1;
+			}
+		}
+
+		if (!game.isGameOver()) {
+			if (stats != null) {
+				stats.recordUnfinishedGame(player1Shots + player2Shots);
+			}
+			return UNFINISHED;
+		}
+
+		// the game ends on a hit, so whoever holds the turn fired the winning shot
+		if (stats != null) {
+			stats.recordGame(isPlayer1, player1WentFirst, isPlayer1 ? player1Shots : player2Shots,
+					player1Shots + player2Shots);
+		}
+		return isPlayer1 ? PLAYER1_WON : PLAYER2_WON;
+	}
+
+	/**
+	 * Fork/join task playing a contiguous range of games
+	 */
+	private class SimulationTask extends RecursiveTask<SimulationStats> {
+		private static final long serialVersionUID = 1L;
+
+		private final long first;
+		private final long count;
+		private final SplittableRandom random;
+
+		/**
+		 * Constructor for SimulationTask
+		 * @param first Index of the first game in the range
+		 * @param count Number of games in the range
+		 * @param random The random stream owned by this range
+		 */
+		SimulationTask(long first, long count, SplittableRandom random) {
+			this.first = first;
+			this.count = count;
+			this.random = random;
+		}
+
+		@Override
+		protected SimulationStats compute() {
+			if (count > GAMES_PER_TASK) {
+				long half = count / 2;
+				SimulationTask left = new SimulationTask(first, half, random.split());
+				SimulationTask right = new SimulationTask(first + half, count - half, random);
+				left.fork();
+				SimulationStats stats = right.compute();
+				stats.merge(left.join());
+				return stats;
+			}
+
+			PlacementStrategy p1Placement = player1Placement.get();
+			ShootingStrategy p1Shooting = player1Shooting.get();
+			PlacementStrategy p2Placement = player2Placement.get();
+			ShootingStrategy p2Shooting = player2Shooting.get();
+			SimulationStats stats = new SimulationStats();
+			for (long i = 0; i < count; i++) {
+				playGame(models.get(), p1Placement, p1Shooting, p2Placement, p2Shooting, random, stats);
+			}
+			return stats;
+		}
+	}
+
+	/**
+	 * Runs a simulation and prints the statistics
+	 * @param args Optional number of games, seed, and shooting strategy for both players
+	 */
+	public static void main(String[] args) {
+		long games = (args.length > 0) ? Long.parseLong(args[0]) : 1000000;
+		long seed = (args.length > 1) ? Long.parseLong(args[1]) : 42;
+		String shooter = (args.length > 2) ? args[2] : "random";
+
+		Supplier<ShootingStrategy> shooting;
+		if (shooter.equals("probability")) {
+			shooting = ProbabilityShootingStrategy::new;
+		} else {
+			shooting = RandomShootingStrategy::new;
+		}
+		GameSimulator simulator = new GameSimulator(
+				() -> new BitboardBattleshipModel("Player 1", "Player 2"),
+				FleetGenerator::new, shooting);
+		System.out.println("Seed " + seed + ", " + ForkJoinPool.getCommonPoolParallelism() + " workers");
+		System.out.print(simulator.run(games, seed).report());
+	}
+}
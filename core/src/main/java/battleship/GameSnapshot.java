@@ -0,0 +1,279 @@
+package battleship;
+
+/**
+ * GameSnapshot class for checkpointing a BattleshipModel into a few dozen
+ * bytes and restoring it.
+ *
+ * A snapshot is a version byte followed by a little-endian bit stream:
+ *   1 bit             isGameOver
+ *   2 x 6 bits        ships afloat for Player 1 and Player 2
+ *   2 x 6 bits        ships placed for Player 1 and Player 2
+ *   2 x 100 bits      shot layers for Player 1 and Player 2
+ *   15 bits per ship  12-bit PlacementMasks id and 3-bit damage,
+ *                     Player 1's ships first, in placement order
+ * The standard five-ship fleets take 48 bytes. Player names are not
+ * part of the snapshot; they are passed back in on restore, along with
+ * the fleet in the model restored into. Ships are restored by length, so
+ * that fleet needs one ship type per length.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public final class GameSnapshot {
+	// Format version written in the first byte
+	public static final int VERSION = 1;
+
+	// Private class constant values for the packed layout
+	private static final int COUNT_BITS = 6;
+	private static final int ID_BITS = 12;
+	private static final int DAMAGE_BITS = 3;
+	private static final int HEADER_BITS = 8 + 1 + 4 * COUNT_BITS + 2 * 100;
+	private static final int SHIP_BITS = ID_BITS + DAMAGE_BITS;
+
+	// Size of a snapshot of two standard fleets
+	public static final int STANDARD_SIZE = size(5, 5);
+
+	/**
+	 * Private constructor, GameSnapshot only has static helpers
+	 */
+	private GameSnapshot() {
+	}
+
+	/**
+	 * Returns the size of a snapshot
+	 * @param player1Ships Number of ships Player 1 has placed
+	 * @param player2Ships Number of ships Player 2 has placed
+	 * @return Snapshot size in bytes
+	 */
+	public static int size(int player1Ships, int player2Ships) {
+		return (HEADER_BITS + SHIP_BITS * (player1Ships + player2Ships) + 7) / 8;
+	}
+
+	/**
+	 * Returns the size of a snapshot of a game
+	 * @param game The game
+	 * @return Snapshot size in bytes
+	 */
+	public static int size(BattleshipModel game) {
+		return size(game.getPlacementCount(true), game.getPlacementCount(false));
+	}
+
+	/**
+	 * Takes a snapshot of a game
+	 * @param game The game
+	 * @return New snapshot
+	 */
+	public static byte[] write(BattleshipModel game) {
+		byte[] snapshot = new byte[size(game)];
+		write(game, snapshot, 0);
+		return snapshot;
+	}
+
+	/**
+	 * Takes a snapshot of a game into an existing buffer
+	 * @param game The game
+	 * @param buffer Buffer with at least size(game) bytes free at offset
+	 * @param offset Where the snapshot starts
+	 * @return Number of bytes written
+	 */
+	public static int write(BattleshipModel game, byte[] buffer, int offset) {
+		BitWriter out = new BitWriter(buffer, offset);
+		out.put(VERSION, 8);
+		out.put(game.isGameOver() ? 1 : 0, 1);
+		out.put(game.getShipCount(true), COUNT_BITS);
+		out.put(game.getShipCount(false), COUNT_BITS);
+		out.put(game.getPlacementCount(true), COUNT_BITS);
+		out.put(game.getPlacementCount(false), COUNT_BITS);
+		for (int player = 0; player < 2; player++) {
+			long lo = game.getShotsLo(player == 0);
+			out.put(lo & 0xFFFFFFFFL, 32);
+			out.put(lo >>> 32, 32);
+			out.put(game.getShotsHi(player == 0), 36);
+		}
+		for (int player = 0; player < 2; player++) {
+			boolean isPlayer1 = player == 0;
+			for (int i = 0; i < game.getPlacementCount(isPlayer1); i++) {
+				int id = game.getPlacement(isPlayer1, i);
+				out.put(id, ID_BITS);
+				out.put(game.getDamage(isPlayer1, i), DAMAGE_BITS);
+			}
+		}
+		return out.finish() - offset;
+	}
+
+	/**
+	 * Restores a game from a snapshot
+	 * @param buffer Buffer holding the snapshot
+	 * @param offset Where the snapshot starts
+	 * @param player1 The name of Player 1
+	 * @param player2 The name of Player 2
+	 * @return New game in the snapshot's state
+	 * @throws IllegalArgumentException If the snapshot has another version or is corrupt
+	 */
+	public static BattleshipModel read(byte[] buffer, int offset, String player1, String player2) {
+		BattleshipModel game = new BattleshipModel(player1, player2);
+		read(buffer, offset, game);
+		return game;
+	}
+
+	/**
+	 * Restores a snapshot into an existing game, replacing its state but keeping its
+	 * player names. Reusing a model avoids building a new board for every restore.
+	 * The whole snapshot is checked before the game is touched, so a corrupt one
+	 * leaves the game as it was. The state is set directly rather than through
+	 * placeShip and makeShot, so a JournaledBattleshipModel's journal doesn't see it.
+	 * @param buffer Buffer holding the snapshot
+	 * @param offset Where the snapshot starts
+	 * @param game The game to overwrite
+	 * @throws IllegalArgumentException If the snapshot has another version or is corrupt
+	 */
+	public static void read(byte[] buffer, int offset, BattleshipModel game) {
+		if (buffer.length - offset < size(0, 0)) {
+			throw new IllegalArgumentException("Corrupt snapshot: truncated");
+		}
+		BitReader in = new BitReader(buffer, offset);
+		int version = (int) in.get(8);
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+		}
+		boolean gameOver = in.get(1) == 1;
+		int player1Ships = (int) in.get(COUNT_BITS);
+		int player2Ships = (int) in.get(COUNT_BITS);
+		int player1Placed = (int) in.get(COUNT_BITS);
+		int player2Placed = (int) in.get(COUNT_BITS);
+		long player1ShotsLo = in.get(32) | in.get(32) << 32;
+		long player1ShotsHi = in.get(36);
+		long player2ShotsLo = in.get(32) | in.get(32) << 32;
+		long player2ShotsHi = in.get(36);
+		if (buffer.length - offset < size(player1Placed, player2Placed)) {
+			throw new IllegalArgumentException("Corrupt snapshot: truncated");
+		}
+		BitReader ships = in.copy();
+		checkShips(ships, game.getFleet(), player1Placed, player1Ships);
+		checkShips(ships, game.getFleet(), player2Placed, player2Ships);
+
+		game.clear();
+		for (int player = 0; player < 2; player++) {
+			boolean isPlayer1 = player == 0;
+			int placed = (isPlayer1) ? player1Placed : player2Placed;
+			for (int i = 0; i < placed; i++) {
+				int id = (int) in.get(ID_BITS);
+				game.restorePlacement(isPlayer1, id, (int) in.get(DAMAGE_BITS));
+			}
+		}
+		game.restoreShots(true, player1ShotsLo, player1ShotsHi);
+		game.restoreShots(false, player2ShotsLo, player2ShotsHi);
+		game.restoreCounts(player1Ships, player2Ships, gameOver);
+	}
+
+	/**
+	 * Private helper that checks one player's ships: each must be a legal placement
+	 * of a fleet ship type, clear of the others, with no more damage than squares,
+	 * and the ships left unsunk must match the ships afloat
+	 */
+	private static void checkShips(BitReader in, FleetSpec fleet, int placed, int afloat) {
+		long occupiedLo = 0;
+		long occupiedHi = 0;
+		int sunk = 0;
+		for (int i = 0; i < placed; i++) {
+			int id = (int) in.get(ID_BITS);
+			int damage = (int) in.get(DAMAGE_BITS);
+			int length = PlacementMasks.length(id);
+			boolean legal = length <= AircraftCarrier.LENGTH && PlacementMasks.isLegal(id);
+			if (!legal || fleet.getTypeByLength(length) == null || PlacementMasks.overlaps(id, occupiedLo, occupiedHi)
+					|| damage > length) {
+				throw new IllegalArgumentException("Corrupt snapshot: bad placement " + id);
+			}
+			occupiedLo |= PlacementMasks.lo(id);
+			occupiedHi |= PlacementMasks.hi(id);
+			if (damage == length) {
+				sunk++;
+			}
+		}
+		if (placed - sunk != afloat) {
+			throw new IllegalArgumentException("Corrupt snapshot: " + afloat + " ships afloat of " + placed + " with "
+					+ sunk + " sunk");
+		}
+	}
+
+	/**
+	 * BitWriter class for packing fields into bytes, lowest bit first
+	 */
+	private static final class BitWriter {
+		private byte[] buffer;
+		private int position;
+		private long pending;
+		private int pendingBits;
+
+		private BitWriter(byte[] buffer, int offset) {
+			this.buffer = buffer;
+			this.position = offset;
+		}
+
+		/**
+		 * Appends the low bits of a value, at most 56 bits at a time
+		 */
+		private void put(long value, int bits) {
+			pending |= (value & ((1L << bits) - 1)) << pendingBits;
+			pendingBits += bits;
+			while (pendingBits >= 8) {
+				buffer[position++] = (byte) pending;
+				pending >>>= 8;
+				pendingBits -= 8;
+			}
+		}
+
+		/**
+		 * Writes any partial last byte
+		 * @return Position after the last byte written
+		 */
+		private int finish() {
+			if (pendingBits > 0) {
+				buffer[position++] = (byte) pending;
+				pending = 0;
+				pendingBits = 0;
+			}
+			return position;
+		}
+	}
+
+	/**
+	 * BitReader class for unpacking fields written by BitWriter
+	 */
+	private static final class BitReader {
+		private byte[] buffer;
+		private int position;
+		private long pending;
+		private int pendingBits;
+
+		private BitReader(byte[] buffer, int offset) {
+			this.buffer = buffer;
+			this.position = offset;
+		}
+
+		/**
+		 * Returns a reader that continues from the same place
+		 */
+		private BitReader copy() {
+			BitReader copy = new BitReader(buffer, position);
+			copy.pending = pending;
+			copy.pendingBits = pendingBits;
+			return copy;
+		}
+
+		/**
+		 * Reads the next value, at most 56 bits at a time
+		 */
+		private long get(int bits) {
+			while (pendingBits < bits) {
+				pending |= (buffer[position++] & 0xFFL) << pendingBits;
+				pendingBits += 8;
+			}
+			long value = pending & ((1L << bits) - 1);
+			pending >>>= bits;
+			pendingBits -= bits;
+			return value;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package battleship;
+
+/**
+ * GridView class for a caller-owned copy of one player's offensive or
+ * defensive grid, kept up to date by GridViewSource.refresh. After each
+ * refresh the view lists the cells that changed, so a spectator feed
+ * can forward just those cells.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public final class GridView {
+	// What the view shows
+	private final boolean isPlayer1;
+	private final boolean offensive;
+	private final char[] grid;
+
+	// Cells changed by the last refresh, and the version the grid is at
+	private final int[] changedCells;
+	private int changeCount;
+	private long version;
+
+	// Copies a concurrent model reads into before touching the grid, kept between refreshes
+	private char[] fillScratch;
+	private int[] changeScratch;
+
+	// Private class constant values
+	private static final int CELLS = 100;
+
+	/**
+	 * Constructor for GridView with its own buffer
+	 * @param isPlayer1 True for Player 1's grid, False for Player 2's
+	 * @param offensive True for the offensive grid, False for the defensive grid
+	 */
+	public GridView(boolean isPlayer1, boolean offensive) {
+		this(isPlayer1, offensive, new char[CELLS]);
+	}
+
+	/**
+	 * Constructor for GridView
+	 * @param isPlayer1 True for Player 1's grid, False for Player 2's
+	 * @param offensive True for the offensive grid, False for the defensive grid
+	 * @param grid Buffer of at least 100 chars to keep the grid in
+	 */
+	public GridView(boolean isPlayer1, boolean offensive, char[] grid) {
+		this.isPlayer1 = isPlayer1;
+		this.offensive = offensive;
+		this.grid = grid;
+		changedCells = new int[CELLS];
+		version = -1;
+	}
+
+	/**
+	 * Returns whether the view shows Player 1's grid
+	 * @return True for Player 1, False for Player 2
+	 */
+	public boolean isPlayer1() {
+		return isPlayer1;
+	}
+
+	/**
+	 * Returns whether the view shows an offensive grid
+	 * @return True for the offensive grid, False for the defensive grid
+	 */
+	public boolean isOffensive() {
+		return offensive;
+	}
+
+	/**
+	 * Returns the grid buffer
+	 * @return Grid values, in the same layout as getOffensiveGrid
+	 */
+	public char[] getGrid() {
+		return grid;
+	}
+
+	/**
+	 * Returns the grid version the view is at, -1 before the first refresh
+	 * @return Grid version
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the number of cells the last refresh changed
+	 * @return Changed cell count
+	 */
+	public int getChangeCount() {
+		return changeCount;
+	}
+
+	/**
+	 * Returns one of the cells the last refresh changed
+	 * @param index Index from 0 to getChangeCount() - 1
+	 * @return Cell index (row * 10 + col)
+	 */
+	public int getChangedCell(int index) {
+		return changedCells[index];
+	}
+
+	/**
+	 * Returns the change log code of the grid this view shows
+	 * @return 0 and 1 for Player 1's offensive and defensive grids, 2 and 3 for Player 2's
+	 */
+	int code() {
+		return (isPlayer1 ? 0 : 2) + (offensive ? 0 : 1);
+	}
+
+	/**
+	 * Returns a buffer for a whole grid read before the refresh applies it
+	 * @return Scratch buffer of 100 chars
+	 */
+	char[] fillScratch() {
+		if (fillScratch == null) {
+			fillScratch = new char[CELLS];
+		}
+		return fillScratch;
+	}
+
+	/**
+	 * Returns a buffer for change log entries read before the refresh applies them
+	 * @param count The number of entries it must hold
+	 * @return Scratch buffer of at least count entries
+	 */
+	int[] changeScratch(int count) {
+		if (changeScratch == null || changeScratch.length < count) {
+			changeScratch = new int[Math.max(count, 4 * CELLS)]; // a game logs at most four changes per cell
+		}
+		return changeScratch;
+	}
+
+	/**
+	 * Starts a refresh, forgetting the cells changed by the previous one
+	 */
+	void startRefresh() {
+		changeCount = 0;
+	}
+
+	/**
+	 * Sets one cell during a refresh
+	 * @param cell The cell index
+	 * @param value The new grid value
+	 */
+	void change(int cell, char value) {
+		grid[cell] = value;
+		changedCells[changeCount++] = cell;
+	}
+
+	/**
+	 * Ends a refresh after the whole grid was filled
+	 * @param version The version the grid is now at
+	 */
+	void filled(long version) {
+		for (int cell = 0; cell < CELLS; cell++) {
+			changedCells[cell] = cell;
+		}
+		changeCount = CELLS;
+		this.version = version;
+	}
+
+	/**
+	 * Ends a refresh that applied changes
+	 * @param version The version the grid is now at
+	 */
+	void finishRefresh(long version) {
+		this.version = version;
+	}
+}
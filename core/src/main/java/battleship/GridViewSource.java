@@ -0,0 +1,43 @@
+package battleship;
+
+/**
+ * Models that can fill caller-supplied grid buffers and report which
+ * cells changed since an earlier version, so a view that is polled
+ * often only pays for what actually changed.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public interface GridViewSource {
+
+	/**
+	 * Returns the current grid version. It goes up by one for every
+	 * square that changes on any of the four grids.
+	 * @return Grid version
+	 */
+	public long getGridVersion();
+
+	/**
+	 * Fills a buffer with a player's offensive grid, as getOffensiveGrid returns it
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param grid Buffer of at least 100 chars
+	 */
+	public void fillOffensiveGrid(boolean isPlayer1, char[] grid);
+
+	/**
+	 * Fills a buffer with a player's defensive grid, as getDefensiveGrid returns it
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @param grid Buffer of at least 100 chars
+	 */
+	public void fillDefensiveGrid(boolean isPlayer1, char[] grid);
+
+	/**
+	 * Brings a view up to date. Only the cells that changed since the
+	 * view's version are written, and those cells are listed in the view.
+	 * A view that was never refreshed, or is too old for the change log,
+	 * is filled in full and lists all 100 cells.
+	 * @param view The view to update
+	 */
+	public void refresh(GridView view);
+}
@@ -0,0 +1,106 @@
+package battleship;
+
+import java.util.SplittableRandom;
+
+/**
+ * HuntTargetShootingStrategy hunts on one color of the checkerboard, in a
+ * random order, and after every hit targets the eight squares around it
+ * before hunting again. Every ship covers at least one square of each
+ * color except a diagonal one, so the other color is hunted last.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class HuntTargetShootingStrategy implements ShootingStrategy {
+	// Hunt order, one color of the checkerboard and then the other
+	private int[] order;
+	private int hunted;
+
+	// Squares to target next, most recent hit's neighbours on top
+	private int[] targets;
+	private int targetCount;
+
+	private boolean[] shot;
+
+	// Private class constant values
+	private static final int BOARD_SIZE = 10;
+	private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+	private static final int[] NEIGHBOUR_ROWS = {-1, -1, -1, 0, 0, 1, 1, 1};
+	private static final int[] NEIGHBOUR_COLS = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+	/**
+	 * Constructor for HuntTargetShootingStrategy
+	 */
+	public HuntTargetShootingStrategy() {
+		order = new int[CELLS];
+		targets = new int[CELLS * NEIGHBOUR_ROWS.length];
+		shot = new boolean[CELLS];
+		reset();
+	}
+
+	/**
+	 * Forgets everything about the previous game
+	 */
+	public void reset() {
+		int even = 0;
+		int odd = CELLS / 2;
+		for (int cell = 0; cell < CELLS; cell++) {
+			if ((cell / BOARD_SIZE + cell % BOARD_SIZE) % 2 == 0) {
+				order[even++] = cell;
+			} else {
+				order[odd++] = cell;
+			}
+			shot[cell] = false;
+		}
+		hunted = 0;
+		targetCount = 0;
+	}
+
+	/**
+	 * Fires at the newest target left, or hunts a random square of the current color
+	 * @param random The random stream to draw from
+	 * @return Cell index to shoot
+	 */
+	public int nextShot(SplittableRandom random) {
+		while (targetCount > 0) {
+			int cell = targets[--targetCount];
+			if (!shot[cell]) {
+				return cell;
+			}
+		}
+		while (hunted < CELLS) {
+			// swap a random square of this color's unhunted range to its front
+			int end = (hunted < CELLS / 2) ? CELLS / 2 : CELLS;
+			int pick = hunted + random.nextInt(end - hunted);
+			int cell = order[pick];
+			order[pick] = order[hunted];
+			order[hunted++] = cell;
+			if (!shot[cell]) {
+				return cell;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Queues the squares around a hit
+	 * @param cell The cell index that was shot
+	 * @param result ShotResult code returned by makeShot
+	 */
+	public void shotResult(int cell, int result) {
+		shot[cell] = true;
+		if (!ShotResult.isHit(result)) {
+			return;
+		}
+		int row = cell / BOARD_SIZE;
+		int col = cell % BOARD_SIZE;
+		for (int i = 0; i < NEIGHBOUR_ROWS.length; i++) {
+			int r = row + NEIGHBOUR_ROWS[i];
+			int c = col + NEIGHBOUR_COLS[i];
+			if (r >= 0 && r < BOARD_SIZE && c >= 0 && c < BOARD_SIZE && !shot[r * BOARD_SIZE + c]) {
+				targets[targetCount++] = r * BOARD_SIZE + c;
+			}
+		}
+	}
+}
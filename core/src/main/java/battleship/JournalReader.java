@@ -0,0 +1,263 @@
+package battleship;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * JournalReader class for reading a GameJournal and replaying it.
+ *
+ * Each record is one little-endian long:
+ *   bits 0-7    type (GameJournal.PLACEMENT, GameJournal.SHOT or GameJournal.UNDO)
+ *   bits 8-15   player (0 for Player 1, 1 for Player 2)
+ *   bits 16-23  zero-based row
+ *   bits 24-31  zero-based col
+ *   bits 32-39  ship reference (placements)
+ *   bits 40-47  orientation ordinal (placements)
+ *   bits 48-63  1 if placed (placements) or the ShotResult code (shots)
+ * except that an undo holds the UndoToken passed to unmake in bits 8-63.
+ * The first record that is zero, or has an unknown type, ends the journal.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class JournalReader implements Closeable {
+	// Reader state
+	private FileChannel channel;
+	private long size;
+	private MappedByteBuffer region;
+	private long regionIndex;
+	private String player1Name;
+	private String player2Name;
+	private long position;
+	private long events;
+	private long record;
+
+	/**
+	 * Constructor for JournalReader, reads the header
+	 * @param path The journal file
+	 * @throws IOException If the file can't be read or isn't a journal
+	 */
+	public JournalReader(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		size = channel.size();
+		regionIndex = -1;
+
+		ByteBuffer header = ByteBuffer.allocate(10).order(ByteOrder.LITTLE_ENDIAN);
+		if (channel.read(header, 0) < 10 || header.getInt(0) != GameJournal.MAGIC) {
+			channel.close();
+			throw new IOException("Not a game journal: " + path);
+		}
+		if (header.getShort(4) != GameJournal.VERSION) {
+			channel.close();
+			throw new IOException("Unsupported journal version " + header.getShort(4) + ": " + path);
+		}
+		byte[] name1 = new byte[header.getShort(6)];
+		byte[] name2 = new byte[header.getShort(8)];
+		channel.read(ByteBuffer.wrap(name1), 10);
+		channel.read(ByteBuffer.wrap(name2), 10 + name1.length);
+		player1Name = new String(name1, StandardCharsets.UTF_8);
+		player2Name = new String(name2, StandardCharsets.UTF_8);
+		position = GameJournal.headerSize(name1.length, name2.length);
+	}
+
+	/**
+	 * Replays a journal into a new BattleshipModel
+	 * @param path The journal file
+	 * @param events Number of events to replay, Long.MAX_VALUE for all of them
+	 * @return Model in the state it was in after that many events
+	 * @throws IOException If the file can't be read or doesn't replay to the recorded results
+	 */
+	public static BattleshipModel replay(Path path, long events) throws IOException {
+		try (JournalReader reader = new JournalReader(path)) {
+			BattleshipModel game = new BattleshipModel(reader.getPlayer1Name(), reader.getPlayer2Name());
+			reader.replay(game, events);
+			return game;
+		}
+	}
+
+	/**
+	 * Applies the next events to a model, checking each result against the journal
+	 * @param game Model to apply the events to, a BattleshipModel if the journal holds undos
+	 * @param events Maximum number of events to apply
+	 * @return Number of events applied
+	 * @throws IOException If a result differs from the recorded one or an undo can't be applied
+	 */
+	public long replay(BattleshipModelInterface game, long events) throws IOException {
+		long applied = 0;
+		while (applied < events && next()) {
+			if (getType() == GameJournal.UNDO) {
+				if (!(game instanceof BattleshipModel)) {
+					throw new IOException("Undo " + this.events + " can only be replayed on a BattleshipModel");
+				}
+				try {
+					((BattleshipModel) game).unmake(getUndoToken());
+				}
+				catch (IllegalStateException e) {
+					throw new IOException("Undo " + this.events + " did not replay as recorded", e);
+				}
+			}
+			else if (getType() == GameJournal.PLACEMENT) {
+				boolean placed = game.placeShip(isPlayer1(), getShip(), getRow(), getCol(), getOrientation());
+				if (placed != isPlaced()) {
+					throw new IOException("Placement " + this.events + " did not replay as recorded");
+				}
+			}
+			else {
+				int result = game.makeShot(isPlayer1(), getRow(), getCol());
+				if ((result & 0xFFFF) != getResult()) {
+					throw new IOException("Shot " + this.events + " did not replay as recorded");
+				}
+			}
+			applied++;
+		}
+		return applied;
+	}
+
+	/**
+	 * Moves to the next record
+	 * @return True if there was another complete record, false at the end of the journal
+	 * @throws IOException If the file can't be read
+	 */
+	public boolean next() throws IOException {
+		if (position + GameJournal.RECORD_SIZE > size) {
+			return false;
+		}
+		long index = position >>> GameJournal.REGION_SHIFT;
+		if (index != regionIndex) {
+			long start = index << GameJournal.REGION_SHIFT;
+			region = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(GameJournal.REGION_SIZE, size - start));
+			region.order(ByteOrder.LITTLE_ENDIAN);
+			regionIndex = index;
+		}
+		long next = region.getLong((int) (position & (GameJournal.REGION_SIZE - 1)));
+		int type = (int) (next & 0xFF);
+		if (type != GameJournal.PLACEMENT && type != GameJournal.SHOT && type != GameJournal.UNDO) {
+			return false;
+		}
+		record = next;
+		position += GameJournal.RECORD_SIZE;
+		events++;
+		return true;
+	}
+
+	/**
+	 * Returns Player 1's name
+	 * @return Player 1's name
+	 */
+	public String getPlayer1Name() {
+		return player1Name;
+	}
+
+	/**
+	 * Returns Player 2's name
+	 * @return Player 2's name
+	 */
+	public String getPlayer2Name() {
+		return player2Name;
+	}
+
+	/**
+	 * Returns the file position just after the current record
+	 * @return Byte offset
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns the number of records read so far
+	 * @return Event count
+	 */
+	public long getEventCount() {
+		return events;
+	}
+
+	/**
+	 * Returns the type of the current record
+	 * @return GameJournal.PLACEMENT, GameJournal.SHOT or GameJournal.UNDO
+	 */
+	public int getType() {
+		return (int) (record & 0xFF);
+	}
+
+	/**
+	 * Returns the player of the current record
+	 * @return True for Player 1, false for Player 2
+	 */
+	public boolean isPlayer1() {
+		return (record >>> 8 & 0xFF) == 0;
+	}
+
+	/**
+	 * Returns the zero-based row of the current record
+	 * @return Row
+	 */
+	public int getRow() {
+		return (byte) (record >>> 16);
+	}
+
+	/**
+	 * Returns the zero-based col of the current record
+	 * @return Col
+	 */
+	public int getCol() {
+		return (byte) (record >>> 24);
+	}
+
+	/**
+	 * Returns the ship reference of the current placement
+	 * @return Ship reference
+	 */
+	public char getShip() {
+		return (char) (record >>> 32 & 0xFF);
+	}
+
+	/**
+	 * Returns the orientation of the current placement
+	 * @return Orientation
+	 */
+	public Orientation getOrientation() {
+		return Orientation.values()[(int) (record >>> 40 & 0xFF)];
+	}
+
+	/**
+	 * Returns whether the current placement succeeded
+	 * @return True if the ship was placed
+	 */
+	public boolean isPlaced() {
+		return (record >>> 48) == 1;
+	}
+
+	/**
+	 * Returns the ShotResult code of the current shot
+	 * @return Result code
+	 */
+	public int getResult() {
+		return (int) (record >>> 48);
+	}
+
+	/**
+	 * Returns the undo token of the current undo
+	 * @return Token passed to unmake
+	 */
+	public long getUndoToken() {
+		return record >>> 8;
+	}
+
+	/**
+	 * Closes the journal file
+	 * @throws IOException If the file can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
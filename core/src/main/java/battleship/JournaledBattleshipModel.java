@@ -0,0 +1,163 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * JournaledBattleshipModel class for a BattleshipModel that records every
+ * placement and shot in a GameJournal. It is a BattleshipModel, so it can
+ * be handed to PlayGame as is. Undoable moves are journaled like any
+ * other, and unmake appends an undo record that replay applies, so a
+ * search on the live game leaves a journal that replays to the same state.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class JournaledBattleshipModel extends BattleshipModel {
+	// Journal every event goes to
+	private GameJournal journal;
+	private boolean recording;
+
+	/**
+	 * Constructor for JournaledBattleshipModel
+	 * @param journal Journal to record events in, created for this game's players
+	 */
+	public JournaledBattleshipModel(GameJournal journal) {
+		super(journal.getPlayer1Name(), journal.getPlayer2Name());
+		this.journal = journal;
+		this.recording = true;
+	}
+
+	/**
+	 * Rebuilds a game from its journal and keeps recording to the same file,
+	 * e.g. after a crash
+	 * @param path The journal file
+	 * @return Model in the state of the last recorded event
+	 * @throws IOException If the journal can't be read or doesn't replay to the recorded results
+	 */
+	public static JournaledBattleshipModel recover(Path path) throws IOException {
+		GameJournal journal = GameJournal.open(path);
+		try (JournalReader reader = new JournalReader(path)) {
+			JournaledBattleshipModel game = new JournaledBattleshipModel(journal);
+			game.recording = false;
+			reader.replay(game, journal.getEventCount());
+			game.recording = true;
+			return game;
+		}
+		catch (Throwable e) { // any failure, so the journal isn't left open and flushed forever
+			try {
+				journal.close();
+			}
+			catch (IOException closeFailure) {
+				e.addSuppressed(closeFailure);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Attempts to place a ship in the board and records the attempt
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param startRow The zero-based starting row
+	 * @param startCol The zero-based starting col
+	 * @param o The orientation for the ship to be placed in, starting from (startRow, startCol)
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	@Override
+	public boolean placeShip(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		boolean placed = super.placeShip(isPlayer1, ship, startRow, startCol, o);
+		if (recording) {
+			journal.recordPlacement(isPlayer1, ship, startRow, startCol, o, placed);
+		}
+		return placed;
+	}
+
+	/**
+	 * Attempts to make a shot in the board and records it
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param row The bound-validated zero-based row to shoot
+	 * @param col The bound-validated zero-based col to shoot
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	@Override
+	public int makeShot(boolean isPlayer1, int row, int col) {
+		int result = super.makeShot(isPlayer1, row, col);
+		if (recording) {
+			journal.recordShot(isPlayer1, row, col, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Fires a salvo in one pass and records each shot
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cells The bound-validated cell indexes to shoot (row * 10 + col)
+	 * @param count The number of cells to shoot, from the start of cells
+	 * @param results Receives the ShotResult code of each shot, in order
+	 * @return Number of shots that hit, counting those that sank a ship
+	 */
+	@Override
+	public int makeSalvo(boolean isPlayer1, int[] cells, int count, int[] results) {
+		int hits = super.makeSalvo(isPlayer1, cells, count, results);
+		if (recording) {
+			for (int i = 0; i < count; i++) {
+				journal.recordShot(isPlayer1, cells[i] / 10, cells[i] % 10, results[i]);
+			}
+		}
+		return hits;
+	}
+
+	/**
+	 * Places a ship so that the placement can be taken back, and records the attempt
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return Undo token, see UndoToken.isPlaced for whether the ship was placed
+	 */
+	@Override
+	public long placeShipUndoable(boolean isPlayer1, char ship, int cell, Orientation o) {
+		long token = super.placeShipUndoable(isPlayer1, ship, cell, o);
+		if (recording) {
+			journal.recordPlacement(isPlayer1, ship, cell / 10, cell % 10, o, UndoToken.isPlaced(token));
+		}
+		return token;
+	}
+
+	/**
+	 * Makes a shot that can be taken back, and records it
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cell The bound-validated cell index to shoot (row * 10 + col)
+	 * @return Undo token, see UndoToken.result for the ShotResult code
+	 */
+	@Override
+	public long makeShotUndoable(boolean isPlayer1, int cell) {
+		long token = super.makeShotUndoable(isPlayer1, cell);
+		if (recording) {
+			journal.recordShot(isPlayer1, cell / 10, cell % 10, UndoToken.result(token));
+		}
+		return token;
+	}
+
+	/**
+	 * Takes back an undoable move and records the undo
+	 * @param token Token returned by makeShotUndoable or placeShipUndoable
+	 */
+	@Override
+	public void unmake(long token) {
+		super.unmake(token);
+		if (recording && UndoToken.kind(token) != UndoToken.NONE) {
+			journal.recordUndo(token);
+		}
+	}
+
+	/**
+	 * Returns the journal this game records to
+	 * @return Journal
+	 */
+	public GameJournal getJournal() {
+		return journal;
+	}
+}
@@ -0,0 +1,147 @@
+package battleship;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram class for recording operation latencies from many
+ * threads without locks. Values fall into log-linear buckets: eight
+ * buckets per power of two, so a percentile is within 12.5% of the true
+ * value. Recording is one atomic increment plus a LongAdder add, and
+ * readers sum the buckets while writers keep going.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class LatencyHistogram implements LatencyMXBean {
+	// Histogram state
+	private final AtomicLongArray buckets;
+	private final LongAdder totalNanos;
+	private final AtomicLong maxNanos;
+
+	// Private class constant values
+	private static final int SUB_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+	/**
+	 * Constructor for LatencyHistogram
+	 */
+	public LatencyHistogram() {
+		buckets = new AtomicLongArray(BUCKETS);
+		totalNanos = new LongAdder();
+		maxNanos = new AtomicLong();
+	}
+
+	/**
+	 * Records one operation
+	 * @param nanos The operation's latency, negative values counting as 0
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		buckets.incrementAndGet(bucket(value));
+		totalNanos.add(value);
+		if (value > maxNanos.get()) {
+			maxNanos.accumulateAndGet(value, Math::max);
+		}
+	}
+
+	/**
+	 * Records one operation that started at a System.nanoTime reading
+	 * @param startNanos System.nanoTime when the operation started
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Private helper mapping a value to its bucket: values below eight get their
+	 * own bucket, larger ones keep their top four bits
+	 */
+	private static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Private helper returning the largest value that falls in a bucket
+	 */
+	private static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = bucket % SUB_BUCKETS;
+		long lower = (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+		return lower + (1L << (exponent - SUB_BITS)) - 1;
+	}
+
+	/**
+	 * Returns the latency below which a fraction of operations fall
+	 * @param fraction From 0 to 1
+	 * @return Upper edge of the bucket holding that percentile, 0 if nothing was recorded
+	 */
+	public long getPercentile(double fraction) {
+		long[] counts = new long[BUCKETS];
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			count += counts[i];
+		}
+		long rank = (long) Math.ceil(fraction * count);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank && seen > 0) {
+				return Math.min(upperBound(i), maxNanos.get());
+			}
+		}
+		return 0;
+	}
+
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += buckets.get(i);
+		}
+		return count;
+	}
+
+	public double getMeanNanos() {
+		long count = getCount();
+		return (count == 0) ? 0 : (double) totalNanos.sum() / count;
+	}
+
+	public long getP50Nanos() {
+		return getPercentile(0.5);
+	}
+
+	public long getP90Nanos() {
+		return getPercentile(0.9);
+	}
+
+	public long getP99Nanos() {
+		return getPercentile(0.99);
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Clears the histogram. Operations recorded while it clears may be half kept.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.set(i, 0);
+		}
+		totalNanos.reset();
+		maxNanos.set(0);
+	}
+}
@@ -0,0 +1,52 @@
+package battleship;
+
+/**
+ * LatencyMXBean interface for reading a LatencyHistogram over JMX.
+ * Percentiles are the upper edge of the bucket they fall in.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public interface LatencyMXBean {
+	/**
+	 * Returns the number of recorded operations
+	 * @return Count
+	 */
+	public long getCount();
+
+	/**
+	 * Returns the mean latency
+	 * @return Mean in nanoseconds, 0 if nothing was recorded
+	 */
+	public double getMeanNanos();
+
+	/**
+	 * Returns the median latency
+	 * @return Nanoseconds
+	 */
+	public long getP50Nanos();
+
+	/**
+	 * Returns the 90th percentile latency
+	 * @return Nanoseconds
+	 */
+	public long getP90Nanos();
+
+	/**
+	 * Returns the 99th percentile latency
+	 * @return Nanoseconds
+	 */
+	public long getP99Nanos();
+
+	/**
+	 * Returns the longest recorded latency
+	 * @return Nanoseconds
+	 */
+	public long getMaxNanos();
+
+	/**
+	 * Clears the histogram
+	 */
+	public void reset();
+}
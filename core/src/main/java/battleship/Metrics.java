@@ -0,0 +1,150 @@
+package battleship;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics class for the latency histograms and counters of the model,
+ * the command loops, and board rendering.
+ *
+ * Recording is off unless the JVM starts with -Dbattleship.metrics=true.
+ * ENABLED is a static final flag, so when it is false the JIT drops every
+ * guarded timer from the compiled code and the hot path costs nothing.
+ * When it is true, every metric is registered as an MXBean under the
+ * "battleship" domain, and a text dump goes to System.err every
+ * battleship.metrics.interval seconds (60 by default, 0 for none).
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public final class Metrics {
+	/**
+	 * True if metrics are being recorded
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean("battleship.metrics");
+
+	// Model operations
+	public static final LatencyHistogram PLACE_SHIP = new LatencyHistogram();
+	public static final LatencyHistogram MAKE_SHOT = new LatencyHistogram();
+	public static final LatencyHistogram MAKE_SALVO = new LatencyHistogram();
+	public static final LatencyHistogram GRID_FETCH = new LatencyHistogram();
+
+	// Command handling, not counting time spent waiting for input
+	public static final LatencyHistogram SETUP_COMMAND = new LatencyHistogram();
+	public static final LatencyHistogram PLAY_COMMAND = new LatencyHistogram();
+	public static final LatencyHistogram SESSION_COMMAND = new LatencyHistogram();
+
+	public static final LatencyHistogram RENDER = new LatencyHistogram();
+
+	// Shot outcomes and rejected input
+	public static final MetricsCounter HITS = new MetricsCounter();
+	public static final MetricsCounter MISSES = new MetricsCounter();
+	public static final MetricsCounter REPEATS = new MetricsCounter();
+	public static final MetricsCounter INVALID_COMMANDS = new MetricsCounter();
+
+	// Private class constant values
+	private static final String DOMAIN = "battleship";
+	private static final long INTERVAL_SECONDS = Long.getLong("battleship.metrics.interval", 60);
+	private static final Map<String, LatencyHistogram> HISTOGRAMS = new LinkedHashMap<>();
+	private static final Map<String, MetricsCounter> COUNTERS = new LinkedHashMap<>();
+
+	static {
+		HISTOGRAMS.put("placeShip", PLACE_SHIP);
+		HISTOGRAMS.put("makeShot", MAKE_SHOT);
+		HISTOGRAMS.put("makeSalvo", MAKE_SALVO);
+		HISTOGRAMS.put("gridFetch", GRID_FETCH);
+		HISTOGRAMS.put("setupCommand", SETUP_COMMAND);
+		HISTOGRAMS.put("playCommand", PLAY_COMMAND);
+		HISTOGRAMS.put("sessionCommand", SESSION_COMMAND);
+		HISTOGRAMS.put("render", RENDER);
+		COUNTERS.put("hits", HITS);
+		COUNTERS.put("misses", MISSES);
+		COUNTERS.put("repeats", REPEATS);
+		COUNTERS.put("invalidCommands", INVALID_COMMANDS);
+		if (ENABLED) {
+			register();
+			if (INTERVAL_SECONDS > 0) {
+				startDump(System.err, INTERVAL_SECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Private constructor, Metrics only has static members
+	 */
+	private Metrics() {
+	}
+
+	/**
+	 * Counts a shot by its ShotResult code
+	 * @param result ShotResult code returned by makeShot
+	 */
+	public static void countShot(int result) {
+		int outcome = ShotResult.outcome(result);
+		if (outcome == ShotResult.REPEAT) {
+			REPEATS.increment();
+		} else if (outcome == ShotResult.MISS) {
+			MISSES.increment();
+		} else {
+			HITS.increment();
+		}
+	}
+
+	/**
+	 * Private helper registering every metric with the platform MBean server
+	 */
+	private static void register() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			for (Map.Entry<String, LatencyHistogram> entry : HISTOGRAMS.entrySet()) {
+				server.registerMBean(entry.getValue(), new ObjectName(DOMAIN + ":type=Latency,name=" + entry.getKey()));
+			}
+			for (Map.Entry<String, MetricsCounter> entry : COUNTERS.entrySet()) {
+				server.registerMBean(entry.getValue(), new ObjectName(DOMAIN + ":type=Counter,name=" + entry.getKey()));
+			}
+		} catch (JMException e) {
+			System.err.println("Metrics not registered with JMX: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Private helper starting a daemon thread that prints the metrics periodically
+	 */
+	private static void startDump(PrintStream out, long seconds) {
+		ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "metrics-dump");
+			thread.setDaemon(true);
+			return thread;
+		});
+		dumper.scheduleAtFixedRate(() -> out.print(dump()), seconds, seconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Builds a printable table of every metric
+	 * @return Multi-line report, latencies in microseconds
+	 */
+	public static String dump() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%-16s %10s %10s %10s %10s %10s %10s%n", "Operation", "Count", "Mean us", "p50 us",
+				"p90 us", "p99 us", "Max us"));
+		for (Map.Entry<String, LatencyHistogram> entry : HISTOGRAMS.entrySet()) {
+			LatencyHistogram histogram = entry.getValue();
+			report.append(String.format("%-16s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", entry.getKey(),
+					histogram.getCount(), histogram.getMeanNanos() / 1e3, histogram.getP50Nanos() / 1e3,
+					histogram.getP90Nanos() / 1e3, histogram.getP99Nanos() / 1e3, histogram.getMaxNanos() / 1e3));
+		}
+		for (Map.Entry<String, MetricsCounter> entry : COUNTERS.entrySet()) {
+			report.append(String.format("%-16s %10d%n", entry.getKey(), entry.getValue().getCount()));
+		}
+		return report.toString();
+	}
+}
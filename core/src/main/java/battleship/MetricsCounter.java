@@ -0,0 +1,38 @@
+package battleship;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetricsCounter class for an event count that many threads bump at once.
+ * Increments land in per-thread cells of a LongAdder, so they never
+ * contend on one cache line.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class MetricsCounter implements CounterMXBean {
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Adds one to the count
+	 */
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * Returns the current count
+	 * @return Count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Sets the count back to zero
+	 */
+	public void reset() {
+		count.reset();
+	}
+}
@@ -0,0 +1,407 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * MultiplayerBattleshipModel class for free-for-all games between any
+ * number of players, where each shot names the opponent it is fired at.
+ *
+ * State is kept in flat per-player bitboard layers, the same 128-bit
+ * layout BitboardBattleshipModel uses: an occupancy layer and a shot
+ * layer per board, and one layer per placed ship, with every player's
+ * ships in a fixed block of slots sized by the fleet. Shots are recorded
+ * on the board they land on, so every opponent sees them and a square
+ * shot by anyone is a REPEAT. Placing, shooting and reading a grid touch
+ * only the boards involved, so they cost the same with 2 players or 8,
+ * and a game needs a few hundred bytes per player.
+ *
+ * A player is out once their last ship sinks, and the game is over when
+ * at most one player has ships afloat. Turn order is up to the caller,
+ * but a player who is out can't shoot or be shot at, and no one can shoot
+ * once the game is over.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class MultiplayerBattleshipModel {
+	// Model state, indexed by player
+	private String[] playerNames;
+	private FleetSpec fleet;
+	private long[] shipsLo;
+	private long[] shipsHi;
+	private long[] shotsLo;
+	private long[] shotsHi;
+	private int[] shipCount;
+	private int[] slotCount;
+	private int playersAfloat;
+	private boolean isGameOver;
+
+	// Per-ship layers, indexed by player * slotsPerPlayer + slot
+	private int slotsPerPlayer;
+	private long[] shipLo;
+	private long[] shipHi;
+	private int[] shipLength;
+	private char[] shipReference;
+
+	// Private class constant values
+	private static final int BOARD_WIDTH = 10;
+	private static final int BOARD_HEIGHT = 10;
+	private static final String LETTERS = "ABCDEFGHIJ";
+
+	/**
+	 * Constructor for MultiplayerBattleshipModel with the standard fleet
+	 * @param players The names of the players, at least two
+	 */
+	public MultiplayerBattleshipModel(String... players) {
+		this(FleetSpec.STANDARD, players);
+	}
+
+	/**
+	 * Constructor for MultiplayerBattleshipModel
+	 * @param fleet The ship types every player places
+	 * @param players The names of the players, at least two
+	 */
+	public MultiplayerBattleshipModel(FleetSpec fleet, String... players) {
+		if (players.length < 2) {
+			throw new IllegalArgumentException("A game needs at least two players");
+		}
+		int count = players.length;
+		this.fleet = fleet;
+		playerNames = players.clone();
+		shipsLo = new long[count];
+		shipsHi = new long[count];
+		shotsLo = new long[count];
+		shotsHi = new long[count];
+		shipCount = new int[count];
+		slotCount = new int[count];
+
+		slotsPerPlayer = fleet.getShipCount();
+		shipLo = new long[count * slotsPerPlayer];
+		shipHi = new long[count * slotsPerPlayer];
+		shipLength = new int[count * slotsPerPlayer];
+		shipReference = new char[count * slotsPerPlayer];
+
+		// Set initial game state
+		playersAfloat = 0;
+		isGameOver = false;
+	}
+
+	/**
+	 * Attempts to place a ship in a player's board
+	 * @param player The zero-based player placing the ship
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(int player, char ship, int cell, Orientation o) {
+		return placeShip(player, ship, cell / BOARD_WIDTH, cell % BOARD_WIDTH, o);
+	}
+
+	/**
+	 * Attempts to place a ship in a player's board
+	 * @param player The zero-based player placing the ship
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param loc The bound-validated starting location to place the ship
+	 * @param o The orientation for the ship to be placed in, starting from loc
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(int player, char ship, String loc, Orientation o) {
+		return placeShip(player, ship, getRow(loc), getCol(loc), o);
+	}
+
+	/**
+	 * Attempts to place a ship in a player's board
+	 * @param player The zero-based player placing the ship
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param startRow The zero-based starting row
+	 * @param startCol The zero-based starting col
+	 * @param o The orientation for the ship to be placed in, starting from (startRow, startCol)
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(int player, char ship, int startRow, int startCol, Orientation o) {
+		if (!Metrics.ENABLED) {
+			return place(player, ship, startRow, startCol, o);
+		}
+		long start = System.nanoTime();
+		boolean placed = place(player, ship, startRow, startCol, o);
+		Metrics.PLACE_SHIP.recordSince(start);
+		return placed;
+	}
+
+	/**
+	 * Private helper that places a ship, see placeShip
+	 */
+	private boolean place(int player, char ship, int startRow, int startCol, Orientation o) {
+		if (startRow < 0 || startRow > 9 || startCol < 0 || startCol > 9 || slotCount[player] == slotsPerPlayer) {
+			return false;
+		}
+
+		// one lookup and one AND validate the whole placement
+		int id = PlacementMasks.id(fleet.getLength(ship), o, startRow * BOARD_WIDTH + startCol);
+		if (!PlacementMasks.isLegal(id) || PlacementMasks.overlaps(id, shipsLo[player], shipsHi[player])) {
+			return false;
+		}
+
+		int slot = player * slotsPerPlayer + slotCount[player]++;
+		shipLo[slot] = PlacementMasks.lo(id);
+		shipHi[slot] = PlacementMasks.hi(id);
+		shipLength[slot] = PlacementMasks.length(id);
+		shipReference[slot] = ship;
+		shipsLo[player] |= shipLo[slot];
+		shipsHi[player] |= shipHi[slot];
+		if (shipCount[player]++ == 0) {
+			playersAfloat++;
+		}
+		return true;
+	}
+
+	/**
+	 * Attempts to make a shot at an opponent's board
+	 * @param shooter The zero-based player shooting
+	 * @param target The zero-based player shot at, not the shooter
+	 * @param loc The bound-validated location to shoot
+	 * @return "Hit", "Miss", "Hit and sunk <target_name>'s <ship_name>", or "Unsuccessful"
+	 * @throws IllegalStateException If the game is over or either player is out
+	 */
+	public String makeShot(int shooter, int target, String loc) {
+		int result = makeShot(shooter, target, getRow(loc) * BOARD_WIDTH + getCol(loc));
+		return ShotResult.describe(result, playerNames[target]);
+	}
+
+	/**
+	 * Attempts to make a shot at an opponent's board
+	 * @param shooter The zero-based player shooting
+	 * @param target The zero-based player shot at, not the shooter
+	 * @param cell The bound-validated cell index to shoot (row * 10 + col)
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 * @throws IllegalArgumentException If the shooter is the target
+	 * @throws IllegalStateException If the game is over or either player is out
+	 */
+	public int makeShot(int shooter, int target, int cell) {
+		if (shooter == target) {
+			throw new IllegalArgumentException("Player " + shooter + " can't shoot at their own board");
+		}
+		if (isGameOver) {
+			throw new IllegalStateException("The game is over");
+		}
+		if (isEliminated(shooter)) {
+			throw new IllegalStateException(playerNames[shooter] + " is out of the game and can't shoot");
+		}
+		if (isEliminated(target)) {
+			throw new IllegalStateException(playerNames[target] + " is out of the game and can't be shot at");
+		}
+		if (!Metrics.ENABLED) {
+			return shoot(target, cell);
+		}
+		long start = System.nanoTime();
+		int result = shoot(target, cell);
+		Metrics.MAKE_SHOT.recordSince(start);
+		Metrics.countShot(result);
+		return result;
+	}
+
+	/**
+	 * Private helper that makes a shot, see makeShot
+	 */
+	private int shoot(int target, int index) {
+		if (isSet(shotsLo[target], shotsHi[target], index)) {
+			return ShotResult.REPEAT;
+		}
+
+		// loc has not been shot on this board, set it as shot
+		if (index < 64) {
+			shotsLo[target] |= 1L << index;
+		} else {
+			shotsHi[target] |= 1L << (index - 64);
+		}
+
+		if (!isSet(shipsLo[target], shipsHi[target], index)) {
+			return ShotResult.MISS;
+		}
+
+		int slot = findSlot(target, index);
+		int damage = Long.bitCount(shipLo[slot] & shotsLo[target])
+				+ Long.bitCount(shipHi[slot] & shotsHi[target]);
+		if (damage == shipLength[slot]) {
+			// ship is destroyed, decrement ship count and knock the player out with their last ship
+			if (--shipCount[target] == 0) {
+				playersAfloat--;
+				isGameOver = playersAfloat <= 1;
+			}
+			return ShotResult.sunk(shipReference[slot], isGameOver);
+		}
+		return ShotResult.HIT;
+	}
+
+	/**
+	 * Private helper to find the ship slot covering a board location
+	 * @param player The player owning the ship
+	 * @param index The bit index of the board location
+	 * @return Index into the per-ship layers, or -1 if no ship covers index
+	 */
+	private int findSlot(int player, int index) {
+		int first = player * slotsPerPlayer;
+		for (int slot = first; slot < first + slotCount[player]; slot++) {
+			if (isSet(shipLo[slot], shipHi[slot], index)) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Private helper to test a bit of a 128-bit bitboard
+	 * @param lo Bits 0-63 of the bitboard
+	 * @param hi Bits 64-127 of the bitboard
+	 * @param index The bit index to test
+	 * @return True if the bit is set, false otherwise
+	 */
+	private static boolean isSet(long lo, long hi, int index) {
+		if (index < 64) {
+			return (lo & (1L << index)) != 0;
+		}
+		return (hi & (1L << (index - 64))) != 0;
+	}
+
+	/**
+	 * Private getter for the zero-based row index for the board
+	 * @param pos The board location to get the row of (i.e. A1)
+	 * @return Zero-based row index for the board
+	 */
+	private int getRow(String pos) {
+		return LETTERS.indexOf(pos.charAt(0));
+	}
+
+	/**
+	 * Private getter for the zero-based col index for the board
+	 * @param pos The board location to get the col of (i.e. A1)
+	 * @return Zero-based col index for the board
+	 */
+	private int getCol(String pos) {
+		int col = 0;
+		for (int i = 1; i < pos.length(); i++) {
+			col = col * 10 + (pos.charAt(i) - '0');
+		}
+		return col - 1;
+	}
+
+	/**
+	 * Returns the number of players in the game
+	 * @return Player count
+	 */
+	public int getPlayerCount() {
+		return playerNames.length;
+	}
+
+	/**
+	 * Returns a player's name
+	 * @param player The zero-based player
+	 * @return The player's name
+	 */
+	public String getPlayerName(int player) {
+		return playerNames[player];
+	}
+
+	/**
+	 * Returns the fleet every player places
+	 * @return Fleet spec
+	 */
+	public FleetSpec getFleet() {
+		return fleet;
+	}
+
+	/**
+	 * Returns the number of ships a player has afloat
+	 * @param player The zero-based player
+	 * @return Ship count
+	 */
+	public int getShipCount(int player) {
+		return shipCount[player];
+	}
+
+	/**
+	 * Returns whether a player has lost every ship they placed
+	 * @param player The zero-based player
+	 * @return True if the player is out of the game
+	 */
+	public boolean isEliminated(int player) {
+		return slotCount[player] > 0 && shipCount[player] == 0;
+	}
+
+	/**
+	 * Returns the last player with ships afloat
+	 * @return The zero-based winner, or -1 if the game isn't over
+	 */
+	public int getWinner() {
+		if (!isGameOver) {
+			return -1;
+		}
+		for (int player = 0; player < shipCount.length; player++) {
+			if (shipCount[player] > 0) {
+				return player;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the array of grid values every opponent sees for a player's board
+	 * @param target The zero-based player whose board is shown
+	 * @return Array of offensive grid values, 'H', 'M' or ' ' for each cell
+	 */
+	public char[] getOffensiveGrid(int target) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		char[] offenseGridVals = new char[BOARD_WIDTH * BOARD_HEIGHT];
+
+		for (int index = 0; index < offenseGridVals.length; index++) {
+			//value begins as not shot
+			char gridVal = ' ';
+
+			if (isSet(shotsLo[target], shotsHi[target], index)) {
+				gridVal = isSet(shipsLo[target], shipsHi[target], index) ? 'H' : 'M';
+			}
+
+			offenseGridVals[index] = gridVal;
+		}
+		if (Metrics.ENABLED) {
+			Metrics.GRID_FETCH.recordSince(start);
+		}
+		return offenseGridVals;
+	}
+
+	/**
+	 * Return the array of defensive grid values for a player
+	 * @param player The zero-based player
+	 * @return Array of defensive grid values, the ship reference or ' ' for each cell
+	 */
+	public char[] getDefensiveGrid(int player) {
+		long start = (Metrics.ENABLED) ? System.nanoTime() : 0;
+		char[] defenseGridVals = new char[BOARD_WIDTH * BOARD_HEIGHT];
+		Arrays.fill(defenseGridVals, ' ');
+
+		// walk each ship's layer and stamp its reference on its locations
+		int first = player * slotsPerPlayer;
+		for (int slot = first; slot < first + slotCount[player]; slot++) {
+			for (long bits = shipLo[slot]; bits != 0; bits &= bits - 1) {
+				defenseGridVals[Long.numberOfTrailingZeros(bits)] = shipReference[slot];
+			}
+			for (long bits = shipHi[slot]; bits != 0; bits &= bits - 1) {
+				defenseGridVals[64 + Long.numberOfTrailingZeros(bits)] = shipReference[slot];
+			}
+		}
+		if (Metrics.ENABLED) {
+			Metrics.GRID_FETCH.recordSince(start);
+		}
+		return defenseGridVals;
+	}
+
+	/**
+	 * Returns whether or not the game is over
+	 * @return True if game is over, false if not
+	 */
+	public boolean isGameOver() {
+		return isGameOver;
+	}
+}
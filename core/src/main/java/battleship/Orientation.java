@@ -1,3 +1,5 @@
+package battleship;
+
 /**
  * Orientation enum used for ship orientations
  * 
@@ -0,0 +1,188 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * PlacementMasks class holds a precomputed table of every ship placement
+ * on the 10x10 board as a 128-bit mask (bits 0-63 in "lo", 64-99 in "hi",
+ * bit index row * 10 + col), for every ship length and Orientation.
+ *
+ * A placement is identified by an id combining length, orientation and
+ * starting cell. Placements that would leave the board have an empty mask,
+ * so validating a placement is one lookup plus an AND against the player's
+ * occupancy, with no bounds arithmetic. candidates lists the legal ids for
+ * a length, for code that wants to iterate placements.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public final class PlacementMasks {
+	// Private class constant values
+	private static final int BOARD_SIZE = 10;
+	private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+	private static final int MAX_LENGTH = AircraftCarrier.LENGTH;
+	private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+	// The table, indexed by placement id
+	private static final long[] LO;
+	private static final long[] HI;
+	private static final int[][] PLACEMENT_CELLS;
+
+	// Legal placement ids, indexed by length
+	private static final int[][] CANDIDATES;
+
+	static {
+		int ids = (MAX_LENGTH + 1) * ORIENTATIONS.length * CELLS;
+		LO = new long[ids];
+		HI = new long[ids];
+		PLACEMENT_CELLS = new int[ids][];
+		CANDIDATES = new int[MAX_LENGTH + 1][];
+
+		for (int length = 1; length <= MAX_LENGTH; length++) {
+			int[] legal = new int[ORIENTATIONS.length * CELLS];
+			int count = 0;
+			for (Orientation o : ORIENTATIONS) {
+				for (int cell = 0; cell < CELLS; cell++) {
+					int id = id(length, o, cell);
+					int[] cells = walk(cell, length, o);
+					if (cells != null) {
+						PLACEMENT_CELLS[id] = cells;
+						for (int c : cells) {
+							if (c < 64) {
+								LO[id] |= 1L << c;
+							} else {
+								HI[id] |= 1L << (c - 64);
+							}
+						}
+						legal[count++] = id;
+					}
+				}
+			}
+			CANDIDATES[length] = Arrays.copyOf(legal, count);
+		}
+		CANDIDATES[0] = new int[0];
+	}
+
+	/**
+	 * Private constructor, PlacementMasks only has static helpers
+	 */
+	private PlacementMasks() {
+	}
+
+	/**
+	 * Returns the id of a placement
+	 * @param length The ship length (1 to 5)
+	 * @param o The ship orientation
+	 * @param cell The starting cell index (0 to 99)
+	 * @return Placement id
+	 */
+	public static int id(int length, Orientation o, int cell) {
+		return (length * ORIENTATIONS.length + o.ordinal()) * CELLS + cell;
+	}
+
+	/**
+	 * Returns whether a placement stays on the board
+	 * @param id The placement id
+	 * @return True if every cell of the placement is on the board
+	 */
+	public static boolean isLegal(int id) {
+		return PLACEMENT_CELLS[id] != null;
+	}
+
+	/**
+	 * Returns bits 0-63 of a placement's mask
+	 * @param id The placement id
+	 * @return Low mask bits, 0 for a placement that leaves the board
+	 */
+	public static long lo(int id) {
+		return LO[id];
+	}
+
+	/**
+	 * Returns bits 64-127 of a placement's mask
+	 * @param id The placement id
+	 * @return High mask bits, 0 for a placement that leaves the board
+	 */
+	public static long hi(int id) {
+		return HI[id];
+	}
+
+	/**
+	 * Returns the cells of a legal placement, from the starting cell onwards.
+	 * The array is shared and must not be modified.
+	 * @param id The placement id
+	 * @return Cell indexes, or null for a placement that leaves the board
+	 */
+	public static int[] cells(int id) {
+		return PLACEMENT_CELLS[id];
+	}
+
+	/**
+	 * Returns the ship length of a placement
+	 * @param id The placement id
+	 * @return Ship length
+	 */
+	public static int length(int id) {
+		return id / (ORIENTATIONS.length * CELLS);
+	}
+
+	/**
+	 * Returns the orientation of a placement
+	 * @param id The placement id
+	 * @return Ship orientation
+	 */
+	public static Orientation orientation(int id) {
+		return ORIENTATIONS[(id / CELLS) % ORIENTATIONS.length];
+	}
+
+	/**
+	 * Returns the starting cell of a placement
+	 * @param id The placement id
+	 * @return Starting cell index
+	 */
+	public static int cell(int id) {
+		return id % CELLS;
+	}
+
+	/**
+	 * Returns every legal placement id for a ship length.
+	 * The array is shared and must not be modified.
+	 * @param length The ship length
+	 * @return Legal placement ids, empty for an unsupported length
+	 */
+	public static int[] candidates(int length) {
+		return (length >= 0 && length <= MAX_LENGTH) ? CANDIDATES[length] : CANDIDATES[0];
+	}
+
+	/**
+	 * Returns whether a placement overlaps an occupancy mask
+	 * @param id The placement id
+	 * @param occupiedLo Bits 0-63 of the occupancy mask
+	 * @param occupiedHi Bits 64-127 of the occupancy mask
+	 * @return True if any cell of the placement is occupied
+	 */
+	public static boolean overlaps(int id, long occupiedLo, long occupiedHi) {
+		return ((LO[id] & occupiedLo) | (HI[id] & occupiedHi)) != 0;
+	}
+
+	/**
+	 * Private helper to walk the cells of a placement
+	 * @param start The starting cell index
+	 * @param length The ship length
+	 * @param o The ship orientation
+	 * @return Cell indexes, or null if the ship would leave the board
+	 */
+	private static int[] walk(int start, int length, Orientation o) {
+		int[] cells = new int[length];
+		for (int i = 0; i < length; i++) {
+			int row = start / BOARD_SIZE + i * o.dy;
+			int col = start % BOARD_SIZE + i * o.dx;
+			if (row < 0 || row >= BOARD_SIZE || col < 0 || col >= BOARD_SIZE) {
+				return null;
+			}
+			cells[i] = row * BOARD_SIZE + col;
+		}
+		return cells;
+	}
+}
@@ -0,0 +1,21 @@
+package battleship;
+
+import java.util.SplittableRandom;
+
+/**
+ * Strategy for placing a player's fleet at the start of a simulated game
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public interface PlacementStrategy {
+
+	/**
+	 * Places a full fleet for one player
+	 * @param game The model to place the fleet on
+	 * @param isPlayer1 True for Player 1, false for Player 2
+	 * @param random The random stream to draw from
+	 */
+	public void placeFleet(BattleshipModelInterface game, boolean isPlayer1, SplittableRandom random);
+}
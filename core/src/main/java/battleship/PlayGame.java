@@ -0,0 +1,678 @@
+package battleship;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+/**
+ * class PlayGame 
+ * 
+ * @Croaching Tiger
+ * @version 1
+ */
+public class PlayGame
+{
+    private final Random random; // one generator for the whole game
+    private final BufferedReader in; // where every line of input comes from
+    private final PrintStream out; // where all game output goes
+    private final char[] grid = new char[100]; // reused by every board print
+    private final BoardRenderer renderer; // draws boards and clears the screen in single writes
+    private long commandStart; // System.nanoTime when the current command was read, 0 once recorded
+    private final CommandParser parser = new CommandParser(); // splits every line typed, reused line after line
+    private boolean salvoRule; // true if every turn is one salvo (S), false for shots until a miss (T)
+
+    public static final String[] SHIPS = FleetSpec.STANDARD.getShipNames(); // placement order of the standard fleet
+
+    private static BufferedReader stdin; // one reader for System.in, so games never buffer ahead of each other
+
+    /*
+     * Constructor - game output goes to System.out, using ANSI escapes if it is a terminal
+     */
+    public PlayGame() {
+        this(System.out, BoardRenderer.isAnsiTerminal());
+    }
+
+    /*
+     * Constructor
+     * @param out - stream that receives all game output
+     */
+    public PlayGame(PrintStream out) {
+        this(out, false);
+    }
+
+    /*
+     * Constructor
+     * @param out - stream that receives all game output
+     * @param ansi - true if the terminal understands ANSI escapes, so ResetScreen can clear it
+     */
+    public PlayGame(PrintStream out, boolean ansi) {
+        this(standardInput(), out, ansi, new Random());
+    }
+
+    /*
+     * Constructor - reads every command from one shared input, for scripts and replays
+     * @param in - source of every line of input, shared by place, setupGame and play
+     * @param out - stream that receives all game output
+     * @param ansi - true if the terminal understands ANSI escapes, so ResetScreen can clear it
+     * @param random - decides who goes first; seed it to replay a script the same way every time
+     */
+    public PlayGame(BufferedReader in, PrintStream out, boolean ansi, Random random) {
+        this.in = in;
+        this.out = out;
+        this.renderer = new BoardRenderer(out, ansi);
+        this.random = random;
+    }
+
+    /*
+     * Method setSalvoRule - chooses the rule the game is played with, before it starts
+     * @param salvoRule - true for the salvo rule, where S replaces T, false for the classic rule
+     */
+    public void setSalvoRule(boolean salvoRule) {
+        this.salvoRule = salvoRule;
+    }
+
+    /*
+     * Method isSalvoRule
+     * @return - true if the game is played with the salvo rule
+     */
+    public boolean isSalvoRule() {
+        return salvoRule;
+    }
+
+    /*
+     * Method playCommand - the command to act on in play mode, only the shot command of the rule in play counts
+     * @param command - command letter from the parser
+     * @return - the command, or 0 for T under the salvo rule and S under the classic rule
+     */
+    public char playCommand(char command) {
+        return (command == (salvoRule ? 'T' : 'S')) ? 0 : command;
+    }
+
+    /*
+     * Method standardInput - the one reader every console game shares for System.in
+     */
+    private static synchronized BufferedReader standardInput() {
+        if (stdin == null) {
+            stdin = new BufferedReader(new InputStreamReader(System.in));
+        }
+        return stdin;
+    }
+
+    /*
+     * Method whoGoesFirst - method that decides which player goes first
+     */
+
+    public boolean whoGoesFirst (){
+        int result;
+        result = random.nextInt(10) + 1; // random number from 1-10
+        if (result % 2 == 0)
+            return true;
+        else return false;
+    } 
+
+    /*
+     * Method validateSquare - validate square is A1 through J10
+     * @param in - string to be validated 
+     * @return true if between A1 and J10
+     */
+    public boolean validateSquare (String in) {
+        return CommandParser.cell(in, 0, in.length()) >= 0;
+    }
+
+    /*
+     * Method validateOrientation - validate orientation H, V, DD, and DU.
+     * @param orientationInput - string containing user orientation
+     * @return true if user selected valid orientation of DD, DU, H or V
+     */
+
+    public boolean validateOrientation (String orientationInput ){
+        return CommandParser.orientation(orientationInput, 0, orientationInput.length()) != null;
+    }
+
+    /*
+     * Method ResetScreen - clears the screen for user in one write, with an ANSI
+     * escape if the terminal understands it, otherwise by filling it with backspaces
+     */
+    public void ResetScreen(){
+        renderer.clearScreen();
+    }
+
+    /*
+     * Method GetShipName
+     * @param item - ship that is being placed, one of SHIPS
+     * @return - the ship's name, or " " if the standard fleet has no such ship
+     */
+    public String GetShipName ( String item) {
+        return (FleetSpec.STANDARD.indexOf(item) < 0) ? " " : item;
+    }
+
+    /**
+     * Method GetShipChar
+     * @param item - ship that is being placed, one of SHIPS
+     * @return - char representation of the ship, or ' ' if the standard fleet has no such ship
+     */
+    public char GetShipChar (String item) { 
+        int ship = FleetSpec.STANDARD.indexOf(item);
+        return (ship < 0) ? ' ' : FleetSpec.STANDARD.getShip(ship).getReference();
+    }
+
+    /**
+     * Method GetCell
+     * @param square - square A1 through J10
+     * @return - cell index of the square (row * 10 + col), or -1 if it is not a square
+     */
+    public int GetCell(String square) {
+        return CommandParser.cell(square, 0, square.length());
+    }
+
+    /**
+     * Method GetOrientation
+     * @param orientation - orientation H, V, DD or DU
+     * @return - the orientation, or null if it is not one
+     */
+    public Orientation GetOrientation(String orientation) {
+        return CommandParser.orientation(orientation, 0, orientation.length());
+    }
+
+    /*
+     * Method printShipPrompt - asks a player where to place one ship
+     * @param playerID - player's name
+     * @param item - ship that is being placed
+     */
+    public void printShipPrompt(String playerID, String item) {
+        out.print(playerID + "'s " + item + " ");
+    }
+
+    /*
+     * Method place - helper method for setupGame - this method places all five ships for a player
+     * Player can't exit during the place  method
+     * @param playerID - player's name
+     * @param playerNum = true for player 1, false for player 2
+     */
+
+    public void place (String playerID, boolean playerNum,BattleshipModel game) {
+        // loop
+        boolean wasSuccessful; // initialized below to false
+        out.println(playerID + ": place your ships by typing <start square> and <orientation: DD DU V or H> and then pressing ENTER.");
+
+        boolean validIn = false;
+        boolean validMove = false;
+
+        FleetSpec fleet = game.getFleet();
+        for (int ship = 0; ship < fleet.getShipCount(); ship++) {
+            String item = fleet.getShipName(ship);
+            validMove = false;
+            while (!validMove) {   
+                printShipPrompt(playerID, item);
+                parser.parse(nextLine());
+                if (parser.getTokenCount() == 2) 
+                {
+                    int cell = parser.getCell(0);
+                    Orientation orientation = parser.getOrientation(1);
+                    if ( cell >= 0  && orientation != null   )  {
+                        validMove = game.placeShip(playerNum,fleet.getShip(ship).getReference(),cell,orientation );
+                        if (!validMove) {
+                            out.println("Invalid placement. Try again.");
+                        }
+                    }
+                    else 
+                    {
+                        out.println("Invalid placement. Try again.");
+                    }
+                }
+                else 
+                {
+                    out.println("Invalid input. Please type <start square> and <orientation - DD DU V or H> and then press ENTER.");   
+                }
+
+            }
+            out.println(); // if move is valid and ship placed, then user gets to see his/her board
+            out.println ("Here's what your board looks like:");
+            out.println(playerID + "'s defensive board.");
+            game.fillDefensiveGrid(playerNum, grid);
+            renderer.render(grid);
+        }
+    }
+
+    /*
+     * Method setupGame - sets up game for one player
+     * @param playerID - player's name
+     * @param player boolean - true for player 1, false for player1
+     * @game - BattleshipModel object
+     * @userLogin - userLogin object
+     */
+    public boolean setupGame (String playerID, boolean playerNum, BattleshipModel game) {
+        boolean setup = false;
+        boolean exit = false;
+
+        this.printMenuSetup(playerID);
+        out.println("Enter command. ");
+        char command = readCommand();
+        while (!setup) {
+            switch (command) {
+                case 'M':
+                this.printMenuSetup(playerID);
+                break;
+
+                case 'E':
+                out.println("OK. We'll exit setup.");
+                exit = true;
+                setup = true;
+                break;
+
+                case 'S':
+                //Setup
+                commandHandled(Metrics.SETUP_COMMAND); // place waits for input
+                place(playerID, playerNum, game);
+                setup = true;
+                break;
+
+                case 'I':
+                printSetupInstructions();
+                break;
+
+                case 'O':
+                game.fillOffensiveGrid(playerNum, grid);
+                renderer.renderChanges(playerID + "'s offensive board.", grid);
+                break;
+
+                case 'D':
+                game.fillDefensiveGrid(playerNum, grid);
+                renderer.renderChanges(playerID + "'s defensive board.", grid);
+                break;
+
+                case 'R':
+                //call reset board
+                ResetScreen();
+                break;
+
+                default: 
+                out.println("Invalid input. Please try again.");
+                countInvalidCommand();
+                break;
+
+            }
+            commandHandled(Metrics.SETUP_COMMAND);
+            if (!exit && !setup) {
+                out.println("Enter command. ");
+                command = readCommand();
+            }
+        }
+
+        if (exit){ // user doesn't want to continue
+            return false;
+        }
+        else 
+            return true;
+    }
+
+    /*
+     * Method playGame - 
+     */
+    //public boolean playGame(BattleshipModelInterface battleShip) {
+    public boolean play (String firstPlayerName, boolean firstPlayerBoolean, String secPlayerName, boolean secPlayerBoolean,BattleshipModel game ){
+
+        boolean exit = false;
+        boolean userWantsToExit = false;
+        boolean currentTurnOver = false; // control variable for current turn
+
+        printMenuPlay(firstPlayerName,secPlayerName);
+
+        String currentPlayer = firstPlayerName; // keep track of who has current turn
+        String nextPlayer = secPlayerName;      // keep track of which player has next turn
+        boolean currentTurn = true; // first person to go is TRUE
+
+        while (  (!userWantsToExit) && (!game.isGameOver()) ) {   // keep going until model tells us the game is over or the user wants to exit
+            out.println(currentPlayer + ": please enter a command.. "); // prompt current player to give a command
+            char command = playCommand(readCommand()); // get players command, the parser keeps the rest of its tokens
+
+            boolean commandDone = false;
+            while (!currentTurnOver && !commandDone) {   // curent turn is over only when player shoots a valid shot and misses or shoots a valid shot and wins the game
+                commandDone = true; // every other command asks for the next one
+                switch (command) {
+                    case 'E': // user wants to exit
+                    out.println("OK. We'll exit the game."); 
+                    userWantsToExit = true; 
+                    currentTurnOver = true;
+                    break;
+
+                    case 'T':
+                    commandHandled(Metrics.PLAY_COMMAND); // the shot prompt waits for input
+                    boolean turnContinue = true;
+                    while (turnContinue) {
+                        out.println(currentPlayer + " :take a shot by specifying a square A1 through J10 you have not yet fired on.");
+                        int cell = parser.parse(nextLine()).getCell(0);
+                        if (cell >= 0) 
+                        {
+                            int shotResult = game.makeShot(currentTurn, cell);
+                            String shooterName = currentTurn ? game.getPlayer1Name() : game.getPlayer2Name(); // name the model has always used in the sunk message
+                            int outcome = ShotResult.outcome(shotResult);
+                            if (outcome == ShotResult.HIT || outcome == ShotResult.SUNK) {
+                             
+                                out.println("Congratulations: " + ShotResult.describe(shotResult, shooterName));
+                                turnContinue = !ShotResult.isGameOver(shotResult); // no more shots once the last ship is sunk
+                                currentTurnOver = !turnContinue;
+                            }
+                            else if (outcome == ShotResult.REPEAT){
+                                // it's only the other player's turn when current player misses or is unsuccessful
+
+                                out.println(ShotResult.describe(shotResult, shooterName));
+                                out.println("You fired in the same spot. Please try again.");
+                                turnContinue = true;
+                                currentTurnOver = false; // it's only the other player's turn when current player misses or is unsuccessful
+                            }
+                            else if (outcome == ShotResult.MISS){
+                               
+                                out.println(ShotResult.describe(shotResult, shooterName));
+                                turnContinue = false;
+                                currentTurnOver = true;  // it's only the other player's turn when current player misses or is unsuccessful
+                             
+                            }
+
+                        }
+                        else 
+                        {
+                            out.println("Invalid target.");
+
+                        }
+                        
+                        // print prompt again if not vaid input
+                    }
+                    break;
+
+                    case 'S': // fire a salvo, one shot per ship still afloat, then the turn is over
+                    int firstSquare = 1;
+                    if (parser.getTokenCount() == 1) {
+                        commandHandled(Metrics.PLAY_COMMAND); // the salvo prompt waits for input
+                        printSalvoPrompt(currentPlayer, game.getSalvoSize(currentTurn));
+                        parser.parseTrimmed(nextLine());
+                        firstSquare = 0;
+                    }
+                    if (fireSalvo(game, currentTurn, parser, firstSquare)) {
+                        currentTurnOver = true;
+                    }
+                    else {
+                        parser.parse("S"); // ask for the squares again
+                        commandDone = false;
+                    }
+                    break;
+
+                    case 'I': // display instructions
+                    printMenuPlay(currentPlayer,nextPlayer);
+                    break;
+
+                    case 'O': // display offensive board
+                    game.fillOffensiveGrid(currentTurn, grid);
+                    renderer.renderChanges(currentPlayer + "'s offensive board.", grid);
+                    break;
+
+                    case 'D': // display defensive board
+                    game.fillDefensiveGrid(currentTurn, grid);
+                    renderer.renderChanges(currentPlayer + "'s defensive board.", grid);
+                    break;
+
+                    case 'R': // reset screen to blank to remove board views
+                    ResetScreen();
+                    break;
+
+                    default: 
+                    out.println("Invalid input. Please try again.");
+                    countInvalidCommand();
+                    break;
+                }
+                commandHandled(Metrics.PLAY_COMMAND);
+
+            }
+            if (!userWantsToExit && currentTurnOver) { // other player's turn as this player missed or was unsuccessful when he/she took a shot
+                currentTurnOver = false; // this needs to be false for the game to continue
+                if (currentPlayer == firstPlayerName) {  //switch player names
+                    currentPlayer = secPlayerName;
+                }
+                else if (currentPlayer == secPlayerName) {
+                    currentPlayer = firstPlayerName;
+                }
+
+                if (currentTurn == true) {   // model uses true for player 1 and false for player2
+                    currentTurn = false;
+                }
+                else if (currentTurn == false) {
+                    currentTurn = true;
+                }
+                out.println(currentPlayer + ": it's your turn now.");
+            }
+        }
+
+        return false; // we only get here if user wants to exit or game is over so false means stop the game
+    }
+
+    /*
+     * Method nextLine - reads the next line of input
+     * @return the line, without its terminator
+     * @throws NoSuchElementException if the input has run out
+     */
+    private String nextLine() {
+        try {
+            String line = in.readLine();
+            if (line == null) {
+                throw new NoSuchElementException("No line found");
+            }
+            return line;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Method readCommand - reads a command line into the parser and starts timing it
+     * @return the command letter, upper case, or 0 if the line is not a command
+     */
+    private char readCommand() {
+        parser.parse(nextLine());
+        commandStart = Metrics.ENABLED ? System.nanoTime() : 0;
+        return parser.getCommand(0);
+    }
+
+    /*
+     * Method commandHandled - records how long the current command took, once,
+     * called before anything that waits for more input
+     * @param histogram - SETUP_COMMAND or PLAY_COMMAND
+     */
+    private void commandHandled(LatencyHistogram histogram) {
+        if (Metrics.ENABLED && commandStart != 0) {
+            histogram.recordSince(commandStart);
+            commandStart = 0;
+        }
+    }
+
+    /*
+     * Method countInvalidCommand - counts a command that wasn't recognized
+     */
+    private void countInvalidCommand() {
+        if (Metrics.ENABLED) {
+            Metrics.INVALID_COMMANDS.increment();
+        }
+    }
+
+    public void runGame(String player1, String player2, BattleshipModel game, PlayGame thisGame) {
+        String playerWithFirstTurn;       // was goesFirst
+        String playerWithSecondTurn;      // was goesSecond
+
+        if (thisGame.whoGoesFirst()) {
+            playerWithFirstTurn = player1;
+            playerWithSecondTurn = player2;
+            out.println(playerWithFirstTurn + ", you're going first!");
+            out.println(playerWithSecondTurn + ", you're going second!");
+            out.println();
+
+        }
+        else {
+            playerWithFirstTurn = player2;
+            playerWithSecondTurn = player1;
+            out.println(playerWithFirstTurn + ", you're going first!");
+            out.println(playerWithSecondTurn + ", you're going second!");
+            out.println();
+        }
+
+        boolean keepGoing = true;
+        while (keepGoing) {
+            keepGoing = thisGame.setupGame(playerWithFirstTurn, true, game); // setup first board
+
+            if (keepGoing) {
+                keepGoing = thisGame.setupGame(playerWithSecondTurn, false, game);  // setup second board
+                if (keepGoing) {
+                    keepGoing = thisGame.play(playerWithFirstTurn, true, playerWithSecondTurn, false, game); // play the game
+                }
+            }
+            else {
+                out.println("Player wants to quit.");
+            }
+        }
+        renderer.unpin();
+        out.println("Thanks for playing.");
+    }
+
+    //pre-condition, array has to have no null pointers
+    public static void printBoard(char[] gridVals) {
+        printBoard(System.out, gridVals);
+    }
+
+    /*
+     * Method printBoard - prints a board to the given stream
+     * pre-condition, array has to have no null pointers
+     * A game keeps its own renderer; this one lives for a single print, so
+     * nothing is shared between threads or kept for streams no longer used
+     * @param out - stream to print to
+     * @param gridVals - grid values from getOffensiveGrid or getDefensiveGrid
+     */
+    public static void printBoard(PrintStream out, char[] gridVals) {
+        new BoardRenderer(out, false).render(gridVals);
+    }
+
+    /*
+     * Method print menu prints menu choices for user.
+     * Validate input - report unrecognized commands
+     * if "in" "contains"
+     */
+    public void printMenuSetup(String playerID) {
+        out.println("Hi " + playerID + " you're in SETUP MODE.");
+        out.println("Here's your battleship setup menu. Enter letter at the prompt below.");
+        out.println("M - View menu options.");
+        out.println("I - View setup instructions.");
+        out.println("S - Setup my defensive board.");
+        out.println("O - View my offensive board.");
+        out.println("D - View my defensive board.");
+        out.println("R - Reset screen to remove view of board(s).");
+        out.println("E - Exit game.");
+        out.println();
+    }
+
+    /*
+     * Method fireSalvo - fires every square of a salvo in one call and prints each result
+     * @param game - the game
+     * @param playerNum - true for Player 1, false for Player 2
+     * @param tokens - parser holding the line with the squares
+     * @param from - index of the first square in tokens
+     * @return false if the salvo had the wrong number of squares or an invalid one, nothing is fired then
+     */
+    public boolean fireSalvo(BattleshipModelInterface game, boolean playerNum, CommandParser tokens, int from) {
+        int salvoSize = game.getSalvoSize(playerNum);
+        if (tokens.getTokenCount() - from != salvoSize) {
+            out.println("Invalid salvo. Enter exactly " + salvoSize + " squares A1 through J10.");
+            return false;
+        }
+        int[] cells = new int[salvoSize];
+        for (int i = 0; i < salvoSize; i++) {
+            cells[i] = tokens.getCell(from + i);
+            if (cells[i] < 0) {
+                out.println("Invalid target " + tokens.getToken(from + i) + ". Nothing was fired.");
+                return false;
+            }
+        }
+
+        int[] results = new int[salvoSize];
+        int hits = game.makeSalvo(playerNum, cells, salvoSize, results);
+        String shooterName = playerNum ? game.getPlayer1Name() : game.getPlayer2Name(); // name the model has always used in the sunk message
+        for (int i = 0; i < salvoSize; i++) {
+            out.println(tokens.getToken(from + i) + ": " + ShotResult.describe(results[i], shooterName));
+        }
+        out.println("Salvo over: " + hits + " of " + salvoSize + " shots hit.");
+        return true;
+    }
+
+    /*
+     * Method printSalvoPrompt - asks a player for the squares of a salvo
+     * @param playerID - the player firing
+     * @param salvoSize - the number of squares to fire on
+     */
+    public void printSalvoPrompt(String playerID, int salvoSize) {
+        out.println(playerID + " :fire a salvo by listing " + salvoSize + " squares A1 through J10, separated by spaces.");
+    }
+
+    /*
+     * Method print menu prints menu choices for user.
+     * Validate input - report unrecognized commands
+     * if "in" "contains"
+     */
+    public void printMenuPlay(String playerID, String otherPlayer) {
+        out.println("Hi " + playerID + " you're in PLAY MODE.");
+        out.println("Battleship Play Menu. Enter letter at the prompt below.");
+        out.println("I - View play iInstructions.");
+        if (salvoRule) {
+            out.println("S - Fire a salvo at " + otherPlayer + "'s ships, one shot per ship you have afloat.");
+        }
+        else {
+            out.println("T - Take a shot at " + otherPlayer + "'s ships.");
+        }
+        out.println("O - View my offensive board.");
+        out.println("D - View my defensive board.");
+        out.println("R - Reset screen to remove view of board(s).");
+        out.println("E - Exit game.");
+    }
+
+    /*
+     * Method print menu prints menu choices for user.
+     */
+    public void printSetupInstructions() {
+        out.println("Setup Instructions.");
+        out.println("During setup mode, you will need to place your aircraft ");
+        out.println("carrier, battleship, cruiser, and two destroyers");
+        out.println("on a 10x10 grid. Specify the starting position for each ship by");
+        out.println("entering a starting square of A1 through J10 and specify the");
+        out.println("orientation by entering H for horizontal, V for vertical,");
+        out.println("DD for diagnol down and DU for diaganol up. See sample input below.");
+        out.println("Player1 aircraft carrier <starting square> <orientation: DD DU V or H>");
+        out.println("Player1 aircraft carrier B2 H");
+        out.println();
+        out.println("The game will let you know if your placement is invalid or if");
+        out.println("you already placed a ship in the specified location. The game shows");
+        out.println("you your board after each ship placement.");
+        out.println();
+    }
+
+    /*
+     * Method print menu prints menu choices for user.
+     */
+    public void printPlayInstructions() {
+        out.println("Play Instructions.");
+        out.println("Game randomly chooses either Player1 or Player2 to start.");
+        out.println("When it's a player's turn, the player can take several actions.");
+        out.println("O and ENTER to view offensive board, D and ENTER to view defensive board.");
+        if (salvoRule) {
+            out.println("This game is played with the salvo rule. To fire, a player types 'S' and the squares");
+            out.println("of a salvo, one square per ship still afloat, e.g. S A1 B2 C3 D4 E5.");
+            out.println("The game responds for every square: Miss, Hit, Hit and ship sunk. The turn ends after a salvo.");
+        }
+        else {
+            out.println("To take a shot, a player types 'T' and then presses ENTER.");
+            out.println("Then the player enters a square A1 through J10 where a missile will be shot.");
+            out.println("The game responds three ways: Miss, Hit and continue, Hit and ship sunk.");
+            out.println("If a player hits the other player's ship, he/she gets another turn.");
+        }
+        out.println("When Player1's turn is over, game prompts for a move from Player2");
+        out.println("Play continues until one player has sunk all the other player's battleships.");
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,332 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * ProbabilityShootingStrategy is a hunt/target AI that keeps, for every
+ * cell, a density of how many placements of the remaining enemy ships
+ * could cover it, over all four orientations (H, V, DD, DU).
+ *
+ * Placements that cover a miss or a sunk ship are dropped, and placements
+ * through unresolved hits are weighted heavily, so the same density hunts
+ * on an open board and finishes off a ship once it has been hit. The
+ * density is updated incrementally: a shot only touches the placements
+ * that cover the shot cell, and a sinking only touches the live placements
+ * of the sunk ship's length, which are kept in one list per length.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class ProbabilityShootingStrategy implements ShootingStrategy {
+	// Per-cell state
+	private long[] density;
+	private byte[] cellState;
+
+	// Per-placement state
+	private int[] blocked;
+	private int[] hits;
+
+	// Live placements, indexed by length, the first liveCount[length] of each list
+	private int[][] live;
+	private int[] liveCount;
+	private int[] liveIndex;
+
+	// Remaining enemy ships, indexed by length
+	private int[] remaining;
+	private FleetSpec fleet;
+
+	// Cell states
+	private static final byte UNKNOWN = 0;
+	private static final byte MISSED = 1;
+	private static final byte HIT = 2;
+	private static final byte SUNK = 3;
+
+	// Private class constant values
+	private static final int BOARD_SIZE = 10;
+	private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+	private static final long TARGET_WEIGHT = 1000;
+
+	// Every in-bounds placement of every ship length: its cells, and the placements covering each cell.
+	// Placements of one length are numbered from FIRST_PLACEMENT[length] up to FIRST_PLACEMENT[length + 1].
+	private static final int[][] PLACEMENT_CELLS;
+	private static final int[][] PLACEMENTS_BY_CELL;
+	private static final int[] FIRST_PLACEMENT;
+
+	static {
+		FIRST_PLACEMENT = new int[AircraftCarrier.LENGTH + 2];
+		int count = 0;
+		for (int length = 0; length <= AircraftCarrier.LENGTH; length++) {
+			FIRST_PLACEMENT[length] = count;
+			if (length >= Destroyer.LENGTH) {
+				count += PlacementMasks.candidates(length).length;
+			}
+		}
+		FIRST_PLACEMENT[AircraftCarrier.LENGTH + 1] = count;
+		PLACEMENT_CELLS = new int[count][];
+		count = 0;
+		for (int length = Destroyer.LENGTH; length <= AircraftCarrier.LENGTH; length++) {
+			for (int id : PlacementMasks.candidates(length)) {
+				PLACEMENT_CELLS[count++] = PlacementMasks.cells(id);
+			}
+		}
+
+		int[] covering = new int[CELLS];
+		for (int[] placement : PLACEMENT_CELLS) {
+			for (int cell : placement) {
+				covering[cell]++;
+			}
+		}
+		PLACEMENTS_BY_CELL = new int[CELLS][];
+		for (int cell = 0; cell < CELLS; cell++) {
+			PLACEMENTS_BY_CELL[cell] = new int[covering[cell]];
+			covering[cell] = 0;
+		}
+		for (int p = 0; p < PLACEMENT_CELLS.length; p++) {
+			for (int cell : PLACEMENT_CELLS[p]) {
+				PLACEMENTS_BY_CELL[cell][covering[cell]++] = p;
+			}
+		}
+	}
+
+	/**
+	 * Constructor for ProbabilityShootingStrategy against the standard fleet
+	 */
+	public ProbabilityShootingStrategy() {
+		this(FleetSpec.STANDARD);
+	}
+
+	/**
+	 * Constructor for ProbabilityShootingStrategy
+	 * @param fleet The fleet the enemy places
+	 */
+	public ProbabilityShootingStrategy(FleetSpec fleet) {
+		this.fleet = fleet;
+		density = new long[CELLS];
+		cellState = new byte[CELLS];
+		blocked = new int[PLACEMENT_CELLS.length];
+		hits = new int[PLACEMENT_CELLS.length];
+		live = new int[AircraftCarrier.LENGTH + 1][];
+		for (int length = 0; length <= AircraftCarrier.LENGTH; length++) {
+			live[length] = new int[FIRST_PLACEMENT[length + 1] - FIRST_PLACEMENT[length]];
+		}
+		liveCount = new int[AircraftCarrier.LENGTH + 1];
+		liveIndex = new int[PLACEMENT_CELLS.length];
+		remaining = new int[AircraftCarrier.LENGTH + 1];
+		reset();
+	}
+
+	/**
+	 * Forgets everything about the previous game
+	 */
+	public void reset() {
+		Arrays.fill(density, 0);
+		Arrays.fill(cellState, UNKNOWN);
+		Arrays.fill(blocked, 0);
+		Arrays.fill(hits, 0);
+		Arrays.fill(remaining, 0);
+		for (int ship = 0; ship < fleet.getShipCount(); ship++) {
+			remaining[fleet.getShip(ship).getLength()]++;
+		}
+		for (int length = 0; length <= AircraftCarrier.LENGTH; length++) {
+			liveCount[length] = live[length].length;
+			for (int i = 0; i < live[length].length; i++) {
+				live[length][i] = FIRST_PLACEMENT[length] + i;
+				liveIndex[FIRST_PLACEMENT[length] + i] = i;
+			}
+		}
+
+		// the only full recount, done once per game
+		for (int p = 0; p < PLACEMENT_CELLS.length; p++) {
+			addToDensity(p, weight(p));
+		}
+	}
+
+	/**
+	 * Brings the strategy up to date with an offensive grid from getOffensiveGrid.
+	 * The grid does not say which ships are sunk, so its hits stay unresolved.
+	 * @param offensiveGrid Offensive grid values: 'H', 'M', or ' '
+	 */
+	public void readGrid(char[] offensiveGrid) {
+		for (int cell = 0; cell < CELLS; cell++) {
+			if (cellState[cell] != UNKNOWN) {
+				continue;
+			}
+			if (offensiveGrid[cell] == 'M') {
+				markMiss(cell);
+			} else if (offensiveGrid[cell] == 'H') {
+				markHit(cell);
+			}
+		}
+	}
+
+	/**
+	 * Picks the unshot cell with the highest density, breaking ties at random
+	 * @param random The random stream to draw from
+	 * @return Cell index to shoot
+	 */
+	public int nextShot(SplittableRandom random) {
+		int best = -1;
+		int ties = 0;
+		for (int cell = 0; cell < CELLS; cell++) {
+			if (cellState[cell] != UNKNOWN) {
+				continue;
+			}
+			if (best < 0 || density[cell] > density[best]) {
+				best = cell;
+				ties = 1;
+			} else if (density[cell] == density[best] && random.nextInt(++ties) == 0) {
+				best = cell;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Updates the density with the result of the last shot
+	 * @param cell The cell index that was shot
+	 * @param result ShotResult code returned by makeShot
+	 */
+	public void shotResult(int cell, int result) {
+		if (cellState[cell] != UNKNOWN) {
+			return;
+		}
+
+		int outcome = ShotResult.outcome(result);
+		if (outcome == ShotResult.MISS) {
+			markMiss(cell);
+		} else if (outcome == ShotResult.HIT) {
+			markHit(cell);
+		} else if (outcome == ShotResult.SUNK) {
+			markHit(cell);
+			markSunk(cell, getShipLength(ShotResult.sunkShip(result)));
+		}
+	}
+
+	/**
+	 * Returns the current density of a cell
+	 * @param cell The cell index
+	 * @return Weighted number of remaining placements covering cell
+	 */
+	public long getDensity(int cell) {
+		return density[cell];
+	}
+
+	/**
+	 * Private helper to record a miss: every placement through it is dropped
+	 * @param cell The cell index
+	 */
+	private void markMiss(int cell) {
+		cellState[cell] = MISSED;
+		block(cell);
+	}
+
+	/**
+	 * Private helper to record an unresolved hit: placements through it gain weight
+	 * @param cell The cell index
+	 */
+	private void markHit(int cell) {
+		cellState[cell] = HIT;
+		for (int p : PLACEMENTS_BY_CELL[cell]) {
+			if (blocked[p] == 0) {
+				long before = weight(p);
+				hits[p]++;
+				addToDensity(p, weight(p) - before);
+			} else {
+				hits[p]++;
+			}
+		}
+	}
+
+	/**
+	 * Private helper to record a sinking. The sunk ship is taken to be a
+	 * placement of its length through the sinking shot whose cells are all
+	 * unresolved hits; those cells are resolved, and one ship of that length
+	 * is removed from the remaining fleet.
+	 * @param cell The cell index of the sinking shot
+	 * @param length The length of the sunk ship
+	 */
+	private void markSunk(int cell, int length) {
+		for (int p : PLACEMENTS_BY_CELL[cell]) {
+			if (PLACEMENT_CELLS[p].length == length && blocked[p] == 0 && hits[p] == length) {
+				for (int shipCell : PLACEMENT_CELLS[p]) {
+					cellState[shipCell] = SUNK;
+					block(shipCell);
+				}
+				break;
+			}
+		}
+
+		if (remaining[length] > 0) {
+			// every live placement of this length loses one ship's worth of weight
+			int[] placements = live[length];
+			for (int i = 0; i < liveCount[length]; i++) {
+				int p = placements[i];
+				long before = weight(p);
+				remaining[length]--;
+				long after = weight(p);
+				remaining[length]++;
+				addToDensity(p, after - before);
+			}
+			remaining[length]--;
+		}
+	}
+
+	/**
+	 * Private helper to drop every live placement through a cell
+	 * @param cell The cell index
+	 */
+	private void block(int cell) {
+		for (int p : PLACEMENTS_BY_CELL[cell]) {
+			if (blocked[p]++ == 0) {
+				addToDensity(p, -weight(p));
+				unlink(p);
+			}
+		}
+	}
+
+	/**
+	 * Private helper to take a newly blocked placement out of the live list of its length
+	 * @param p The placement index
+	 */
+	private void unlink(int p) {
+		int length = PLACEMENT_CELLS[p].length;
+		int at = liveIndex[p];
+		int last = live[length][--liveCount[length]];
+		live[length][at] = last;
+		liveIndex[last] = at;
+	}
+
+	/**
+	 * Private helper for the weight of a live placement
+	 * @param p The placement index
+	 * @return Number of remaining ships that fit it, scaled up by its unresolved hits
+	 */
+	private long weight(int p) {
+		long ships = remaining[PLACEMENT_CELLS[p].length];
+		return (hits[p] == 0) ? ships : ships * TARGET_WEIGHT * hits[p];
+	}
+
+	/**
+	 * Private helper to add a weight to every cell of a placement
+	 * @param p The placement index
+	 * @param delta The weight to add
+	 */
+	private void addToDensity(int p, long delta) {
+		if (delta != 0) {
+			for (int cell : PLACEMENT_CELLS[p]) {
+				density[cell] += delta;
+			}
+		}
+	}
+
+	/**
+	 * Private helper to get the length of a ship from a ship reference
+	 * @param shipReference Character ship reference
+	 * @return Ship length
+	 */
+	private int getShipLength(char shipReference) {
+		return fleet.getLength(shipReference);
+	}
+}
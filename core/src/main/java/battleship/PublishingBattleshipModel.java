@@ -0,0 +1,226 @@
+package battleship;
+
+/**
+ * PublishingBattleshipModel class, a BattleshipModelInterface decorator
+ * that publishes every successful placement and every shot the wrapped
+ * model resolves to an EventBus. Repeated shots change nothing and are
+ * not published. Salvos are published as one batch. Publishing never
+ * waits on subscribers, so the game loop runs at the wrapped model's
+ * speed however many spectators are watching.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class PublishingBattleshipModel implements BattleshipModelInterface {
+	// The model doing the work and the bus its events go to
+	private BattleshipModelInterface game;
+	private EventBus bus;
+	private long[] salvoEvents;
+
+	// Private class constant values
+	private static final int BOARD_WIDTH = 10;
+	private static final String LETTERS = "ABCDEFGHIJ";
+
+	/**
+	 * Constructor for PublishingBattleshipModel
+	 * @param game The model to wrap
+	 * @param bus The bus to publish to, written only by the thread playing the game
+	 */
+	public PublishingBattleshipModel(BattleshipModelInterface game, EventBus bus) {
+		this.game = game;
+		this.bus = bus;
+		salvoEvents = new long[BOARD_WIDTH * BOARD_WIDTH];
+	}
+
+	/**
+	 * Returns the bus events are published to
+	 * @return Event bus
+	 */
+	public EventBus getBus() {
+		return bus;
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param loc The bound-validated starting location to place the ship
+	 * @param o The orientation for the ship to be placed in, starting from loc
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, String loc, Orientation o) {
+		return placeShip(isPlayer1, ship, getRow(loc), getCol(loc), o);
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param cell The bound-validated starting cell index (row * 10 + col)
+	 * @param o The orientation for the ship to be placed in, starting from cell
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int cell, Orientation o) {
+		return placeShip(isPlayer1, ship, cell / BOARD_WIDTH, cell % BOARD_WIDTH, o);
+	}
+
+	/**
+	 * Attempts to place a ship in the board
+	 * @param isPlayer1 True is Player 1's turn, false is Player 2's turn
+	 * @param ship The reference for the ship to place, one of the fleet's ship types
+	 * @param startRow The zero-based starting row
+	 * @param startCol The zero-based starting col
+	 * @param o The orientation for the ship to be placed in, starting from (startRow, startCol)
+	 * @return True if ship placement was successful, false otherwise
+	 */
+	public boolean placeShip(boolean isPlayer1, char ship, int startRow, int startCol, Orientation o) {
+		boolean placed = game.placeShip(isPlayer1, ship, startRow, startCol, o);
+		if (placed) {
+			bus.publish(GameEvent.placement(isPlayer1, ship, startRow * BOARD_WIDTH + startCol, o));
+		}
+		return placed;
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param loc The bound-validated location to shoot
+	 * @return "Hit", "Miss", "Hit and sunk <player_name>'s <ship_name>", or "Unsuccessful"
+	 */
+	public String makeShot(boolean isPlayer1, String loc) {
+		int result = makeShot(isPlayer1, getRow(loc), getCol(loc));
+		String targetPlayerName = (isPlayer1) ? game.getPlayer1Name() : game.getPlayer2Name();
+		return ShotResult.describe(result, targetPlayerName);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param row The bound-validated zero-based row to shoot
+	 * @param col The bound-validated zero-based col to shoot
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int row, int col) {
+		return makeShot(isPlayer1, row * BOARD_WIDTH + col);
+	}
+
+	/**
+	 * Attempts to make a shot in the board
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cell The bound-validated cell index to shoot (row * 10 + col)
+	 * @return ShotResult code: MISS, HIT, SUNK (with the ship and game over flag), or REPEAT
+	 */
+	public int makeShot(boolean isPlayer1, int cell) {
+		int result = game.makeShot(isPlayer1, cell);
+		if (ShotResult.outcome(result) != ShotResult.REPEAT) {
+			bus.publish(GameEvent.shot(isPlayer1, cell, result));
+		}
+		return result;
+	}
+
+	/**
+	 * Fires a salvo through the wrapped model and publishes its shots as one batch
+	 * @param isPlayer1 True is Player 1's turn, False is Player 2's turn
+	 * @param cells The bound-validated cell indexes to shoot (row * 10 + col)
+	 * @param count The number of cells to shoot, from the start of cells
+	 * @param results Receives the ShotResult code of each shot, in order
+	 * @return Number of shots that hit, counting those that sank a ship
+	 */
+	public int makeSalvo(boolean isPlayer1, int[] cells, int count, int[] results) {
+		int hits = game.makeSalvo(isPlayer1, cells, count, results);
+		if (count > salvoEvents.length) {
+			salvoEvents = new long[count];
+		}
+		int events = 0;
+		for (int i = 0; i < count; i++) {
+			if (ShotResult.outcome(results[i]) != ShotResult.REPEAT) {
+				salvoEvents[events++] = GameEvent.shot(isPlayer1, cells[i], results[i]);
+			}
+		}
+		bus.publish(salvoEvents, events);
+		return hits;
+	}
+
+	/**
+	 * Returns the number of shots a player fires per turn under the salvo rule
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Salvo size
+	 */
+	public int getSalvoSize(boolean isPlayer1) {
+		return game.getSalvoSize(isPlayer1);
+	}
+
+	/**
+	 * Returns the number of ships a player has afloat
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Ship count
+	 */
+	public int getShipCount(boolean isPlayer1) {
+		return game.getShipCount(isPlayer1);
+	}
+
+	/**
+	 * Private getter for the zero-based row index for the board
+	 * @param pos The board location to get the row of (i.e. A1)
+	 * @return Zero-based row index for the board
+	 */
+	private int getRow(String pos) {
+		return LETTERS.indexOf(pos.charAt(0));
+	}
+
+	/**
+	 * Private getter for the zero-based col index for the board
+	 * @param pos The board location to get the col of (i.e. A1)
+	 * @return Zero-based col index for the board
+	 */
+	private int getCol(String pos) {
+		int col = 0;
+		for (int i = 1; i < pos.length(); i++) {
+			col = col * 10 + (pos.charAt(i) - '0');
+		}
+		return col - 1;
+	}
+
+	/**
+	 * Returns Player 1's name
+	 * @return Player 1's name
+	 */
+	public String getPlayer1Name() {
+		return game.getPlayer1Name();
+	}
+
+	/**
+	 * Returns Player 2's name
+	 * @return Player 2's name
+	 */
+	public String getPlayer2Name() {
+		return game.getPlayer2Name();
+	}
+
+	/**
+	 * Return the array of offensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of offensive grid values for passed player
+	 */
+	public char[] getOffensiveGrid(boolean isPlayer1) {
+		return game.getOffensiveGrid(isPlayer1);
+	}
+
+	/**
+	 * Return the array of defensive grid values for player based on passed parameter
+	 * @param isPlayer1 True for Player 1, False for Player 2
+	 * @return Array of defensive grid values for passed player
+	 */
+	public char[] getDefensiveGrid(boolean isPlayer1) {
+		return game.getDefensiveGrid(isPlayer1);
+	}
+
+	/**
+	 * Returns whether or not the game is over
+	 * @return True if game is over, false if not
+	 */
+	public boolean isGameOver() {
+		return game.isGameOver();
+	}
+}
@@ -0,0 +1,56 @@
+package battleship;
+
+import java.util.SplittableRandom;
+
+/**
+ * RandomShootingStrategy fires at every cell once, in a random order
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class RandomShootingStrategy implements ShootingStrategy {
+	// Cells not yet shot live in order[0 .. remaining)
+	private int[] order;
+	private int remaining;
+
+	/**
+	 * Constructor for RandomShootingStrategy
+	 */
+	public RandomShootingStrategy() {
+		order = new int[100];
+		reset();
+	}
+
+	/**
+	 * Forgets everything about the previous game
+	 */
+	public void reset() {
+		for (int cell = 0; cell < order.length; cell++) {
+			order[cell] = cell;
+		}
+		remaining = order.length;
+	}
+
+	/**
+	 * Picks a random cell that has not been shot yet
+	 * @param random The random stream to draw from
+	 * @return Cell index to shoot
+	 */
+	public int nextShot(SplittableRandom random) {
+		// swap a random remaining cell to the end of the remaining range
+		int pick = random.nextInt(remaining);
+		int cell = order[pick];
+		order[pick] = order[--remaining];
+		order[remaining] = cell;
+		return cell;
+	}
+
+	/**
+	 * Random shooting ignores results
+	 * @param cell The cell index that was shot
+	 * @param result ShotResult code returned by makeShot
+	 */
+	public void shotResult(int cell, int result) {
+	}
+}
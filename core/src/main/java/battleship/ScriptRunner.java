@@ -0,0 +1,357 @@
+package battleship;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * ScriptRunner class for playing console games from a script instead of a
+ * keyboard. A script is exactly what the players would type: each game
+ * starts with the two player names, as GameSession asks for them, followed
+ * by every command and answer PlayGame.runGame reads, one per line. Games
+ * follow each other until the script ends.
+ *
+ * Every game reads from one shared BufferedReader, so nothing is lost
+ * between prompts and thousands of games run back to back. Output goes to
+ * a file or nowhere, and a CRC32 of it is kept either way, so a replay can
+ * be checked against an earlier run as well as timed.
+ *
+ * Blank lines and lines starting with '#' between games are skipped.
+ * "# seed N" reseeds the generator that decides who goes first, so a
+ * script replays the same way every time.
+ *
+ * Usage: java -cp battleship-core.jar battleship.ScriptRunner run <script|-> [output]
+ *        java -cp battleship-core.jar battleship.ScriptRunner generate <games> [seed]
+ *   with -Dbattleship.fleet=<file> to play with a FleetSpec file instead of the standard fleet
+ *   and -Dbattleship.salvo=true to play, or generate, games with the salvo rule
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class ScriptRunner {
+	// Runner state
+	private BufferedReader script;
+	private CRC32 digest;
+	private Random random;
+	private PrintStream out;
+	private PlayGame console;
+	private FleetSpec fleet;
+
+	// Results
+	private int games;
+	private int finishedGames;
+	private int quitGames;
+	private boolean truncated;
+	private long elapsedNanos;
+
+	// Private class constant values
+	private static final String SEED_DIRECTIVE = "# seed ";
+	private static final String LETTERS = "ABCDEFGHIJ";
+
+	/**
+	 * Constructor for ScriptRunner with the standard fleet
+	 * @param script The script to play
+	 * @param output Receives all game output, see OutputStream.nullOutputStream to suppress it
+	 */
+	public ScriptRunner(BufferedReader script, OutputStream output) {
+		this(script, output, FleetSpec.STANDARD);
+	}
+
+	/**
+	 * Constructor for ScriptRunner
+	 * @param script The script to play
+	 * @param output Receives all game output, see OutputStream.nullOutputStream to suppress it
+	 * @param fleet The fleet every game is played with
+	 */
+	public ScriptRunner(BufferedReader script, OutputStream output, FleetSpec fleet) {
+		this(script, output, fleet, false);
+	}
+
+	/**
+	 * Constructor for ScriptRunner
+	 * @param script The script to play
+	 * @param output Receives all game output, see OutputStream.nullOutputStream to suppress it
+	 * @param fleet The fleet every game is played with
+	 * @param salvoRule True to play every game with the salvo rule
+	 */
+	public ScriptRunner(BufferedReader script, OutputStream output, FleetSpec fleet, boolean salvoRule) {
+		this.script = script;
+		this.fleet = fleet;
+		digest = new CRC32();
+		random = new Random(0);
+		out = new PrintStream(new CheckedOutputStream(new BufferedOutputStream(output, 1 << 16), digest), false,
+				StandardCharsets.UTF_8);
+		console = new PlayGame(script, out, false, random);
+		console.setSalvoRule(salvoRule);
+	}
+
+	/**
+	 * Plays every game in the script
+	 * @return Number of games started
+	 */
+	public int run() {
+		long start = System.nanoTime();
+		String player1;
+		while ((player1 = nextName()) != null) {
+			String player2 = nextName();
+			if (player2 == null) {
+				truncated = true;
+				break;
+			}
+			games++;
+			BattleshipModel game = new BattleshipModel(player1, player2, fleet);
+			try {
+				console.runGame(player1, player2, game, console);
+			} catch (NoSuchElementException e) {
+				truncated = true; // the script ended in the middle of this game
+				break;
+			}
+			if (game.isGameOver()) {
+				finishedGames++;
+			} else {
+				quitGames++;
+			}
+		}
+		out.flush();
+		elapsedNanos = System.nanoTime() - start;
+		return games;
+	}
+
+	/**
+	 * Private helper that reads the next player name, skipping comments and
+	 * blank lines and acting on seed directives
+	 * @return The name, or null at the end of the script
+	 */
+	private String nextName() {
+		try {
+			String line;
+			while ((line = script.readLine()) != null) {
+				if (line.startsWith(SEED_DIRECTIVE)) {
+					random.setSeed(Long.parseLong(line.substring(SEED_DIRECTIVE.length()).trim()));
+				} else if (!line.isBlank() && !line.startsWith("#")) {
+					return line.trim();
+				}
+			}
+			return null;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns the number of games started
+	 * @return Games
+	 */
+	public int getGames() {
+		return games;
+	}
+
+	/**
+	 * Returns the number of games played until a player had no ships left
+	 * @return Games that were won
+	 */
+	public int getFinishedGames() {
+		return finishedGames;
+	}
+
+	/**
+	 * Returns the number of games a player quit with E
+	 * @return Games that were quit
+	 */
+	public int getQuitGames() {
+		return quitGames;
+	}
+
+	/**
+	 * Returns whether the script ended in the middle of a game
+	 * @return True if the last game was cut short
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	/**
+	 * Returns the CRC32 of everything the games printed
+	 * @return Checksum, equal between runs that printed the same text
+	 */
+	public long getOutputDigest() {
+		return digest.getValue();
+	}
+
+	/**
+	 * Returns the time run took
+	 * @return Elapsed nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Writes a script of complete games with random fleets and shots. Each game
+	 * places both fleets, looks at the boards now and then, and shoots until
+	 * someone wins. Whoever goes first sets up and shoots first, so only the
+	 * names in the output depend on who that is.
+	 * @param script Receives the script
+	 * @param count Number of games
+	 * @param seed Seed for the fleets, the shots and the first player
+	 */
+	public static void generate(PrintStream script, int count, long seed) {
+		generate(script, count, seed, FleetSpec.STANDARD);
+	}
+
+	/**
+	 * Writes a script of complete games played with a fleet, see generate
+	 * @param script Receives the script
+	 * @param count Number of games
+	 * @param seed Seed for the fleets and the shots
+	 * @param fleet The fleet both players place
+	 */
+	public static void generate(PrintStream script, int count, long seed, FleetSpec fleet) {
+		generate(script, count, seed, fleet, false);
+	}
+
+	/**
+	 * Writes a script of complete games played with a fleet and a rule, see generate
+	 * @param script Receives the script
+	 * @param count Number of games
+	 * @param seed Seed for the fleets and the shots
+	 * @param fleet The fleet both players place
+	 * @param salvoRule True to fire every turn as one salvo, S and its squares on one line
+	 */
+	public static void generate(PrintStream script, int count, long seed, FleetSpec fleet, boolean salvoRule) {
+		SplittableRandom random = new SplittableRandom(seed);
+		script.println(SEED_DIRECTIVE + seed);
+		for (int i = 0; i < count; i++) {
+			script.println("Player One");
+			script.println("Player Two");
+			BattleshipModel game = new BattleshipModel("Player One", "Player Two", fleet);
+			placeFleet(script, game, true, random);
+			placeFleet(script, game, false, random);
+
+			int[][] order = {shuffledCells(random), shuffledCells(random)};
+			int[] fired = new int[2];
+			boolean isPlayer1 = true;
+			while (!game.isGameOver()) {
+				int player = isPlayer1 ? 0 : 1;
+				if (random.nextInt(8) == 0) {
+					script.println(random.nextBoolean() ? "O" : "D");
+				}
+				if (salvoRule) {
+					int salvoSize = game.getSalvoSize(isPlayer1);
+					StringBuilder salvo = new StringBuilder("S");
+					for (int shot = 0; shot < salvoSize; shot++) {
+						// with fewer squares left than ships afloat, the last square is named again
+						int cell = order[player][Math.min(fired[player]++, 99)];
+						salvo.append(' ').append(square(cell));
+						game.makeShot(isPlayer1, cell);
+					}
+					script.println(salvo);
+					isPlayer1 = !isPlayer1;
+					continue;
+				}
+				script.println("T");
+				int result;
+				do {
+					int cell = order[player][fired[player]++];
+					script.println(square(cell));
+					result = game.makeShot(isPlayer1, cell);
+				} while (ShotResult.isHit(result) && !ShotResult.isGameOver(result));
+				isPlayer1 = !isPlayer1;
+			}
+		}
+		script.flush();
+	}
+
+	/**
+	 * Private helper that writes one player's setup: S, then a legal placement for every ship.
+	 * Gives up, as FleetGenerator does, once a ship has missed MAX_ATTEMPTS times.
+	 */
+	private static void placeFleet(PrintStream script, BattleshipModel game, boolean isPlayer1, SplittableRandom random) {
+		script.println("S");
+		FleetSpec fleet = game.getFleet();
+		for (int ship = 0; ship < fleet.getShipCount(); ship++) {
+			ShipType type = fleet.getShip(ship);
+			int[] candidates = PlacementMasks.candidates(type.getLength());
+			int id;
+			int attempts = 0;
+			do {
+				if (attempts++ == FleetGenerator.MAX_ATTEMPTS) {
+					throw new IllegalStateException("No room left for the " + fleet.getShipName(ship) + ", the fleet is packed too tightly");
+				}
+				id = candidates[random.nextInt(candidates.length)];
+			} while (!game.placeShip(isPlayer1, type.getReference(), PlacementMasks.cell(id),
+					PlacementMasks.orientation(id)));
+			script.println(square(PlacementMasks.cell(id)) + " " + PlacementMasks.orientation(id));
+		}
+	}
+
+	/**
+	 * Private helper returning every cell in a random order
+	 */
+	private static int[] shuffledCells(SplittableRandom random) {
+		int[] cells = new int[100];
+		for (int i = 0; i < cells.length; i++) {
+			int j = random.nextInt(i + 1);
+			cells[i] = cells[j];
+			cells[j] = i;
+		}
+		return cells;
+	}
+
+	/**
+	 * Private helper naming a cell the way players type it
+	 */
+	private static String square(int cell) {
+		return LETTERS.charAt(cell / 10) + Integer.toString(cell % 10 + 1);
+	}
+
+	/**
+	 * Runs a script, or writes one
+	 * @param args run and a script file ("-" for standard input) and an optional output file,
+	 *   or generate and a number of games and an optional seed
+	 * @throws IOException If the script, output or fleet file can't be opened
+	 */
+	public static void main(String[] args) throws IOException {
+		String fleetFile = System.getProperty("battleship.fleet");
+		FleetSpec fleet = (fleetFile == null) ? FleetSpec.STANDARD : FleetSpec.load(Paths.get(fleetFile));
+		boolean salvoRule = Boolean.getBoolean("battleship.salvo");
+		if (args.length >= 2 && args[0].equals("generate")) {
+			generate(System.out, Integer.parseInt(args[1]), (args.length > 2) ? Long.parseLong(args[2]) : 42, fleet,
+					salvoRule);
+			return;
+		}
+		if (args.length < 2 || !args[0].equals("run")) {
+			System.err.println("Usage: ScriptRunner run <script|-> [output] | generate <games> [seed]");
+			return;
+		}
+
+		BufferedReader script = args[1].equals("-")
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+				: Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8);
+		try (OutputStream output = (args.length > 2) ? new FileOutputStream(args[2]) : OutputStream.nullOutputStream()) {
+			ScriptRunner runner = new ScriptRunner(script, output, fleet, salvoRule);
+			runner.run();
+			double seconds = runner.getElapsedNanos() / 1e9;
+			System.out.printf("Games:             %d (%d won, %d quit)%s%n", runner.getGames(), runner.getFinishedGames(),
+					runner.getQuitGames(), runner.isTruncated() ? ", script ended mid-game" : "");
+			System.out.printf("Games per second:  %.0f%n", runner.getGames() / seconds);
+			System.out.printf("Output digest:     %08x%n", runner.getOutputDigest());
+		} finally {
+			script.close();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package battleship;
+
+/**
+ * ShipType class for what every ship of one kind shares: its reference,
+ * name and length. Instances are immutable flyweights, one per kind in a
+ * FleetSpec, shared by every game played with that fleet. Damage is kept
+ * by the model, per placed ship.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public final class ShipType {
+	// The standard ship types
+	public static final ShipType AIRCRAFT_CARRIER = new ShipType(AircraftCarrier.REFERENCE, "aircraft carrier", AircraftCarrier.LENGTH);
+	public static final ShipType BATTLESHIP = new ShipType(Battleship.REFERENCE, "battleship", Battleship.LENGTH);
+	public static final ShipType CRUISER = new ShipType(Cruiser.REFERENCE, "cruiser", Cruiser.LENGTH);
+	public static final ShipType DESTROYER = new ShipType(Destroyer.REFERENCE, "destroyer", Destroyer.LENGTH);
+
+	// ShipType state
+	private final char reference;
+	private final String name;
+	private final int length;
+
+	/**
+	 * Constructor for ShipType
+	 * @param reference The letter that marks the ship on a defensive grid
+	 * @param name The name shown to players
+	 * @param length The number of squares the ship covers
+	 */
+	public ShipType(char reference, String name, int length) {
+		this.reference = reference;
+		this.name = name;
+		this.length = length;
+	}
+
+	/**
+	 * Getter for ship reference
+	 * @return Ship reference
+	 */
+	public char getReference() {
+		return reference;
+	}
+
+	/**
+	 * Getter for ship name
+	 * @return Ship name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Getter for ship length
+	 * @return Ship length
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	@Override
+	public String toString() {
+		return reference + " " + length + " " + name;
+	}
+}
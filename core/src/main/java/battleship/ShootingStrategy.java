@@ -0,0 +1,33 @@
+package battleship;
+
+import java.util.SplittableRandom;
+
+/**
+ * Strategy for choosing shots in a simulated game. A strategy instance
+ * plays one game at a time and is reset between games.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public interface ShootingStrategy {
+
+	/**
+	 * Forgets everything about the previous game
+	 */
+	public void reset();
+
+	/**
+	 * Chooses the next cell to shoot
+	 * @param random The random stream to draw from
+	 * @return Cell index to shoot (row * 10 + col)
+	 */
+	public int nextShot(SplittableRandom random);
+
+	/**
+	 * Tells the strategy how its last shot went
+	 * @param cell The cell index that was shot
+	 * @param result ShotResult code returned by makeShot
+	 */
+	public void shotResult(int cell, int result);
+}
@@ -0,0 +1,96 @@
+package battleship;
+
+/**
+ * ShotResult class for decoding the int result codes returned by makeShot.
+ * A result packs the outcome of the shot, the reference of a sunk ship and
+ * whether the shot ended the game into one int, so shooting never allocates.
+ * Human-readable text is only built on demand by describe.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public final class ShotResult {
+	// Shot outcomes
+	public static final int MISS = 0;
+	public static final int HIT = 1;
+	public static final int SUNK = 2;
+	public static final int REPEAT = 3;
+
+	// Private class constant values for the packed layout
+	private static final int OUTCOME_MASK = 0x3;
+	private static final int GAME_OVER_FLAG = 0x4;
+	private static final int SHIP_SHIFT = 8;
+
+	/**
+	 * Private constructor, ShotResult only has static helpers
+	 */
+	private ShotResult() {
+	}
+
+	/**
+	 * Builds the result code for a shot that sunk a ship
+	 * @param shipReference The reference of the sunk ship ('A', 'B', 'C', or 'D')
+	 * @param isGameOver True if sinking the ship ended the game
+	 * @return Result code
+	 */
+	public static int sunk(char shipReference, boolean isGameOver) {
+		return SUNK | (isGameOver ? GAME_OVER_FLAG : 0) | (shipReference << SHIP_SHIFT);
+	}
+
+	/**
+	 * Returns the outcome of a shot
+	 * @param result Result code returned by makeShot
+	 * @return MISS, HIT, SUNK, or REPEAT
+	 */
+	public static int outcome(int result) {
+		return result & OUTCOME_MASK;
+	}
+
+	/**
+	 * Returns whether a shot hit a ship, including the shot that sunk it
+	 * @param result Result code returned by makeShot
+	 * @return True for HIT or SUNK, false otherwise
+	 */
+	public static boolean isHit(int result) {
+		int outcome = outcome(result);
+		return outcome == HIT || outcome == SUNK;
+	}
+
+	/**
+	 * Returns the reference of the ship sunk by a shot
+	 * @param result Result code returned by makeShot
+	 * @return The sunk ship's reference, or '\0' if no ship was sunk
+	 */
+	public static char sunkShip(int result) {
+		return (char) (result >>> SHIP_SHIFT);
+	}
+
+	/**
+	 * Returns whether a shot ended the game
+	 * @param result Result code returned by makeShot
+	 * @return True if the game is over, false if not
+	 */
+	public static boolean isGameOver(int result) {
+		return (result & GAME_OVER_FLAG) != 0;
+	}
+
+	/**
+	 * Builds the human-readable text for a shot
+	 * @param result Result code returned by makeShot
+	 * @param playerName The player name used in the sunk message
+	 * @return "Hit", "Miss", "Hit and sunk <player_name>'s <ship_name>!", or "Unsuccessful"
+	 */
+	public static String describe(int result, String playerName) {
+		switch (outcome(result)) {
+			case MISS:
+				return "Miss";
+			case HIT:
+				return "Hit";
+			case SUNK:
+				return "Hit and sunk " + playerName + "'s " + sunkShip(result) + "!";
+			default:
+				return "Unsuccessful";
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package battleship;
+
+/**
+ * SimulationStats class for the aggregate results of simulated games.
+ * Each worker fills its own instance, and instances are merged when
+ * the workers join, so recording never needs synchronization.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class SimulationStats {
+	// Aggregate state
+	private long games;
+	private long unfinishedGames;
+	private long player1Wins;
+	private long firstMoverWins;
+	private long totalShots;
+	private long elapsedNanos;
+	private long[] shotsToWin;
+
+	// Private class constant values
+	private static final int MAX_SHOTS_TO_WIN = 1000;
+
+	/**
+	 * Constructor for SimulationStats
+	 */
+	public SimulationStats() {
+		shotsToWin = new long[MAX_SHOTS_TO_WIN + 1];
+	}
+
+	/**
+	 * Records a finished game
+	 * @param player1Won True if Player 1 won
+	 * @param player1WentFirst True if Player 1 took the first turn
+	 * @param winnerShots Shots fired by the winner, including repeats
+	 * @param shots Shots fired by both players
+	 */
+	public void recordGame(boolean player1Won, boolean player1WentFirst, int winnerShots, int shots) {
+		games++;
+		totalShots += shots;
+		if (player1Won) {
+			player1Wins++;
+		}
+		if (player1Won == player1WentFirst) {
+			firstMoverWins++;
+		}
+		shotsToWin[Math.min(winnerShots, MAX_SHOTS_TO_WIN)]++;
+	}
+
+	/**
+	 * Records a game that was abandoned before anyone won
+	 * @param shots Shots fired by both players
+	 */
+	public void recordUnfinishedGame(int shots) {
+		games++;
+		unfinishedGames++;
+		totalShots += shots;
+	}
+
+	/**
+	 * Adds another worker's results into these
+	 * @param other The results to add
+	 */
+	public void merge(SimulationStats other) {
+		games += other.games;
+		unfinishedGames += other.unfinishedGames;
+		player1Wins += other.player1Wins;
+		firstMoverWins += other.firstMoverWins;
+		totalShots += other.totalShots;
+		for (int i = 0; i < shotsToWin.length; i++) {
+			shotsToWin[i] += other.shotsToWin[i];
+		}
+	}
+
+	/**
+	 * Sets the wall-clock time the simulation took
+	 * @param elapsedNanos Elapsed time in nanoseconds
+	 */
+	public void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Returns the number of games played, finished or not
+	 * @return Number of games
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * Returns the number of games abandoned before anyone won
+	 * @return Number of unfinished games
+	 */
+	public long getUnfinishedGames() {
+		return unfinishedGames;
+	}
+
+	/**
+	 * Returns the number of games won by Player 1
+	 * @return Player 1 wins
+	 */
+	public long getPlayer1Wins() {
+		return player1Wins;
+	}
+
+	/**
+	 * Returns the number of games won by the player who took the first turn
+	 * @return First mover wins
+	 */
+	public long getFirstMoverWins() {
+		return firstMoverWins;
+	}
+
+	/**
+	 * Returns the fraction of finished games won by the player who took the first turn
+	 * @return First mover win rate, 0 to 1
+	 */
+	public double getFirstMoverWinRate() {
+		long finished = games - unfinishedGames;
+		return (finished == 0) ? 0 : (double) firstMoverWins / finished;
+	}
+
+	/**
+	 * Returns the simulation throughput
+	 * @return Games per second of wall-clock time
+	 */
+	public double getGamesPerSecond() {
+		return (elapsedNanos == 0) ? 0 : games * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Returns the mean number of shots the winner needed
+	 * @return Mean shots to win
+	 */
+	public double getMeanShotsToWin() {
+		long finished = 0;
+		long sum = 0;
+		for (int shots = 0; shots < shotsToWin.length; shots++) {
+			finished += shotsToWin[shots];
+			sum += shots * shotsToWin[shots];
+		}
+		return (finished == 0) ? 0 : (double) sum / finished;
+	}
+
+	/**
+	 * Returns a percentile of the shots-to-win distribution
+	 * @param percentile The percentile, 0 to 100
+	 * @return Smallest shot count with at least percentile% of wins at or below it
+	 */
+	public int getShotsToWinPercentile(double percentile) {
+		long finished = games - unfinishedGames;
+		long target = (long) Math.ceil(finished * percentile / 100.0);
+		long seen = 0;
+		for (int shots = 0; shots < shotsToWin.length; shots++) {
+			seen += shotsToWin[shots];
+			if (seen >= target && seen > 0) {
+				return shots;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns the number of wins that took exactly the given number of shots
+	 * @param shots Shots fired by the winner
+	 * @return Number of such wins
+	 */
+	public long getShotsToWinCount(int shots) {
+		return (shots < 0 || shots >= shotsToWin.length) ? 0 : shotsToWin[shots];
+	}
+
+	/**
+	 * Builds a printable summary
+	 * @return Multi-line report
+	 */
+	public String report() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Games:             %d (%d unfinished)%n", games, unfinishedGames));
+		report.append(String.format("Games per second:  %.0f%n", getGamesPerSecond()));
+		report.append(String.format("Mean shots/game:   %.2f%n", games == 0 ? 0 : (double) totalShots / games));
+		report.append(String.format("Shots to win:      mean %.2f, p10 %d, p50 %d, p90 %d, p99 %d%n",
+				getMeanShotsToWin(), getShotsToWinPercentile(10), getShotsToWinPercentile(50),
+				getShotsToWinPercentile(90), getShotsToWinPercentile(99)));
+		report.append(String.format("Player 1 wins:     %d%n", player1Wins));
+		report.append(String.format("First mover wins:  %.2f%%%n", getFirstMoverWinRate() * 100));
+		return report.toString();
+	}
+}
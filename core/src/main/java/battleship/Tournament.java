@@ -0,0 +1,438 @@
+package battleship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Tournament class for ranking strategies against each other.
+ *
+ * Entrants pair a placement strategy with a shooting strategy, loaded by
+ * class name. Every round plays a batch of games for every pair of
+ * entrants on BattleshipModel, taking turns at shooting first. Each
+ * batch is split into small fork/join tasks, so idle workers steal
+ * games from long matches instead of waiting for them. After each round
+ * the standings are refit as Bradley-Terry strengths and shown on the
+ * Elo scale with 95% intervals. The tournament stops as soon as every
+ * entrant is significantly ahead of the next one, or when it runs out
+ * of rounds.
+ *
+ * Every batch is handed a SplittableRandom split from the tournament's
+ * before anything is forked, so a run is reproducible from its seed.
+ *
+ * Usage: java -cp battleship-core.jar battleship.Tournament [maxRounds] [seed] [entrant ...]
+ *   where an entrant is name=ShootingStrategy or name=PlacementStrategy/ShootingStrategy,
+ *   classes given by simple name in package battleship or by full name
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class Tournament {
+	// Tournament setup
+	private List<Entrant> entrants;
+	private ForkJoinPool pool;
+	private int gamesPerBatch;
+
+	// Results, indexed by entrant: wins[i][j] counts i's wins over j, a draw counting half
+	private double[][] wins;
+	private long[][] games;
+	private double[] elo;
+	private double[] interval;
+	private int rounds;
+	private boolean settled;
+	private long elapsedNanos;
+
+	// Private class constant values
+	private static final int GAMES_PER_TASK = 64;
+	private static final int MIN_ROUNDS = 2;
+	private static final int FIT_ITERATIONS = 500;
+	private static final double Z_95 = 1.96;
+	private static final double ELO_PER_NEPER = 400 / Math.log(10);
+	private static final double BASE_ELO = 1500;
+
+	/**
+	 * Constructor for Tournament, using the common fork/join pool
+	 * @param entrants The strategies taking part, at least two
+	 * @param gamesPerBatch Games each pair plays per round
+	 */
+	public Tournament(List<Entrant> entrants, int gamesPerBatch) {
+		this(entrants, gamesPerBatch, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor for Tournament
+	 * @param entrants The strategies taking part, at least two
+	 * @param gamesPerBatch Games each pair plays per round
+	 * @param pool The pool to play the games on
+	 */
+	public Tournament(List<Entrant> entrants, int gamesPerBatch, ForkJoinPool pool) {
+		if (entrants.size() < 2) {
+			throw new IllegalArgumentException("A tournament needs at least two entrants");
+		}
+		this.entrants = new ArrayList<>(entrants);
+		this.gamesPerBatch = gamesPerBatch;
+		this.pool = pool;
+		int n = entrants.size();
+		wins = new double[n][n];
+		games = new long[n][n];
+		elo = new double[n];
+		interval = new double[n];
+	}
+
+	/**
+	 * Plays rounds until the ranking is settled or maxRounds have been played
+	 * @param maxRounds The most rounds to play
+	 * @param seed The seed every random stream is split from
+	 * @return True if the ranking settled before the last round
+	 */
+	public boolean run(int maxRounds, long seed) {
+		long start = System.nanoTime();
+		SplittableRandom random = new SplittableRandom(seed);
+		int n = entrants.size();
+		while (rounds < maxRounds && !settled) {
+			List<MatchTask> batches = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					batches.add(new MatchTask(entrants.get(i), entrants.get(j), gamesPerBatch, random.split()));
+				}
+			}
+			pool.invoke(new RoundTask(batches));
+
+			int batch = 0;
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					double[] result = batches.get(batch++).join();
+					wins[i][j] += result[0];
+					wins[j][i] += result[1];
+					games[i][j] += gamesPerBatch;
+					games[j][i] += gamesPerBatch;
+				}
+			}
+			rounds++;
+			fitRatings();
+			settled = rounds >= MIN_ROUNDS && isSettled();
+		}
+		elapsedNanos = System.nanoTime() - start;
+		return settled;
+	}
+
+	/**
+	 * Private helper fitting Bradley-Terry strengths with the MM algorithm. Each pair
+	 * gets one virtual draw, which keeps a strategy that never wins at a finite rating.
+	 * Intervals come from the observed information of each strength on its own.
+	 */
+	private void fitRatings() {
+		int n = entrants.size();
+		double[] strength = new double[n];
+		Arrays.fill(strength, 1);
+		for (int iteration = 0; iteration < FIT_ITERATIONS; iteration++) {
+			double[] next = new double[n];
+			double logSum = 0;
+			for (int i = 0; i < n; i++) {
+				double won = 0;
+				double denominator = 0;
+				for (int j = 0; j < n; j++) {
+					if (i != j) {
+						won += wins[i][j] + 0.5;
+						denominator += (games[i][j] + 1) / (strength[i] + strength[j]);
+					}
+				}
+				next[i] = won / denominator;
+				logSum += Math.log(next[i]);
+			}
+			double scale = Math.exp(logSum / n); // keep the geometric mean at 1
+			for (int i = 0; i < n; i++) {
+				strength[i] = next[i] / scale;
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			double information = 0;
+			for (int j = 0; j < n; j++) {
+				if (i != j) {
+					double total = strength[i] + strength[j];
+					information += (games[i][j] + 1) * strength[i] * strength[j] / (total * total);
+				}
+			}
+			elo[i] = BASE_ELO + ELO_PER_NEPER * Math.log(strength[i]);
+			interval[i] = Z_95 * ELO_PER_NEPER / Math.sqrt(information);
+		}
+	}
+
+	/**
+	 * Private helper checking that every entrant is significantly ahead of the next one
+	 */
+	private boolean isSettled() {
+		int[] order = getRanking();
+		for (int rank = 0; rank + 1 < order.length; rank++) {
+			int a = order[rank];
+			int b = order[rank + 1];
+			double difference = elo[a] - elo[b];
+			double spread = Math.hypot(interval[a], interval[b]); // both intervals are already z-scaled
+			if (difference <= spread) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the entrants from highest to lowest rating
+	 * @return Entrant indexes in ranking order
+	 */
+	public int[] getRanking() {
+		Integer[] order = new Integer[entrants.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Double.compare(elo[b], elo[a]));
+		int[] ranking = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			ranking[i] = order[i];
+		}
+		return ranking;
+	}
+
+	/**
+	 * Returns an entrant's Elo rating
+	 * @param entrant Entrant index
+	 * @return Rating, 1500 for an average entrant
+	 */
+	public double getElo(int entrant) {
+		return elo[entrant];
+	}
+
+	/**
+	 * Returns the half-width of an entrant's 95% rating interval
+	 * @param entrant Entrant index
+	 * @return Rating points either side of getElo
+	 */
+	public double getInterval(int entrant) {
+		return interval[entrant];
+	}
+
+	/**
+	 * Returns the number of rounds played
+	 * @return Rounds
+	 */
+	public int getRounds() {
+		return rounds;
+	}
+
+	/**
+	 * Returns whether every entrant is significantly ahead of the next one
+	 * @return True once the ranking is settled
+	 */
+	public boolean isRankingSettled() {
+		return settled;
+	}
+
+	/**
+	 * Builds a printable table of the standings
+	 * @return Multi-line report
+	 */
+	public String report() {
+		StringBuilder report = new StringBuilder();
+		long total = 0;
+		for (long[] row : games) {
+			for (long count : row) {
+				total += count;
+			}
+		}
+		report.append(String.format("Rounds:            %d (%s)%n", rounds, settled ? "ranking settled" : "round limit"));
+		report.append(String.format("Games:             %d in %.1f s%n", total / 2, elapsedNanos / 1e9));
+		report.append(String.format("%-4s %-20s %7s %8s %8s%n", "Rank", "Entrant", "Elo", "95%", "Score"));
+		int[] ranking = getRanking();
+		for (int rank = 0; rank < ranking.length; rank++) {
+			int i = ranking[rank];
+			double won = 0;
+			long played = 0;
+			for (int j = 0; j < ranking.length; j++) {
+				won += wins[i][j];
+				played += games[i][j];
+			}
+			report.append(String.format("%-4d %-20s %7.0f %8s %7.1f%%%n", rank + 1, entrants.get(i).getName(), elo[i],
+					String.format("+/-%.0f", interval[i]), (played == 0) ? 0 : 100 * won / played));
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Entrant class for one player in the tournament: a name and the strategies it plays with
+	 */
+	public static final class Entrant {
+		private final String name;
+		private final Supplier<? extends PlacementStrategy> placement;
+		private final Supplier<? extends ShootingStrategy> shooting;
+
+		/**
+		 * Constructor for Entrant
+		 * @param name Name shown in the standings
+		 * @param placement Creates the placement strategy for each batch
+		 * @param shooting Creates the shooting strategy for each batch
+		 */
+		public Entrant(String name, Supplier<? extends PlacementStrategy> placement,
+				Supplier<? extends ShootingStrategy> shooting) {
+			this.name = name;
+			this.placement = placement;
+			this.shooting = shooting;
+		}
+
+		/**
+		 * Loads an entrant from name=ShootingStrategy or name=PlacementStrategy/ShootingStrategy.
+		 * FleetGenerator places the fleet if no placement strategy is given.
+		 * @param spec The entrant specification
+		 * @return Entrant whose strategies are created through their no-argument constructors
+		 * @throws IllegalArgumentException If a class can't be loaded or is not a strategy
+		 */
+		public static Entrant load(String spec) {
+			int equals = spec.indexOf('=');
+			String name = (equals < 0) ? spec : spec.substring(0, equals);
+			String classes = spec.substring(equals + 1);
+			int slash = classes.indexOf('/');
+			Supplier<? extends PlacementStrategy> placement = (slash < 0) ? FleetGenerator::new
+					: factory(classes.substring(0, slash), PlacementStrategy.class);
+			Supplier<? extends ShootingStrategy> shooting = factory(classes.substring(slash + 1), ShootingStrategy.class);
+			return new Entrant(name, placement, shooting);
+		}
+
+		/**
+		 * Private helper loading a strategy class and checking it can be created
+		 */
+		private static <T> Supplier<T> factory(String className, Class<T> type) {
+			String fullName = (className.indexOf('.') < 0) ? "battleship." + className : className;
+			try {
+				var constructor = Class.forName(fullName).asSubclass(type).getConstructor();
+				constructor.newInstance();
+				return () -> {
+					try {
+						return constructor.newInstance();
+					} catch (ReflectiveOperationException e) {
+						throw new IllegalStateException("Can't create " + fullName, e);
+					}
+				};
+			} catch (ReflectiveOperationException | ClassCastException e) {
+				throw new IllegalArgumentException("Not a usable " + type.getSimpleName() + ": " + className, e);
+			}
+		}
+
+		/**
+		 * Returns the entrant's name
+		 * @return Name
+		 */
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * Fork/join task playing every batch of a round at once
+	 */
+	private static class RoundTask extends RecursiveTask<Void> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<MatchTask> batches;
+
+		RoundTask(List<MatchTask> batches) {
+			this.batches = batches;
+		}
+
+		@Override
+		protected Void compute() {
+			ForkJoinTask.invokeAll(batches);
+			return null;
+		}
+	}
+
+	/**
+	 * Fork/join task playing a batch of games between two entrants, split into
+	 * small tasks so other workers can steal part of a long match
+	 */
+	private static class MatchTask extends RecursiveTask<double[]> {
+		private static final long serialVersionUID = 1L;
+
+		private final Entrant first;
+		private final Entrant second;
+		private final int count;
+		private final SplittableRandom random;
+
+		/**
+		 * Constructor for MatchTask
+		 * @param first The entrant whose score comes first
+		 * @param second The entrant whose score comes second
+		 * @param count Number of games to play
+		 * @param random The random stream owned by this batch
+		 */
+		MatchTask(Entrant first, Entrant second, int count, SplittableRandom random) {
+			this.first = first;
+			this.second = second;
+			this.count = count;
+			this.random = random;
+		}
+
+		@Override
+		protected double[] compute() {
+			if (count > GAMES_PER_TASK) {
+				int half = count / 2;
+				MatchTask left = new MatchTask(first, second, half, random.split());
+				MatchTask right = new MatchTask(first, second, count - half, random);
+				left.fork();
+				double[] result = right.compute();
+				double[] other = left.join();
+				result[0] += other[0];
+				result[1] += other[1];
+				return result;
+			}
+
+			PlacementStrategy firstPlacement = first.placement.get();
+			ShootingStrategy firstShooting = first.shooting.get();
+			PlacementStrategy secondPlacement = second.placement.get();
+			ShootingStrategy secondShooting = second.shooting.get();
+			double[] result = new double[2];
+			for (int i = 0; i < count; i++) {
+				// alternate who shoots first, which is worth a few percent
+				BattleshipModel game = new BattleshipModel(first.name, second.name);
+				int outcome = GameSimulator.playGame(game, firstPlacement, firstShooting, secondPlacement,
+						secondShooting, i % 2 == 0, random, null);
+				if (outcome == GameSimulator.PLAYER1_WON) {
+					result[0]++;
+				} else if (outcome == GameSimulator.PLAYER2_WON) {
+					result[1]++;
+				} else {
+					result[0] += 0.5;
+					result[1] += 0.5;
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Runs a tournament and prints the standings
+	 * @param args Optional round limit, seed, and entrants
+	 */
+	public static void main(String[] args) {
+		int maxRounds = (args.length > 0) ? Integer.parseInt(args[0]) : 50;
+		long seed = (args.length > 1) ? Long.parseLong(args[1]) : 42;
+		List<Entrant> entrants = new ArrayList<>();
+		for (int i = 2; i < args.length; i++) {
+			entrants.add(Entrant.load(args[i]));
+		}
+		if (entrants.isEmpty()) {
+			entrants.add(Entrant.load("random=RandomShootingStrategy"));
+			entrants.add(Entrant.load("hunt-target=HuntTargetShootingStrategy"));
+			entrants.add(Entrant.load("probability=ProbabilityShootingStrategy"));
+		}
+
+		Tournament tournament = new Tournament(entrants, 256);
+		System.out.println("Seed " + seed + ", " + ForkJoinPool.getCommonPoolParallelism() + " workers");
+		tournament.run(maxRounds, seed);
+		System.out.print(tournament.report());
+	}
+}
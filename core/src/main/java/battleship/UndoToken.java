@@ -0,0 +1,118 @@
+package battleship;
+
+/**
+ * UndoToken class for decoding the tokens BattleshipModel's undoable moves
+ * return. A token packs what kind of move was made, by which player, on
+ * which cell, the ShotResult code and whether the game was already over,
+ * which is everything unmake needs to put the model back, so making and
+ * unmaking a move never allocates.
+ *
+ * @author Tim Davis
+ * @author Kellan Nealy
+ */
+
+public class UndoToken {
+	// Move kinds
+	public static final int NONE = 0;
+	public static final int SHOT = 1;
+	public static final int PLACEMENT = 2;
+
+	// Private class constant values
+	private static final int KIND_MASK = 0x3;
+	private static final long PLAYER2_FLAG = 0x4;
+	private static final long WAS_GAME_OVER_FLAG = 0x8;
+	private static final int CELL_SHIFT = 8;
+	private static final int RESULT_SHIFT = 32;
+
+	/**
+	 * Private constructor, UndoToken only has static helpers
+	 */
+	private UndoToken() {
+	}
+
+	/**
+	 * Builds the token for a move that changed nothing, such as a repeated shot
+	 * @param result ShotResult code of the move, REPEAT for a shot
+	 * @return Token, which unmake ignores
+	 */
+	static long none(int result) {
+		return NONE | ((long) result << RESULT_SHIFT);
+	}
+
+	/**
+	 * Builds the token for a shot
+	 * @param isPlayer1 True if Player 1 fired the shot
+	 * @param cell The cell index shot
+	 * @param result ShotResult code of the shot
+	 * @param wasGameOver Whether the game was over before the shot
+	 * @return Token
+	 */
+	static long shot(boolean isPlayer1, int cell, int result, boolean wasGameOver) {
+		return SHOT | (isPlayer1 ? 0 : PLAYER2_FLAG) | (wasGameOver ? WAS_GAME_OVER_FLAG : 0)
+				| ((long) cell << CELL_SHIFT) | ((long) result << RESULT_SHIFT);
+	}
+
+	/**
+	 * Builds the token for a placement
+	 * @param isPlayer1 True if Player 1 placed the ship
+	 * @param cell The starting cell index
+	 * @return Token
+	 */
+	static long placement(boolean isPlayer1, int cell) {
+		return PLACEMENT | (isPlayer1 ? 0 : PLAYER2_FLAG) | ((long) cell << CELL_SHIFT);
+	}
+
+	/**
+	 * Returns what kind of move a token undoes
+	 * @param token Token returned by an undoable move
+	 * @return NONE, SHOT or PLACEMENT
+	 */
+	public static int kind(long token) {
+		return (int) token & KIND_MASK;
+	}
+
+	/**
+	 * Returns the result of an undoable shot
+	 * @param token Token returned by makeShotUndoable
+	 * @return ShotResult code
+	 */
+	public static int result(long token) {
+		return (int) (token >>> RESULT_SHIFT);
+	}
+
+	/**
+	 * Returns whether an undoable placement succeeded
+	 * @param token Token returned by placeShipUndoable
+	 * @return True if the ship was placed
+	 */
+	public static boolean isPlaced(long token) {
+		return kind(token) == PLACEMENT;
+	}
+
+	/**
+	 * Returns whether Player 1 made the move
+	 * @param token A SHOT or PLACEMENT token
+	 * @return True for Player 1, false for Player 2
+	 */
+	public static boolean isPlayer1(long token) {
+		return (token & PLAYER2_FLAG) == 0;
+	}
+
+	/**
+	 * Returns the cell of the move
+	 * @param token A SHOT or PLACEMENT token
+	 * @return The cell shot, or the starting cell of a placement
+	 */
+	public static int cell(long token) {
+		return (int) (token >>> CELL_SHIFT) & 0xFF;
+	}
+
+	/**
+	 * Returns whether the game was over before the move
+	 * @param token A SHOT token
+	 * @return True if the game was already over
+	 */
+	static boolean wasGameOver(long token) {
+		return (token & WAS_GAME_OVER_FLAG) != 0;
+	}
+}